@@ -127,6 +127,7 @@ public final class PluginAlias<N extends Name & Comparable<N>, S extends PluginS
         final Optional<N> selectorName = parser.name();
         if (selectorName.isPresent()) {
             end = parser.cursor.save();
+            final int endOffset = parser.offset();
 
             parser.spaces();
 
@@ -159,7 +160,7 @@ public final class PluginAlias<N extends Name & Comparable<N>, S extends PluginS
                             break;
                         }
 
-                        if (parser.number().isPresent()) {
+                        if (parser.number()) {
                             break;
                         }
 
@@ -169,7 +170,10 @@ public final class PluginAlias<N extends Name & Comparable<N>, S extends PluginS
                     requireComma = true;
                 }
             } else {
-                end.restore(); // reset cursor back to any space after name
+                parser.restore(
+                    end,
+                    endOffset
+                ); // reset cursor back to any space after name
             }
 
             selector = helper.parseSelector(
@@ -304,13 +308,24 @@ public final class PluginAlias<N extends Name & Comparable<N>, S extends PluginS
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-            this.name,
-            this.selector,
-            this.url
-        );
+        int hashCode = this.hashCode;
+        if (0 == hashCode) {
+            hashCode = Objects.hash(
+                this.name,
+                this.selector,
+                this.url
+            );
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
+    /**
+     * Cached hash code, with zero meaning not yet computed. Alias sets and the maps built by diff and concatOrReplace
+     * hash the same alias many times, and each hash would otherwise walk the name, the selector text and the url.
+     */
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -319,7 +334,9 @@ public final class PluginAlias<N extends Name & Comparable<N>, S extends PluginS
     }
 
     private boolean equals0(final PluginAlias<?, ?> other) {
-        return this.name.equals(other.name) &&
+        // the cached hash codes reject most unequal values without comparing any text
+        return this.hashCode() == other.hashCode() &&
+            this.name.equals(other.name) &&
             this.selector.equals(other.selector) &&
             this.url.equals(other.url);
     }
@@ -17,7 +17,9 @@
 
 package walkingkooka.plugin;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.ImmutableSortedSetDefaults;
 import walkingkooka.collect.set.Sets;
@@ -29,16 +31,20 @@ import walkingkooka.text.HasText;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 
+import java.io.IOException;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -71,23 +77,83 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         Objects.requireNonNull(text, "text");
         Objects.requireNonNull(helper, "helper");
 
-        return parse0(
-            PluginExpressionParser.with(
+        return prepare(
+            parse0(
                 text,
-                helper::parseName
+                helper
             ),
             helper
         );
     }
 
+    /**
+     * Parses the text into a {@link PluginAliasSet}, splitting large text into batches of aliases which are parsed
+     * concurrently using the given {@link Executor}, before the usual validation of all aliases. The result and any
+     * invalid character error including its position are the same as {@link #parse(String, PluginHelper)}. The text is parsed only once, any
+     * error is thrown directly rather than parsing the text again.
+     */
+    @GwtIncompatible
+    public static <N extends Name & Comparable<N>,
+        I extends PluginInfoLike<I, N>,
+        IS extends PluginInfoSetLike<N, I, IS, S, A, AS>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>,
+        AS extends PluginAliasSetLike<N, I, IS, S, A, AS>>
+    PluginAliasSet<N, I, IS, S, A, AS> parseConcurrently(final String text,
+                                                         final PluginHelper<N, I, IS, S, A, AS> helper,
+                                                         final Executor executor) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(helper, "helper");
+        Objects.requireNonNull(executor, "executor");
+
+        final Optional<List<SortedSet<A>>> batches = PluginSetConcurrentParser.parse(
+            text,
+            (batch) -> parse0(
+                batch,
+                helper
+            ),
+            executor
+        );
+
+        final PluginAliasSet<N, I, IS, S, A, AS> set;
+
+        if (batches.isPresent()) {
+            final SortedSet<A> aliases = SortedSets.tree();
+
+            for (final SortedSet<A> batch : batches.get()) {
+                for (final A alias : batch) {
+                    if (false == aliases.add(alias)) {
+                        throw new IllegalArgumentException("Duplicate " + alias);
+                    }
+                }
+            }
+
+            set = prepare(
+                aliases,
+                helper
+            );
+        } else {
+            set = parse(
+                text,
+                helper
+            );
+        }
+
+        return set;
+    }
+
     private static <N extends Name & Comparable<N>,
         I extends PluginInfoLike<I, N>,
         IS extends PluginInfoSetLike<N, I, IS, S, A, AS>,
         S extends PluginSelectorLike<N>,
         A extends PluginAliasLike<N, S, A>,
         AS extends PluginAliasSetLike<N, I, IS, S, A, AS>>
-    PluginAliasSet<N, I, IS, S, A, AS> parse0(final PluginExpressionParser<N> parser,
-                                              final PluginHelper<N, I, IS, S, A, AS> helper) {
+    SortedSet<A> parse0(final String text,
+                        final PluginHelper<N, I, IS, S, A, AS> helper) {
+        final PluginExpressionParser<N> parser = PluginExpressionParser.with(
+            text,
+            helper::parseName
+        );
 
         final SortedSet<A> aliases = SortedSets.tree();
 
@@ -120,10 +186,7 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
             requireSeparator = true;
         }
 
-        return prepare(
-            aliases,
-            helper
-        );
+        return aliases;
     }
 
     public static <N extends Name & Comparable<N>,
@@ -155,108 +218,38 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
                                                final PluginHelper<N, I, IS, S, A, AS> helper) {
         Objects.requireNonNull(aliases, "aliases");
 
-        final Set<AbsoluteUrl> infoUrls = Sets.hash();
-
-        final Comparator<N> nameComparator = helper.nameComparator();
-
-        final Map<N, S> aliasToSelector = Maps.sorted(nameComparator);
-        final Map<N, N> aliasOrNameToName = Maps.sorted(nameComparator);
-        final Map<N, N> nameToAlias = Maps.sorted(nameComparator);
-
-        final SortedSet<N> aliasesWithoutInfos = SortedSets.tree(nameComparator);
-        final SortedSet<N> namesNotAliases = SortedSets.tree(nameComparator);
-
-        for (final A pluginAlias : aliases) {
-            final N nameOrAlias = pluginAlias.name();
-
-            final Optional<S> maybeSelector = pluginAlias.selector();
-            if (false == maybeSelector.isPresent()) {
-                final N name = nameOrAlias;
-
-                if (null != aliasOrNameToName.put(
-                    name,
-                    name
-                )) {
-                    throw duplicateAliasOrName(name);
-                }
-
-                namesNotAliases.add(nameOrAlias);
-            } else {
-                final S selector = maybeSelector.get();
-                final N selectorName = selector.name();
-                final N alias = nameOrAlias;
-
-                if (null != aliasOrNameToName.put(
-                    alias,
-                    selectorName
-                )) {
-                    throw duplicateAliasOrName(alias);
-                }
-
-                duplicateCheck(
-                    alias,
-                    aliasToSelector
-                );
-
-                final Optional<AbsoluteUrl> maybeUrl = pluginAlias.url();
-
-                if (maybeUrl.isPresent()) {
-                    // url present add a new INFO
-                    final AbsoluteUrl url = maybeUrl.get();
-                    if (false == infoUrls.add(url)) {
-                        throw new IllegalArgumentException("Duplicate url: " + url);
-                    }
-                } else {
-                    if (false == aliasesWithoutInfos.add(alias)) {
-                        throw new IllegalArgumentException("Duplicate alias: " + alias);
-                    }
-                    final N duplicate = nameToAlias.put(
-                        selectorName,
-                        alias
-                    );
-                    if (null != duplicate) {
-                        throw new IllegalArgumentException("Duplicate alias: " + duplicate + " and " + alias);
-                    }
-                }
-
-                aliasToSelector.put(
-                    alias,
-                    selector
-                );
-            }
+        final PluginAliasSetValidator<N, S, A> validator = PluginAliasSetValidator.with(helper.nameComparator());
+        for (final A alias : aliases) {
+            validator.add(alias);
         }
 
-
-        // both alias to a name and the name cannot both exist if the alias does not have a different info
-        final String duplicateNamesAliases = aliasesWithoutInfos.stream()
-            .filter(a -> {
-                final N aliasName = a;
-                final S selector = aliasToSelector.get(aliasName);
-                return null != selector && namesNotAliases.contains(selector.name());
-            }).map(Name::toString)
-            .collect(Collectors.joining(", "));
-        if (false == duplicateNamesAliases.isEmpty()) {
-            throw new IllegalArgumentException("Duplicate name/alias: " + duplicateNamesAliases);
-        }
-
-        return new PluginAliasSet<>(
+        return validated(
             aliases,
-            aliasToSelector,
-            aliasOrNameToName,
-            namesNotAliases,
+            validator,
             helper
         );
     }
 
-    private static <N extends Name & Comparable<N>, S extends PluginSelectorLike<N>> void duplicateCheck(final N name,
-                                                                                                         final Map<N, S> aliasToSelector) {
-        if (aliasToSelector.containsKey(name)) {
-            throw duplicateAliasOrName(name);
-        }
-    }
-
-    private static IllegalArgumentException duplicateAliasOrName(final Name name) {
-        return new IllegalArgumentException("Duplicate name/alias: " + name);
+    /**
+     * Creates a {@link PluginAliasSet} from aliases that have already been added to the given
+     * {@link PluginAliasSetValidator}, without validating them again.
+     */
+    static <N extends Name & Comparable<N>,
+        I extends PluginInfoLike<I, N>,
+        IS extends PluginInfoSetLike<N, I, IS, S, A, AS>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>,
+        AS extends PluginAliasSetLike<N, I, IS, S, A, AS>>
+    PluginAliasSet<N, I, IS, S, A, AS> validated(final SortedSet<A> aliases,
+                                                 final PluginAliasSetValidator<N, S, A> validator,
+                                                 final PluginHelper<N, I, IS, S, A, AS> helper) {
+        return new PluginAliasSet<>(
+            aliases,
+            validator.aliasToSelector,
+            validator.aliasOrNameToName,
+            validator.namesNotAliases,
+            helper
+        );
     }
 
     // @VisibleForTesting
@@ -265,6 +258,39 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
                    final Map<N, N> aliasOrNameToName,
                    final Set<N> namesNotAliases,
                    final PluginHelper<N, I, IS, S, A, AS> helper) {
+        this(
+            PluginAliasSetIndex.keys(
+                pluginAliasLikes,
+                Comparator.naturalOrder()
+            ),
+            PluginAliasSetIndex.with(
+                aliasToSelector,
+                helper.nameComparator()
+            ),
+            PluginAliasSetIndex.with(
+                aliasOrNameToName,
+                helper.nameComparator()
+            ),
+            PluginAliasSetIndex.keys(
+                namesNotAliases,
+                helper.nameComparator()
+            ),
+            urlToAlias(pluginAliasLikes),
+            selectorNameToAlias(
+                pluginAliasLikes,
+                helper.nameComparator()
+            ),
+            helper
+        );
+    }
+
+    private PluginAliasSet(final PluginAliasSetIndex<A, A> pluginAliasLikes,
+                           final PluginAliasSetIndex<N, S> aliasToSelector,
+                           final PluginAliasSetIndex<N, N> aliasOrNameToName,
+                           final PluginAliasSetIndex<N, N> namesNotAliases,
+                           final PluginAliasSetIndex<AbsoluteUrl, N> urlToAlias,
+                           final PluginAliasSetIndex<N, N> selectorNameToAlias,
+                           final PluginHelper<N, I, IS, S, A, AS> helper) {
         this.pluginAliasLikes = pluginAliasLikes;
 
         this.aliasToSelector = aliasToSelector;
@@ -272,9 +298,56 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         this.aliasOrNameToName = aliasOrNameToName;
         this.namesNotAliases = namesNotAliases;
 
+        this.urlToAlias = urlToAlias;
+        this.selectorNameToAlias = selectorNameToAlias;
+
         this.helper = helper;
     }
 
+    private static <N extends Name & Comparable<N>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>> PluginAliasSetIndex<AbsoluteUrl, N> urlToAlias(final Collection<A> aliases) {
+        final Map<AbsoluteUrl, N> urlToAlias = Maps.sorted();
+
+        for (final A alias : aliases) {
+            final Optional<AbsoluteUrl> url = alias.url();
+            if (alias.selector().isPresent() && url.isPresent()) {
+                urlToAlias.put(
+                    url.get(),
+                    alias.name()
+                );
+            }
+        }
+
+        return PluginAliasSetIndex.with(
+            urlToAlias,
+            Comparator.naturalOrder()
+        );
+    }
+
+    private static <N extends Name & Comparable<N>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>> PluginAliasSetIndex<N, N> selectorNameToAlias(final Collection<A> aliases,
+                                                                                          final Comparator<N> nameComparator) {
+        final Map<N, N> selectorNameToAlias = Maps.sorted(nameComparator);
+
+        for (final A alias : aliases) {
+            if (isAliasWithoutUrl(alias)) {
+                selectorNameToAlias.put(
+                    alias.selector()
+                        .get()
+                        .name(),
+                    alias.name()
+                );
+            }
+        }
+
+        return PluginAliasSetIndex.with(
+            selectorNameToAlias,
+            nameComparator
+        );
+    }
+
     /**
      * Returns a {@link PluginSelectorLike} replacing the {@link Name} if it was an alias.
      */
@@ -313,7 +386,20 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         );
     }
 
-    private final Map<N, S> aliasToSelector;
+    private final PluginAliasSetIndex<N, S> aliasToSelector;
+
+    /**
+     * The url of each alias with a url, to that alias, used by {@link #concat(PluginAliasLike)} to find duplicate urls.
+     */
+    // @VisibleForTesting
+    final PluginAliasSetIndex<AbsoluteUrl, N> urlToAlias;
+
+    /**
+     * The target name of each alias without a url, to that alias, used by {@link #concat(PluginAliasLike)} to find
+     * aliases with the same target or a name that is also the target of an alias.
+     */
+    // @VisibleForTesting
+    final PluginAliasSetIndex<N, N> selectorNameToAlias;
 
     /**
      * Returns the target name resolving any alias if necessary
@@ -329,119 +415,126 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
     /**
      * Maps a {@link Name} to its target name, including name changes or aliases.
      */
-    private final Map<N, N> aliasOrNameToName;
+    private final PluginAliasSetIndex<N, N> aliasOrNameToName;
 
     /**
      * Accepts some {@link PluginInfoSetLike} and uses the aliases mappings within to produce a final {@link PluginInfoSetLike}.
      * Note aliases/name mappings not present in the provider {@link PluginInfoSetLike} will be silently removed.
+     * <br>
+     * The result for the last providerInfos is remembered, because the same alias set and provider infos are usually
+     * merged over and over.
      */
     public IS merge(final IS providerInfos) {
         Objects.requireNonNull(providerInfos, "providerInfos");
 
-        final PluginHelper<N, I, IS, S, A, AS> helper = this.helper;
-        final Comparator<N> nameComparator = helper.nameComparator();
+        final LastMerge<IS> lastMerge = this.lastMerge;
+        if (null != lastMerge && providerInfos == lastMerge.providerInfos) {
+            return lastMerge.merged;
+        }
 
-        // Fix all INFOs for each alias
-        IS newInfos = providerInfos;
+        final IS merged = this.merge0(providerInfos);
+        this.lastMerge = new LastMerge<>(
+            providerInfos,
+            merged
+        );
+        return merged;
+    }
 
-        final Set<N> aliasesWithoutInfos = this.pluginAliasLikes.stream()
-            .filter(pal -> pal.selector().isPresent() && false == pal.url().isPresent())
-            .map(pal -> pal.name())
-            .collect(Collectors.toSet());
+    /**
+     * Builds the merged infos with one pass over the provider infos and one pass over the aliases, creating the
+     * {@link PluginInfoSetLike} once at the end.
+     */
+    private IS merge0(final IS providerInfos) {
+        final PluginHelper<N, I, IS, S, A, AS> helper = this.helper;
 
-        // remove $newInfos which are not referenced by name or alias
-        final Set<I> unreferencedProviderInfos = Sets.hash();
+        final Set<I> merged = SortedSets.tree();
+        boolean changed = false;
 
-        final Set<N> namesNotAliases = this.namesNotAliases;
+        // keep provider infos referenced by name
+        final PluginAliasSetIndex<N, N> namesNotAliases = this.namesNotAliases;
 
         for (final I providerInfo : providerInfos) {
-            if (false == namesNotAliases.contains(providerInfo.name())) {
-                unreferencedProviderInfos.add(providerInfo);
+            if (namesNotAliases.contains(providerInfo.name())) {
+                merged.add(providerInfo);
+            } else {
+                changed = true;
             }
         }
 
-        newInfos = newInfos.deleteAll(unreferencedProviderInfos);
-
-        final IS aliasesInfos = helper.infoSet(
-            this.pluginAliasLikes.stream()
-                .filter(pal -> pal.url().isPresent())
-                .map(pal -> helper.info(
-                        pal.url()
-                            .get(),
-                        pal.name()
-                    )
-                ).collect(Collectors.toCollection(SortedSets::tree))
-        );
-
-        // remove unmentioned provider.infos
-
-        if (aliasesWithoutInfos.size() + aliasesInfos.size() > 0) {
-            final Map<N, I> nameToProviderInfo = Maps.sorted(nameComparator);
+        // add an info for each alias, whose selector name is provided
+        if (this.aliasToSelector.size() > 0) {
+            final PluginAliasSetIndex<N, I> nameToProviderInfo = PluginAliasSetIndex.with(
+                providerInfos,
+                PluginInfoLike::name,
+                helper.nameComparator()
+            );
+            final Set<N> providerNames = providerInfos.names();
 
-            for (final I providerInfo : providerInfos) {
-                nameToProviderInfo.put(
-                    providerInfo.name(),
-                    providerInfo
-                );
-            }
+            for (final A pluginAlias : this.pluginAliasLikes) {
+                final Optional<S> selector = pluginAlias.selector();
+                if (false == selector.isPresent()) {
+                    continue;
+                }
 
-            for (final N aliasName : aliasesWithoutInfos) {
-                final Optional<S> selector = this.aliasSelector(aliasName);
-                if (selector.isPresent()) {
-                    final I providerInfo = nameToProviderInfo.get(
-                        selector.get()
-                            .name()
-                    );
+                final N alias = pluginAlias.name();
+                final N selectorName = selector.get()
+                    .name();
+
+                final Optional<AbsoluteUrl> url = pluginAlias.url();
+                if (url.isPresent()) {
+                    if (providerNames.contains(selectorName)) {
+                        merged.add(
+                            helper.info(
+                                url.get(),
+                                alias
+                            )
+                        );
+                        changed = true;
+                    }
+                } else {
+                    final I providerInfo = nameToProviderInfo.get(selectorName);
                     if (null != providerInfo) {
-
-                        if (newInfos.contains(providerInfo)) {
-                            newInfos = newInfos.replace(
-                                providerInfo,
-                                providerInfo.setName(aliasName)
-                            );
-
-                        } else {
-                            newInfos = newInfos.concat(
-                                providerInfo.setName(aliasName)
-                            );
-                        }
+                        merged.add(
+                            providerInfo.setName(alias)
+                        );
+                        changed = true;
                     }
                 }
             }
+        }
 
-            final Set<N> providerName = providerInfos.names();
+        return changed ?
+            helper.infoSet(merged) :
+            providerInfos;
+    }
 
-            for (final I aliasInfo : aliasesInfos) {
-                // get name for alias and verify name is present in providerInfo.names
-                final N alias = aliasInfo.name();
-                final Optional<S> selector = this.aliasSelector(alias);
-                if (selector.isPresent()) {
-                    if (providerName.contains(selector.get().name())) {
+    /**
+     * The last {@link #merge(PluginInfoSetLike)} and its result. All fields of {@link LastMerge} are final, so it may
+     * be published without synchronization.
+     */
+    private LastMerge<IS> lastMerge;
 
-                        final I providerInfo = nameToProviderInfo.get(alias);
-                        if (null != providerInfo) {
-                            newInfos = newInfos.replace(
-                                providerInfo,
-                                aliasInfo
-                            );
-                        } else {
-                            newInfos = newInfos.concat(
-                                aliasInfo
-                            );
-                        }
-                    }
-                }
-            }
+    private static final class LastMerge<IS> {
+
+        LastMerge(final IS providerInfos,
+                  final IS merged) {
+            this.providerInfos = providerInfos;
+            this.merged = merged;
         }
 
-        return newInfos;
+        /**
+         * Compared by identity, {@link PluginInfoSetLike} are immutable.
+         */
+        final IS providerInfos;
+
+        final IS merged;
     }
 
     /**
      * Contains all {@link Name} mappings which will also including the target for any alias, but not the alias itself.
      */
     // @VisibleForTesting
-    final Set<N> namesNotAliases;
+    final PluginAliasSetIndex<N, N> namesNotAliases;
 
     /**
      * Tests if the given {@link Name name} or alias will replace an existing {@link PluginAlias}, using the {@link PluginAlias#name()}.
@@ -454,7 +547,8 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         Objects.requireNonNull(nameOrAlias, "nameOrAlias");
 
         if (null == this.nameToPluginAliasLike) {
-            final Map<N, A> nameToPluginAliasLike = Maps.sorted(this.helper.nameComparator());
+            final Comparator<N> nameComparator = this.helper.nameComparator();
+            final Map<N, A> nameToPluginAliasLike = Maps.sorted(nameComparator);
 
             for (final A alias : this.pluginAliasLikes) {
                 nameToPluginAliasLike.put(
@@ -474,16 +568,20 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
                 }
             }
 
-            this.nameToPluginAliasLike = nameToPluginAliasLike;
+            this.nameToPluginAliasLike = PluginAliasSetIndex.with(
+                nameToPluginAliasLike,
+                nameComparator
+            );
         }
 
         return this.nameToPluginAliasLike.get(nameOrAlias);
     }
 
     /**
-     * A {@link Map} where the {@link Name} maybe the name or alias taken from any {@link PluginAlias}.
+     * An index where the {@link Name} maybe the name or alias taken from any {@link PluginAlias}, built on demand.
+     * Because the index is immutable it may be published without synchronization, at worst it is built more than once.
      */
-    private Map<N, A> nameToPluginAliasLike;
+    private PluginAliasSetIndex<N, A> nameToPluginAliasLike;
 
     /**
      * If the {@link PluginAliasLike} name exists then replace the alias with the same {@link Name} or concat because it
@@ -522,24 +620,106 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         return pluginAliasSet;
     }
 
+    /**
+     * Removes any {@link PluginAliasLike} with the given {@link Name} or whose selector has the given {@link Name}.
+     * Wrappers should delegate {@link PluginAliasSetLike#deleteAliasOrName(Name)} to this method.
+     */
+    public PluginAliasSet<N, I, IS, S, A, AS> deleteAliasOrName(final N aliasOrName) {
+        Objects.requireNonNull(aliasOrName, "aliasOrName");
+
+        return this.filter(
+            a -> false ==
+                (
+                    aliasOrName.equals(a.name()) ||
+                        aliasOrName.equals(
+                            a.selector()
+                                .map(PluginSelectorLike::name)
+                                .orElse(null)
+                        )
+                )
+        );
+    }
+
     public PluginAliasSet<N, I, IS, S, A, AS> deleteAliasOrNameAll(final Collection<N> aliasOrNames) {
         Objects.requireNonNull(aliasOrNames, "aliasOrNames");
 
-        return prepare(
-            this.stream()
-                .filter(aon -> false == aliasOrNames.contains(aon.name()))
-                .collect(Collectors.toCollection(SortedSets::tree)),
-            this.helper
+        final Set<N> lookup = lookup(aliasOrNames);
+
+        return this.filter(
+            a -> false == lookup.contains(a.name())
         );
     }
 
     public PluginAliasSet<N, I, IS, S, A, AS> keepAliasOrNameAll(final Collection<N> aliasOrNames) {
         Objects.requireNonNull(aliasOrNames, "aliasOrNames");
 
-        return prepare(
-            this.stream()
-                .filter(aon -> aliasOrNames.contains(aon.name()))
-                .collect(Collectors.toCollection(SortedSets::tree)),
+        final Set<N> lookup = lookup(aliasOrNames);
+
+        return this.filter(
+            a -> lookup.contains(a.name())
+        );
+    }
+
+    /**
+     * Returns the given {@link Collection} if it is already a {@link Set}, otherwise a hashed copy, so each contains
+     * is not a linear search of a {@link java.util.List}.
+     */
+    private static <N> Set<N> lookup(final Collection<N> aliasOrNames) {
+        final Set<N> lookup;
+
+        if (aliasOrNames instanceof Set) {
+            lookup = (Set<N>) aliasOrNames;
+        } else {
+            lookup = Sets.hash();
+            lookup.addAll(aliasOrNames);
+        }
+
+        return lookup;
+    }
+
+    /**
+     * Keeps only the aliases matched by the given {@link Predicate}. Removing aliases from a valid set cannot create any
+     * duplicates, so nothing is validated again and the indices are filtered rather than rebuilt.
+     */
+    private PluginAliasSet<N, I, IS, S, A, AS> filter(final Predicate<A> keep) {
+        final PluginAliasSetIndex<A, A> pluginAliasLikes = this.pluginAliasLikes;
+
+        final List<A> removed = Lists.array();
+        for (final A alias : pluginAliasLikes) {
+            if (false == keep.test(alias)) {
+                removed.add(alias);
+            }
+        }
+
+        if (removed.isEmpty()) {
+            return this;
+        }
+
+        final Set<N> removedNames = Sets.hash();
+        for (final A alias : removed) {
+            removedNames.add(alias.name());
+        }
+
+        final Predicate<N> keepName = n -> false == removedNames.contains(n);
+
+        final PluginAliasSetIndex<AbsoluteUrl, N> urlToAlias = this.urlToAlias;
+        final PluginAliasSetIndex<N, N> selectorNameToAlias = this.selectorNameToAlias;
+
+        return new PluginAliasSet<>(
+            pluginAliasLikes.filter(keep),
+            this.aliasToSelector.filter(keepName),
+            this.aliasOrNameToName.filter(keepName),
+            this.namesNotAliases.filter(keepName),
+            urlToAlias.filter(
+                (u) -> keepName.test(
+                    urlToAlias.get(u)
+                )
+            ),
+            selectorNameToAlias.filter(
+                (n) -> keepName.test(
+                    selectorNameToAlias.get(n)
+                )
+            ),
             this.helper
         );
     }
@@ -549,7 +729,7 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
     @Override
     public String text() {
         if (null == this.text) {
-            this.text = this.pluginAliasLikes.stream()
+            this.text = this.stream()
                 .map(this::aliasText)
                 .collect(Collectors.joining(SEPARATOR_SPACE))
                 .trim();
@@ -577,6 +757,35 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
 
     private final static String SEPARATOR_SPACE = SEPARATOR + " ";
 
+    /**
+     * Writes the same text as {@link #text()} directly to the given {@link Appendable}, one alias at a time.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        final String text = this.text;
+        if (null != text) {
+            output.append(text);
+        } else {
+            boolean first = true;
+            boolean url = false;
+
+            for (final A alias : this.pluginAliasLikes) {
+                if (false == first) {
+                    if (url) {
+                        output.append(' ');
+                    }
+                    output.append(SEPARATOR_SPACE);
+                }
+                first = false;
+
+                output.append(alias.text());
+                url = alias.url()
+                    .isPresent();
+            }
+        }
+    }
+
     // ImmutableSortedSet...............................................................................................
 
     @Override
@@ -591,14 +800,14 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
 
     @Override
     public Comparator<? super A> comparator() {
-        return this.pluginAliasLikes.comparator();
+        return null; // natural ordering
     }
 
     @Override
     public PluginAliasSet<N, I, IS, S, A, AS> subSet(final A from,
                                                      final A to) {
         return prepare(
-            this.pluginAliasLikes.subSet(
+            this.toSet().subSet(
                 from,
                 to
             ),
@@ -609,7 +818,7 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
     @Override
     public PluginAliasSet<N, I, IS, S, A, AS> headSet(final A alias) {
         return prepare(
-            this.pluginAliasLikes.headSet(alias),
+            this.toSet().headSet(alias),
             this.helper
         );
     }
@@ -617,7 +826,7 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
     @Override
     public PluginAliasSet<N, I, IS, S, A, AS> tailSet(final A alias) {
         return prepare(
-            this.pluginAliasLikes.tailSet(alias),
+            this.toSet().tailSet(alias),
             this.helper
         );
     }
@@ -634,9 +843,7 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
 
     @Override
     public SortedSet<A> toSet() {
-        final SortedSet<A> pluginAliasLikes = SortedSets.tree(this.comparator());
-        pluginAliasLikes.addAll(this.pluginAliasLikes);
-        return pluginAliasLikes;
+        return this.pluginAliasLikes.keys();
     }
 
     @Override
@@ -651,6 +858,249 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
             copy;
     }
 
+    /**
+     * Adds a single {@link PluginAliasLike}, validating only the new alias against the existing indices rather than
+     * copying and preparing the entire set again. Validation and error messages match {@link #with(Collection, PluginHelper)}.
+     */
+    @Override
+    public PluginAliasSet<N, I, IS, S, A, AS> concat(final A alias) {
+        this.elementCheck(alias);
+
+        final PluginAliasSetIndex<A, A> pluginAliasLikes = this.pluginAliasLikes;
+        if (pluginAliasLikes.contains(alias)) {
+            return this;
+        }
+
+        final N nameOrAlias = alias.name();
+        if (this.aliasOrNameToName.contains(nameOrAlias)) {
+            throw PluginAliasSetValidator.duplicateAliasOrName(nameOrAlias);
+        }
+
+        PluginAliasSetIndex<N, S> aliasToSelector = this.aliasToSelector;
+        PluginAliasSetIndex<N, N> aliasOrNameToName = this.aliasOrNameToName;
+        PluginAliasSetIndex<N, N> namesNotAliases = this.namesNotAliases;
+        PluginAliasSetIndex<AbsoluteUrl, N> urlToAlias = this.urlToAlias;
+        PluginAliasSetIndex<N, N> selectorNameToAlias = this.selectorNameToAlias;
+
+        final Optional<S> maybeSelector = alias.selector();
+        if (false == maybeSelector.isPresent()) {
+            final N name = nameOrAlias;
+
+            // an existing alias without a url must not target this name
+            final N aliasWithName = selectorNameToAlias.get(name);
+            if (null != aliasWithName) {
+                throw PluginAliasSetValidator.duplicateAliasOrName(aliasWithName);
+            }
+
+            aliasOrNameToName = aliasOrNameToName.put(
+                name,
+                name
+            );
+            namesNotAliases = namesNotAliases.put(
+                name,
+                name
+            );
+        } else {
+            final S selector = maybeSelector.get();
+            final N selectorName = selector.name();
+
+            final Optional<AbsoluteUrl> maybeUrl = alias.url();
+            if (maybeUrl.isPresent()) {
+                final AbsoluteUrl url = maybeUrl.get();
+
+                if (urlToAlias.contains(url)) {
+                    throw PluginAliasSetValidator.duplicateUrl(url);
+                }
+
+                urlToAlias = urlToAlias.put(
+                    url,
+                    nameOrAlias
+                );
+            } else {
+                final N existing = selectorNameToAlias.get(selectorName);
+                if (null != existing) {
+                    throw PluginAliasSetValidator.duplicateAlias(
+                        existing,
+                        nameOrAlias,
+                        this.helper.nameComparator()
+                    );
+                }
+
+                if (namesNotAliases.contains(selectorName)) {
+                    throw PluginAliasSetValidator.duplicateAliasOrName(nameOrAlias);
+                }
+
+                selectorNameToAlias = selectorNameToAlias.put(
+                    selectorName,
+                    nameOrAlias
+                );
+            }
+
+            aliasOrNameToName = aliasOrNameToName.put(
+                nameOrAlias,
+                selectorName
+            );
+            aliasToSelector = aliasToSelector.put(
+                nameOrAlias,
+                selector
+            );
+        }
+
+        return new PluginAliasSet<>(
+            pluginAliasLikes.put(
+                alias,
+                alias
+            ),
+            aliasToSelector,
+            aliasOrNameToName,
+            namesNotAliases,
+            urlToAlias,
+            selectorNameToAlias,
+            this.helper
+        );
+    }
+
+    private static boolean isAliasWithoutUrl(final PluginAliasLike<?, ?, ?> alias) {
+        return alias.selector().isPresent() && false == alias.url().isPresent();
+    }
+
+    /**
+     * Removing an alias cannot introduce any duplicates, so the indices are updated without any validation.
+     */
+    @Override
+    public PluginAliasSet<N, I, IS, S, A, AS> delete(final A alias) {
+        this.elementCheck(alias);
+
+        final PluginAliasSetIndex<A, A> pluginAliasLikes = this.pluginAliasLikes;
+        if (false == pluginAliasLikes.contains(alias)) {
+            return this;
+        }
+
+        final N nameOrAlias = alias.name();
+
+        final Optional<AbsoluteUrl> url = alias.url();
+        final Optional<S> selector = alias.selector();
+
+        return new PluginAliasSet<>(
+            pluginAliasLikes.remove(alias),
+            this.aliasToSelector.remove(nameOrAlias),
+            this.aliasOrNameToName.remove(nameOrAlias),
+            this.namesNotAliases.remove(nameOrAlias),
+            selector.isPresent() && url.isPresent() ?
+                this.urlToAlias.remove(url.get()) :
+                this.urlToAlias,
+            isAliasWithoutUrl(alias) ?
+                this.selectorNameToAlias.remove(
+                    selector.get()
+                        .name()
+                ) :
+                this.selectorNameToAlias,
+            this.helper
+        );
+    }
+
+    @Override
+    public PluginAliasSet<N, I, IS, S, A, AS> replace(final A oldAlias,
+                                                      final A newAlias) {
+        this.elementCheck(oldAlias);
+        this.elementCheck(newAlias);
+
+        return oldAlias.equals(newAlias) ?
+            this :
+            this.delete(oldAlias)
+                .concat(newAlias);
+    }
+
+    // diff.............................................................................................................
+
+    /**
+     * Compares this set with the given newer set, walking both sorted sets together, returning the aliases that were
+     * added, removed or changed.
+     */
+    public PluginAliasSetDiff<N, S, A> diff(final PluginAliasSet<N, I, IS, S, A, AS> other) {
+        Objects.requireNonNull(other, "other");
+
+        final SortedSet<A> added = SortedSets.tree();
+        final SortedSet<A> removed = SortedSets.tree();
+        final Map<A, A> changed = Maps.sorted();
+
+        if (this != other) {
+            final Iterator<A> oldAliases = this.iterator();
+            final Iterator<A> newAliases = other.iterator();
+
+            A oldAlias = next(oldAliases);
+            A newAlias = next(newAliases);
+
+            while (null != oldAlias || null != newAlias) {
+                final int compare = null == oldAlias ?
+                    1 :
+                    null == newAlias ?
+                        -1 :
+                        oldAlias.name()
+                            .compareTo(newAlias.name());
+
+                if (compare < 0) {
+                    removed.add(oldAlias);
+                    oldAlias = next(oldAliases);
+                } else {
+                    if (compare > 0) {
+                        added.add(newAlias);
+                    } else {
+                        if (false == oldAlias.equals(newAlias)) {
+                            changed.put(
+                                oldAlias,
+                                newAlias
+                            );
+                        }
+                        oldAlias = next(oldAliases);
+                    }
+                    newAlias = next(newAliases);
+                }
+            }
+        }
+
+        return PluginAliasSetDiff.with(
+            added,
+            removed,
+            changed
+        );
+    }
+
+    private static <A> A next(final Iterator<A> iterator) {
+        return iterator.hasNext() ?
+            iterator.next() :
+            null;
+    }
+
+    /**
+     * Applies the given {@link PluginAliasSetDiff} deleting removed and changed aliases and then adding the added and
+     * changed aliases, validating only those aliases.
+     */
+    public PluginAliasSet<N, I, IS, S, A, AS> apply(final PluginAliasSetDiff<N, S, A> diff) {
+        Objects.requireNonNull(diff, "diff");
+
+        PluginAliasSet<N, I, IS, S, A, AS> set = this;
+
+        for (final A alias : diff.removed()) {
+            set = set.delete(alias);
+        }
+
+        final Map<A, A> changed = diff.changed();
+        for (final A alias : changed.keySet()) {
+            set = set.delete(alias);
+        }
+
+        for (final A alias : changed.values()) {
+            set = set.concat(alias);
+        }
+
+        for (final A alias : diff.added()) {
+            set = set.concat(alias);
+        }
+
+        return set;
+    }
+
     @Override
     public void elementCheck(final A alias) {
         Objects.requireNonNull(alias, "alias");
@@ -675,5 +1125,9 @@ public final class PluginAliasSet<N extends Name & Comparable<N>,
         }
     }
 
-    private final SortedSet<A> pluginAliasLikes;
+    /**
+     * The aliases held in a persistent tree, so {@link #concat(PluginAliasLike)} and {@link #delete(PluginAliasLike)}
+     * copy only the path to the changed alias and share everything else with this set.
+     */
+    private final PluginAliasSetIndex<A, A> pluginAliasLikes;
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.naming.Name;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * The aliases added, removed and changed between two {@link PluginAliasSet}, created by
+ * {@link PluginAliasSet#diff(PluginAliasSet)} and applied to another set with {@link PluginAliasSet#apply(PluginAliasSetDiff)}.
+ * An alias is changed when both sets have an alias with the same {@link Name} but a different selector or url.
+ */
+public final class PluginAliasSetDiff<N extends Name & Comparable<N>,
+    S extends PluginSelectorLike<N>,
+    A extends PluginAliasLike<N, S, A>> {
+
+    static <N extends Name & Comparable<N>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>> PluginAliasSetDiff<N, S, A> with(final SortedSet<A> added,
+                                                                             final SortedSet<A> removed,
+                                                                             final Map<A, A> changed) {
+        return new PluginAliasSetDiff<>(
+            SortedSets.immutable(added),
+            SortedSets.immutable(removed),
+            Maps.readOnly(changed)
+        );
+    }
+
+    private PluginAliasSetDiff(final SortedSet<A> added,
+                               final SortedSet<A> removed,
+                               final Map<A, A> changed) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    /**
+     * Aliases with a {@link Name} only present in the new set.
+     */
+    public SortedSet<A> added() {
+        return this.added;
+    }
+
+    private final SortedSet<A> added;
+
+    /**
+     * Aliases with a {@link Name} only present in the old set.
+     */
+    public SortedSet<A> removed() {
+        return this.removed;
+    }
+
+    private final SortedSet<A> removed;
+
+    /**
+     * The old alias to the new alias with the same {@link Name}.
+     */
+    public Map<A, A> changed() {
+        return this.changed;
+    }
+
+    private final Map<A, A> changed;
+
+    /**
+     * Returns true if nothing was added, removed or changed.
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() &&
+            this.removed.isEmpty() &&
+            this.changed.isEmpty();
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.added,
+            this.removed,
+            this.changed
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginAliasSetDiff && this.equals0((PluginAliasSetDiff<?, ?, ?>) other);
+    }
+
+    private boolean equals0(final PluginAliasSetDiff<?, ?, ?> other) {
+        return this.added.equals(other.added) &&
+            this.removed.equals(other.removed) &&
+            this.changed.equals(other.changed);
+    }
+
+    @Override
+    public String toString() {
+        return "added=" + this.added +
+            " removed=" + this.removed +
+            " changed=" + this.changed;
+    }
+}
@@ -0,0 +1,688 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An immutable lookup of key, usually a {@link walkingkooka.naming.Name}, to value used by {@link PluginAliasSet}, held
+ * as a persistent balanced (AVL) tree. {@link #put(Object, Object)} and {@link #remove(Object)} copy only the nodes on
+ * the path to the changed key, sharing every other node with the original, so each edit is O(log n).
+ * <br>
+ * All fields are final, so an instance may be shared with other threads without any further synchronization.
+ */
+final class PluginAliasSetIndex<K, V> implements Iterable<K> {
+
+    /**
+     * Creates an index holding all the entries of the given {@link Map}, which is sorted first if necessary.
+     */
+    static <K, V> PluginAliasSetIndex<K, V> with(final Map<K, V> map,
+                                                 final Comparator<K> comparator) {
+        final int size = map.size();
+        if (0 == size) {
+            return empty(comparator);
+        }
+
+        final Object[] keys = new Object[size];
+        final Object[] values = new Object[size];
+
+        int i = 0;
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            final K key = entry.getKey();
+            if (i > 0 && comparator.compare(Cast.to(keys[i - 1]), key) >= 0) {
+                // not sorted by the given comparator
+                final Map<K, V> sorted = Maps.sorted(comparator);
+                sorted.putAll(map);
+                return with(
+                    sorted,
+                    comparator
+                );
+            }
+
+            keys[i] = key;
+            values[i] = entry.getValue();
+            i++;
+        }
+
+        return sorted(
+            keys,
+            values,
+            size,
+            comparator
+        );
+    }
+
+    /**
+     * Creates an index of the given values using the key returned by the key mapper, which is sorted first if
+     * necessary. When two values have the same key the last wins.
+     */
+    static <K, V> PluginAliasSetIndex<K, V> with(final Collection<V> values,
+                                                 final Function<V, K> keyMapper,
+                                                 final Comparator<K> comparator) {
+        final int size = values.size();
+        if (0 == size) {
+            return empty(comparator);
+        }
+
+        final Object[] keys = new Object[size];
+        final Object[] valuesCopy = new Object[size];
+
+        int i = 0;
+        for (final V value : values) {
+            final K key = keyMapper.apply(value);
+            if (i > 0 && comparator.compare(Cast.to(keys[i - 1]), key) >= 0) {
+                // not sorted by the given comparator
+                final Map<K, V> sorted = Maps.sorted(comparator);
+                for (final V v : values) {
+                    sorted.put(
+                        keyMapper.apply(v),
+                        v
+                    );
+                }
+                return with(
+                    sorted,
+                    comparator
+                );
+            }
+
+            keys[i] = key;
+            valuesCopy[i] = value;
+            i++;
+        }
+
+        return sorted(
+            keys,
+            valuesCopy,
+            size,
+            comparator
+        );
+    }
+
+    /**
+     * Creates an index where each of the given keys maps to itself.
+     */
+    static <K> PluginAliasSetIndex<K, K> keys(final Collection<K> names,
+                                              final Comparator<K> comparator) {
+        final int size = names.size();
+        if (0 == size) {
+            return empty(comparator);
+        }
+
+        final Object[] keys = new Object[size];
+
+        int i = 0;
+        for (final K name : names) {
+            if (i > 0 && comparator.compare(Cast.to(keys[i - 1]), name) >= 0) {
+                // not sorted by the given comparator
+                final SortedSet<K> sorted = SortedSets.tree(comparator);
+                sorted.addAll(names);
+                return keys(
+                    sorted,
+                    comparator
+                );
+            }
+
+            keys[i] = name;
+            i++;
+        }
+
+        return sorted(
+            keys,
+            keys,
+            size,
+            comparator
+        );
+    }
+
+    /**
+     * Builds a perfectly balanced tree from keys that are already sorted and unique.
+     */
+    private static <K, V> PluginAliasSetIndex<K, V> sorted(final Object[] keys,
+                                                           final Object[] values,
+                                                           final int size,
+                                                           final Comparator<K> comparator) {
+        return new PluginAliasSetIndex<>(
+            build(
+                keys,
+                values,
+                0,
+                size
+            ),
+            size,
+            comparator
+        );
+    }
+
+    private static <K> PluginAliasSetIndexNode<K> build(final Object[] keys,
+                                                        final Object[] values,
+                                                        final int from,
+                                                        final int to) {
+        if (from >= to) {
+            return null;
+        }
+
+        final int mid = (from + to) >>> 1;
+
+        return node(
+            Cast.to(keys[mid]),
+            values[mid],
+            build(
+                keys,
+                values,
+                from,
+                mid
+            ),
+            build(
+                keys,
+                values,
+                mid + 1,
+                to
+            )
+        );
+    }
+
+    private static <K, V> PluginAliasSetIndex<K, V> empty(final Comparator<K> comparator) {
+        return new PluginAliasSetIndex<>(
+            null,
+            0,
+            comparator
+        );
+    }
+
+    private PluginAliasSetIndex(final PluginAliasSetIndexNode<K> root,
+                                final int size,
+                                final Comparator<K> comparator) {
+        this.root = root;
+        this.size = size;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the value for the given key or null if absent.
+     */
+    V get(final K key) {
+        final PluginAliasSetIndexNode<K> node = this.find(key);
+        return null != node ?
+            Cast.to(node.value) :
+            null;
+    }
+
+    boolean contains(final K key) {
+        return null != this.find(key);
+    }
+
+    private PluginAliasSetIndexNode<K> find(final K key) {
+        final Comparator<K> comparator = this.comparator;
+
+        PluginAliasSetIndexNode<K> node = this.root;
+        while (null != node) {
+            final int compare = comparator.compare(
+                key,
+                node.key
+            );
+            if (0 == compare) {
+                break;
+            }
+            node = compare < 0 ?
+                node.left :
+                node.right;
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns a new index with the given entry added or replaced, copying only the nodes from the root to the key.
+     */
+    PluginAliasSetIndex<K, V> put(final K key,
+                                  final V value) {
+        final PluginAliasSetIndexNode<K> existing = this.find(key);
+        if (null != existing && existing.value == value) {
+            return this;
+        }
+
+        return new PluginAliasSetIndex<>(
+            this.put(
+                this.root,
+                key,
+                value
+            ),
+            null != existing ?
+                this.size :
+                this.size + 1,
+            this.comparator
+        );
+    }
+
+    private PluginAliasSetIndexNode<K> put(final PluginAliasSetIndexNode<K> node,
+                                           final K key,
+                                           final Object value) {
+        if (null == node) {
+            return node(
+                key,
+                value,
+                null,
+                null
+            );
+        }
+
+        final int compare = this.comparator.compare(
+            key,
+            node.key
+        );
+
+        return 0 == compare ?
+            node(
+                key,
+                value,
+                node.left,
+                node.right
+            ) :
+            compare < 0 ?
+                balance(
+                    node.key,
+                    node.value,
+                    this.put(
+                        node.left,
+                        key,
+                        value
+                    ),
+                    node.right
+                ) :
+                balance(
+                    node.key,
+                    node.value,
+                    node.left,
+                    this.put(
+                        node.right,
+                        key,
+                        value
+                    )
+                );
+    }
+
+    /**
+     * Returns a new index without the given key, or this if the key is absent.
+     */
+    PluginAliasSetIndex<K, V> remove(final K key) {
+        if (false == this.contains(key)) {
+            return this;
+        }
+
+        return new PluginAliasSetIndex<>(
+            this.remove(
+                this.root,
+                key
+            ),
+            this.size - 1,
+            this.comparator
+        );
+    }
+
+    private PluginAliasSetIndexNode<K> remove(final PluginAliasSetIndexNode<K> node,
+                                              final K key) {
+        final int compare = this.comparator.compare(
+            key,
+            node.key
+        );
+
+        final PluginAliasSetIndexNode<K> removed;
+
+        if (compare < 0) {
+            removed = balance(
+                node.key,
+                node.value,
+                this.remove(
+                    node.left,
+                    key
+                ),
+                node.right
+            );
+        } else if (compare > 0) {
+            removed = balance(
+                node.key,
+                node.value,
+                node.left,
+                this.remove(
+                    node.right,
+                    key
+                )
+            );
+        } else {
+            final PluginAliasSetIndexNode<K> left = node.left;
+            final PluginAliasSetIndexNode<K> right = node.right;
+
+            if (null == left) {
+                removed = right;
+            } else if (null == right) {
+                removed = left;
+            } else {
+                // replace with the smallest key of the right subtree
+                final PluginAliasSetIndexNode<K> first = first(right);
+                removed = balance(
+                    first.key,
+                    first.value,
+                    left,
+                    removeFirst(right)
+                );
+            }
+        }
+
+        return removed;
+    }
+
+    private static <K> PluginAliasSetIndexNode<K> removeFirst(final PluginAliasSetIndexNode<K> node) {
+        return null == node.left ?
+            node.right :
+            balance(
+                node.key,
+                node.value,
+                removeFirst(node.left),
+                node.right
+            );
+    }
+
+    private static <K> PluginAliasSetIndexNode<K> first(final PluginAliasSetIndexNode<K> node) {
+        PluginAliasSetIndexNode<K> first = node;
+        while (null != first.left) {
+            first = first.left;
+        }
+        return first;
+    }
+
+    private static <K> PluginAliasSetIndexNode<K> last(final PluginAliasSetIndexNode<K> node) {
+        PluginAliasSetIndexNode<K> last = node;
+        while (null != last.right) {
+            last = last.right;
+        }
+        return last;
+    }
+
+    /**
+     * Creates a node with the given children, rotating if their heights differ by more than one.
+     */
+    private static <K> PluginAliasSetIndexNode<K> balance(final K key,
+                                                          final Object value,
+                                                          final PluginAliasSetIndexNode<K> left,
+                                                          final PluginAliasSetIndexNode<K> right) {
+        final int leftHeight = height(left);
+        final int rightHeight = height(right);
+
+        final PluginAliasSetIndexNode<K> balanced;
+
+        if (leftHeight > rightHeight + 1) {
+            final PluginAliasSetIndexNode<K> leftRight = left.right;
+
+            balanced = height(left.left) >= height(leftRight) ?
+                node(
+                    left.key,
+                    left.value,
+                    left.left,
+                    node(
+                        key,
+                        value,
+                        leftRight,
+                        right
+                    )
+                ) :
+                node(
+                    leftRight.key,
+                    leftRight.value,
+                    node(
+                        left.key,
+                        left.value,
+                        left.left,
+                        leftRight.left
+                    ),
+                    node(
+                        key,
+                        value,
+                        leftRight.right,
+                        right
+                    )
+                );
+        } else if (rightHeight > leftHeight + 1) {
+            final PluginAliasSetIndexNode<K> rightLeft = right.left;
+
+            balanced = height(right.right) >= height(rightLeft) ?
+                node(
+                    right.key,
+                    right.value,
+                    node(
+                        key,
+                        value,
+                        left,
+                        rightLeft
+                    ),
+                    right.right
+                ) :
+                node(
+                    rightLeft.key,
+                    rightLeft.value,
+                    node(
+                        key,
+                        value,
+                        left,
+                        rightLeft.left
+                    ),
+                    node(
+                        right.key,
+                        right.value,
+                        rightLeft.right,
+                        right.right
+                    )
+                );
+        } else {
+            balanced = node(
+                key,
+                value,
+                left,
+                right
+            );
+        }
+
+        return balanced;
+    }
+
+    private static <K> PluginAliasSetIndexNode<K> node(final K key,
+                                                       final Object value,
+                                                       final PluginAliasSetIndexNode<K> left,
+                                                       final PluginAliasSetIndexNode<K> right) {
+        return new PluginAliasSetIndexNode<>(
+            key,
+            value,
+            left,
+            right,
+            1 + Math.max(
+                height(left),
+                height(right)
+            )
+        );
+    }
+
+    private static int height(final PluginAliasSetIndexNode<?> node) {
+        return null == node ?
+            0 :
+            node.height;
+    }
+
+    /**
+     * Returns a new index with only the keys accepted by the given {@link Predicate}, in a single pass, or this if all
+     * keys are kept.
+     */
+    PluginAliasSetIndex<K, V> filter(final Predicate<K> keep) {
+        final int size = this.size;
+
+        final Object[] newKeys = new Object[size];
+        final Object[] newValues = new Object[size];
+
+        final int newSize = filter(
+            this.root,
+            keep,
+            newKeys,
+            newValues,
+            0
+        );
+
+        return newSize == size ?
+            this :
+            sorted(
+                newKeys,
+                newValues,
+                newSize,
+                this.comparator
+            );
+    }
+
+    /**
+     * Copies the kept entries of the given tree in sorted order, returning the new count.
+     */
+    private static <K> int filter(final PluginAliasSetIndexNode<K> node,
+                                  final Predicate<K> keep,
+                                  final Object[] keys,
+                                  final Object[] values,
+                                  final int count) {
+        int newCount = count;
+
+        if (null != node) {
+            newCount = filter(
+                node.left,
+                keep,
+                keys,
+                values,
+                newCount
+            );
+
+            final K key = node.key;
+            if (keep.test(key)) {
+                keys[newCount] = key;
+                values[newCount] = node.value;
+                newCount++;
+            }
+
+            newCount = filter(
+                node.right,
+                keep,
+                keys,
+                values,
+                newCount
+            );
+        }
+
+        return newCount;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private final int size;
+
+    /**
+     * Returns the smallest key, failing if the index is empty.
+     */
+    K first() {
+        return first(this.root()).key;
+    }
+
+    /**
+     * Returns the largest key, failing if the index is empty.
+     */
+    K last() {
+        return last(this.root()).key;
+    }
+
+    private PluginAliasSetIndexNode<K> root() {
+        final PluginAliasSetIndexNode<K> root = this.root;
+        if (null == root) {
+            throw new NoSuchElementException();
+        }
+        return root;
+    }
+
+    /**
+     * Returns a new {@link SortedSet} with all the keys.
+     */
+    SortedSet<K> keys() {
+        final SortedSet<K> keys = SortedSets.tree(this.comparator);
+        for (final K key : this) {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys in sorted order.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return PluginAliasSetIndexIterator.with(this.root);
+    }
+
+    private final PluginAliasSetIndexNode<K> root;
+
+    private final Comparator<K> comparator;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append('{');
+
+        toString(
+            this.root,
+            b
+        );
+
+        return b.append('}')
+            .toString();
+    }
+
+    private static void toString(final PluginAliasSetIndexNode<?> node,
+                                 final StringBuilder b) {
+        if (null != node) {
+            toString(
+                node.left,
+                b
+            );
+
+            if (b.length() > 1) {
+                b.append(", ");
+            }
+            b.append(node.key)
+                .append('=')
+                .append(node.value);
+
+            toString(
+                node.right,
+                b
+            );
+        }
+    }
+}
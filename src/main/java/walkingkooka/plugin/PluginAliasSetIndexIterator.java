@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.Cast;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} that returns the keys of a {@link PluginAliasSetIndex} tree in sorted order, using a stack of the
+ * nodes whose keys have not been returned yet, whose size is never more than the height of the tree.
+ */
+final class PluginAliasSetIndexIterator<K> implements Iterator<K> {
+
+    static <K> PluginAliasSetIndexIterator<K> with(final PluginAliasSetIndexNode<K> root) {
+        return new PluginAliasSetIndexIterator<>(root);
+    }
+
+    private PluginAliasSetIndexIterator(final PluginAliasSetIndexNode<K> root) {
+        this.stack = new PluginAliasSetIndexNode<?>[
+            null == root ?
+                0 :
+                root.height
+            ];
+        this.pushLeft(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.count > 0;
+    }
+
+    @Override
+    public K next() {
+        if (0 == this.count) {
+            throw new NoSuchElementException();
+        }
+
+        final PluginAliasSetIndexNode<K> node = this.pop();
+        this.pushLeft(node.right);
+        return node.key;
+    }
+
+    /**
+     * Pushes the given node and all its left children.
+     */
+    private void pushLeft(final PluginAliasSetIndexNode<K> node) {
+        PluginAliasSetIndexNode<K> left = node;
+
+        while (null != left) {
+            this.stack[this.count++] = left;
+            left = left.left;
+        }
+    }
+
+    private PluginAliasSetIndexNode<K> pop() {
+        final int count = --this.count;
+
+        final PluginAliasSetIndexNode<K> node = Cast.to(this.stack[count]);
+        this.stack[count] = null;
+        return node;
+    }
+
+    private final PluginAliasSetIndexNode<?>[] stack;
+
+    private int count;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.hasNext() ?
+            String.valueOf(this.stack[this.count - 1]) :
+            "";
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+/**
+ * An immutable node within the tree of a {@link PluginAliasSetIndex}, which may be shared by many indices.
+ */
+final class PluginAliasSetIndexNode<K> {
+
+    PluginAliasSetIndexNode(final K key,
+                            final Object value,
+                            final PluginAliasSetIndexNode<K> left,
+                            final PluginAliasSetIndexNode<K> right,
+                            final int height) {
+        this.key = key;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.height = height;
+    }
+
+    final K key;
+
+    final Object value;
+
+    /**
+     * Holds keys smaller than this key, or null.
+     */
+    final PluginAliasSetIndexNode<K> left;
+
+    /**
+     * Holds keys larger than this key, or null.
+     */
+    final PluginAliasSetIndexNode<K> right;
+
+    /**
+     * The height of this subtree, where a node without children has a height of one.
+     */
+    final int height;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.key + "=" + this.value;
+    }
+}
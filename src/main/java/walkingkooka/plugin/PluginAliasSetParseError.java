@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import java.util.Objects;
+
+/**
+ * A single syntax or duplicate problem found by {@link PluginAliasSetReader}, with the position of the character or
+ * alias in the entire text.
+ */
+public final class PluginAliasSetParseError {
+
+    static PluginAliasSetParseError with(final int position,
+                                         final String message) {
+        return new PluginAliasSetParseError(
+            position,
+            message
+        );
+    }
+
+    private PluginAliasSetParseError(final int position,
+                                     final String message) {
+        this.position = position;
+        this.message = message;
+    }
+
+    /**
+     * The position of the problem within the entire text.
+     */
+    public int position() {
+        return this.position;
+    }
+
+    private final int position;
+
+    /**
+     * A message describing the problem without the {@link #position()}.
+     */
+    public String message() {
+        return this.message;
+    }
+
+    private final String message;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.position,
+            this.message
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginAliasSetParseError && this.equals0((PluginAliasSetParseError) other);
+    }
+
+    private boolean equals0(final PluginAliasSetParseError other) {
+        return this.position == other.position &&
+            this.message.equals(other.message);
+    }
+
+    @Override
+    public String toString() {
+        return this.message + " at " + this.position;
+    }
+}
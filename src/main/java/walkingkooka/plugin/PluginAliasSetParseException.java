@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown by {@link PluginAliasSetReader} with every {@link PluginAliasSetParseError} found in the text.
+ */
+public final class PluginAliasSetParseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1;
+
+    PluginAliasSetParseException(final List<PluginAliasSetParseError> errors) {
+        super(
+            errors.stream()
+                .map(PluginAliasSetParseError::toString)
+                .collect(Collectors.joining("\n"))
+        );
+        this.errors = Lists.immutable(errors);
+    }
+
+    /**
+     * All the errors in the order they appear in the text.
+     */
+    public List<PluginAliasSetParseError> errors() {
+        return this.errors;
+    }
+
+    private final transient List<PluginAliasSetParseError> errors;
+}
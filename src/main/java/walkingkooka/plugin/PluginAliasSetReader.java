@@ -0,0 +1,249 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.naming.Name;
+import walkingkooka.text.CharSequences;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * Reads a {@link PluginAliasSet} from a {@link Reader} in chunks, parsing and validating each alias as soon as its
+ * separating COMMA is read, so the entire text is never held as one {@link String}. The aliases are validated once
+ * by a {@link PluginAliasSetValidator} and are not validated again when the {@link PluginAliasSet} is created.
+ * <br>
+ * Rather than stopping at the first problem, every syntax and duplicate error is collected with its position and all
+ * are reported together in a {@link PluginAliasSetParseException}.
+ * <br>
+ * Separating COMMA characters are recognised by a {@link PluginSetSeparatorScanner}.
+ */
+public final class PluginAliasSetReader<N extends Name & Comparable<N>,
+    I extends PluginInfoLike<I, N>,
+    IS extends PluginInfoSetLike<N, I, IS, S, A, AS>,
+    S extends PluginSelectorLike<N>,
+    A extends PluginAliasLike<N, S, A>,
+    AS extends PluginAliasSetLike<N, I, IS, S, A, AS>> {
+
+    /**
+     * Reads all the aliases from the given {@link Reader}, throwing a {@link PluginAliasSetParseException} with all
+     * errors if any were found.
+     */
+    public static <N extends Name & Comparable<N>,
+        I extends PluginInfoLike<I, N>,
+        IS extends PluginInfoSetLike<N, I, IS, S, A, AS>,
+        S extends PluginSelectorLike<N>,
+        A extends PluginAliasLike<N, S, A>,
+        AS extends PluginAliasSetLike<N, I, IS, S, A, AS>>
+    PluginAliasSet<N, I, IS, S, A, AS> read(final Reader reader,
+                                            final PluginHelper<N, I, IS, S, A, AS> helper) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(helper, "helper");
+
+        return new PluginAliasSetReader<>(helper)
+            .read0(reader);
+    }
+
+    // @VisibleForTesting
+    final static int BUFFER_SIZE = 4096;
+
+    private PluginAliasSetReader(final PluginHelper<N, I, IS, S, A, AS> helper) {
+        this.helper = helper;
+        this.validator = PluginAliasSetValidator.with(helper.nameComparator());
+    }
+
+    private PluginAliasSet<N, I, IS, S, A, AS> read0(final Reader reader) throws IOException {
+        final char[] buffer = new char[BUFFER_SIZE];
+
+        for (; ; ) {
+            final int count = reader.read(buffer);
+            if (-1 == count) {
+                break;
+            }
+
+            for (int i = 0; i < count; i++) {
+                this.accept(buffer[i]);
+            }
+        }
+
+        // the last alias or a missing alias after a trailing COMMA
+        if (this.separator || false == this.entry.toString().trim().isEmpty()) {
+            this.entry();
+        }
+
+        final List<PluginAliasSetParseError> errors = this.errors;
+        if (false == errors.isEmpty()) {
+            throw new PluginAliasSetParseException(errors);
+        }
+
+        return PluginAliasSet.validated(
+            this.aliases,
+            this.validator,
+            this.helper
+        );
+    }
+
+    // split............................................................................................................
+
+    /**
+     * Accepts the next character, completing the current alias when a separating COMMA is found.
+     */
+    private void accept(final char c) {
+        if (this.scanner.isSeparator(c)) {
+            this.entry();
+            this.separator = true;
+            this.position++;
+            this.entryStart = this.position;
+        } else {
+            this.entry.append(c);
+            this.position++;
+        }
+    }
+
+    private final PluginSetSeparatorScanner scanner = PluginSetSeparatorScanner.empty();
+
+    /**
+     * The text of the current alias.
+     */
+    private final StringBuilder entry = new StringBuilder();
+
+    /**
+     * The position of the first character of the current alias in the entire text.
+     */
+    private int entryStart;
+
+    /**
+     * The position of the next character in the entire text.
+     */
+    private int position;
+
+    /**
+     * True once any separating COMMA has been read.
+     */
+    private boolean separator;
+
+    // parse............................................................................................................
+
+    /**
+     * Parses and validates the current alias, recording any error, and then clears the current alias.
+     */
+    private void entry() {
+        final String text = this.entry.toString();
+        final int start = this.entryStart;
+
+        this.entry.setLength(0);
+
+        int leadingSpaces = 0;
+        while (leadingSpaces < text.length() && Character.isWhitespace(text.charAt(leadingSpaces))) {
+            leadingSpaces++;
+        }
+
+        if (leadingSpaces == text.length()) {
+            this.error(
+                start + leadingSpaces,
+                "Missing alias"
+            );
+        } else {
+            final PluginHelper<N, I, IS, S, A, AS> helper = this.helper;
+
+            try {
+                this.validate(
+                    helper.alias(
+                        PluginAlias.parse(
+                            text,
+                            helper
+                        )
+                    ),
+                    start + leadingSpaces
+                );
+            } catch (final InvalidCharacterException cause) {
+                final int position = cause.position();
+
+                this.error(
+                    start + position,
+                    "Invalid character " +
+                        CharSequences.quoteIfChars(
+                            cause.text()
+                                .charAt(position)
+                        )
+                );
+            } catch (final IllegalArgumentException cause) {
+                this.error(
+                    start + leadingSpaces,
+                    cause.getMessage()
+                );
+            }
+        }
+    }
+
+    private final PluginHelper<N, I, IS, S, A, AS> helper;
+
+    // validate.........................................................................................................
+
+    /**
+     * Adds the alias to the {@link PluginAliasSetValidator} shared with {@link PluginAliasSet#with(java.util.Collection, PluginHelper)},
+     * recording any duplicate error. An alias that fails is skipped, so it is not reported again by later aliases.
+     */
+    private void validate(final A alias,
+                          final int position) {
+        if (this.aliases.contains(alias)) {
+            this.error(
+                position,
+                "Duplicate " + alias
+            );
+        } else {
+            try {
+                this.validator.add(alias);
+                this.aliases.add(alias);
+            } catch (final IllegalArgumentException cause) {
+                this.error(
+                    position,
+                    cause.getMessage()
+                );
+            }
+        }
+    }
+
+    private final SortedSet<A> aliases = SortedSets.tree();
+
+    private final PluginAliasSetValidator<N, S, A> validator;
+
+    private void error(final int position,
+                       final String message) {
+        this.errors.add(
+            PluginAliasSetParseError.with(
+                position,
+                message
+            )
+        );
+    }
+
+    private final List<PluginAliasSetParseError> errors = Lists.array();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.aliases.toString();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.naming.Name;
+import walkingkooka.net.AbsoluteUrl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Validates {@link PluginAliasLike} one at a time against all those previously added, building the lookups needed by a
+ * {@link PluginAliasSet}. An alias that fails is not added, so the validator may continue with the next alias.
+ * <br>
+ * This is shared by {@link PluginAliasSet#with(java.util.Collection, PluginHelper)} and {@link PluginAliasSetReader},
+ * so both report the same duplicate errors.
+ */
+final class PluginAliasSetValidator<N extends Name & Comparable<N>, S extends PluginSelectorLike<N>, A extends PluginAliasLike<N, S, A>> {
+
+    static <N extends Name & Comparable<N>, S extends PluginSelectorLike<N>, A extends PluginAliasLike<N, S, A>> PluginAliasSetValidator<N, S, A> with(final Comparator<N> nameComparator) {
+        return new PluginAliasSetValidator<>(nameComparator);
+    }
+
+    private PluginAliasSetValidator(final Comparator<N> nameComparator) {
+        this.nameComparator = nameComparator;
+
+        this.aliasToSelector = Maps.sorted(nameComparator);
+        this.aliasOrNameToName = Maps.sorted(nameComparator);
+        this.namesNotAliases = SortedSets.tree(nameComparator);
+        this.selectorNameToAlias = Maps.sorted(nameComparator);
+    }
+
+    /**
+     * Validates and then adds the given alias, throwing an {@link IllegalArgumentException} if it duplicates any alias
+     * previously added.
+     */
+    void add(final A alias) {
+        final N nameOrAlias = alias.name();
+        if (this.aliasOrNameToName.containsKey(nameOrAlias)) {
+            throw duplicateAliasOrName(nameOrAlias);
+        }
+
+        final Optional<S> maybeSelector = alias.selector();
+        if (false == maybeSelector.isPresent()) {
+            final N name = nameOrAlias;
+
+            // an alias without a url must not target this name
+            final N aliasWithName = this.selectorNameToAlias.get(name);
+            if (null != aliasWithName) {
+                throw duplicateAliasOrName(aliasWithName);
+            }
+
+            this.aliasOrNameToName.put(
+                name,
+                name
+            );
+            this.namesNotAliases.add(name);
+        } else {
+            final S selector = maybeSelector.get();
+            final N selectorName = selector.name();
+
+            final Optional<AbsoluteUrl> maybeUrl = alias.url();
+            if (maybeUrl.isPresent()) {
+                final AbsoluteUrl url = maybeUrl.get();
+                if (false == this.urls.add(url)) {
+                    throw duplicateUrl(url);
+                }
+            } else {
+                final N previous = this.selectorNameToAlias.get(selectorName);
+                if (null != previous) {
+                    throw duplicateAlias(
+                        previous,
+                        nameOrAlias,
+                        this.nameComparator
+                    );
+                }
+
+                if (this.namesNotAliases.contains(selectorName)) {
+                    throw duplicateAliasOrName(nameOrAlias);
+                }
+
+                this.selectorNameToAlias.put(
+                    selectorName,
+                    nameOrAlias
+                );
+            }
+
+            this.aliasOrNameToName.put(
+                nameOrAlias,
+                selectorName
+            );
+            this.aliasToSelector.put(
+                nameOrAlias,
+                selector
+            );
+        }
+    }
+
+    private final Comparator<N> nameComparator;
+
+    /**
+     * Maps each alias with a selector to that selector.
+     */
+    final Map<N, S> aliasToSelector;
+
+    /**
+     * Maps each alias or name to its target name.
+     */
+    final Map<N, N> aliasOrNameToName;
+
+    /**
+     * Names without a selector.
+     */
+    final SortedSet<N> namesNotAliases;
+
+    /**
+     * The target name of aliases without a url, to the alias.
+     */
+    private final Map<N, N> selectorNameToAlias;
+
+    private final Set<AbsoluteUrl> urls = Sets.hash();
+
+    static IllegalArgumentException duplicateAliasOrName(final Name name) {
+        return new IllegalArgumentException("Duplicate name/alias: " + name);
+    }
+
+    static IllegalArgumentException duplicateUrl(final AbsoluteUrl url) {
+        return new IllegalArgumentException("Duplicate url: " + url);
+    }
+
+    /**
+     * Reports two aliases with the same target, in sorted order regardless of the order they were added.
+     */
+    static <N extends Name> IllegalArgumentException duplicateAlias(final N alias,
+                                                                   final N other,
+                                                                   final Comparator<N> nameComparator) {
+        final boolean aliasFirst = nameComparator.compare(
+            alias,
+            other
+        ) < 0;
+
+        return new IllegalArgumentException(
+            "Duplicate alias: " +
+                (aliasFirst ? alias : other) +
+                " and " +
+                (aliasFirst ? other : alias)
+        );
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.aliasOrNameToName.toString();
+    }
+}
@@ -18,7 +18,7 @@
 package walkingkooka.plugin;
 
 import walkingkooka.CanBeEmpty;
-import walkingkooka.EmptyTextException;
+import walkingkooka.InvalidCharacterException;
 import walkingkooka.datetime.DateTimeContexts;
 import walkingkooka.environment.EnvironmentValueName;
 import walkingkooka.math.DecimalNumberContexts;
@@ -28,27 +28,25 @@ import walkingkooka.net.Url;
 import walkingkooka.predicate.character.CharPredicate;
 import walkingkooka.predicate.character.CharPredicates;
 import walkingkooka.storage.StoragePath;
-import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.cursor.TextCursor;
 import walkingkooka.text.cursor.TextCursorSavePoint;
 import walkingkooka.text.cursor.TextCursors;
-import walkingkooka.text.cursor.parser.DoubleParserToken;
-import walkingkooka.text.cursor.parser.DoubleQuotedParserToken;
 import walkingkooka.text.cursor.parser.InvalidCharacterExceptionFactory;
 import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserContext;
 import walkingkooka.text.cursor.parser.ParserContexts;
-import walkingkooka.text.cursor.parser.ParserToken;
-import walkingkooka.text.cursor.parser.Parsers;
 
 import java.math.MathContext;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 
 /**
  * A parser that may be used to parse individual tokens within a plugin expression such as a selector.
+ * <br>
+ * Tokens are matched by scanning the {@link TextCursor} one character at a time, rather than using {@link Parser parsers},
+ * so failed attempts create no garbage. Only {@link Name names} which are parsed by the given name parser use
+ * a {@link Parser}.
  */
 final class PluginExpressionParser<N extends Name & Comparable<N>> implements CanBeEmpty {
 
@@ -62,6 +60,7 @@ final class PluginExpressionParser<N extends Name & Comparable<N>> implements Ca
 
     private PluginExpressionParser(final String text,
                                    final BiFunction<TextCursor, ParserContext, Optional<N>> nameParser) {
+        this.text = text;
         this.cursor = TextCursors.charSequence(text);
         this.nameParser = nameParser;
     }
@@ -70,215 +69,629 @@ final class PluginExpressionParser<N extends Name & Comparable<N>> implements Ca
      * Tries to consume a {@link Name}
      */
     Optional<N> name() {
-        return this.nameParser.apply(
-            this.cursor,
+        final TextCursor cursor = this.cursor;
+        final TextCursorSavePoint save = cursor.save();
+
+        final Optional<N> name = this.nameParser.apply(
+            cursor,
             PARSER_CONTEXT
         );
+
+        // the name parser consumes characters directly from the cursor
+        this.offset += save.textBetween()
+            .length();
+        return name;
     }
 
-    private final BiFunction<TextCursor, ParserContext, Optional<N>> nameParser;
+    final BiFunction<TextCursor, ParserContext, Optional<N>> nameParser;
 
     /**
      * Consumes any whitespace, don't really care how many or if any were skipped.
      */
     boolean spaces() {
-        return text(SPACE)
-            .isPresent();
+        final TextCursor cursor = this.cursor;
+
+        boolean skipped = false;
+
+        while (cursor.isNotEmpty() && WHITESPACE.test(cursor.at())) {
+            this.advance();
+            skipped = true;
+        }
+
+        return skipped;
     }
 
-    private final static Parser<ParserContext> SPACE = Parsers.character(CharPredicates.whitespace())
-        .repeating();
+    private final static CharPredicate WHITESPACE = CharPredicates.whitespace();
 
     /**
      * Matches a LEFT PARENS which marks the start of a plugin parameters.
      */
     boolean parametersBegin() {
-        return this.text(PARAMETER_BEGIN_PARSER)
-            .isPresent();
+        return this.character(PARAMETER_BEGIN_CHARACTER);
     }
 
-    final static String PARAMETER_BEGIN = "(";
+    final static char PARAMETER_BEGIN_CHARACTER = '(';
 
-    private final static Parser<ParserContext> PARAMETER_BEGIN_PARSER = Parsers.string(
-        PARAMETER_BEGIN,
-        CaseSensitivity.SENSITIVE
-    );
+    final static String PARAMETER_BEGIN = "" + PARAMETER_BEGIN_CHARACTER;
 
     /**
      * Matches a COMMA which separates individual parameters.
      */
     boolean parameterSeparator() {
-        return this.text(PARAMETER_SEPARATOR_PARSER)
-            .isPresent();
+        return this.character(PARAMETER_SEPARATOR_CHARACTER);
     }
 
     final static char PARAMETER_SEPARATOR_CHARACTER = ',';
 
     final static String PARAMETER_SEPARATOR = "" + PARAMETER_SEPARATOR_CHARACTER;
 
-    private final static Parser<ParserContext> PARAMETER_SEPARATOR_PARSER = Parsers.string(
-        PARAMETER_SEPARATOR,
-        CaseSensitivity.SENSITIVE
-    );
-
     /**
      * Matches a RIGHT PARENS which marks the end of a plugin parameters.
      */
     boolean parametersEnd() {
-        return this.text(PARAMETER_END_PARSER)
-            .isPresent();
+        return this.character(PARAMETER_END_CHARACTER);
     }
 
-    final static String PARAMETER_END = ")";
+    final static char PARAMETER_END_CHARACTER = ')';
 
-    private final static Parser<ParserContext> PARAMETER_END_PARSER = Parsers.string(
-        PARAMETER_END,
-        CaseSensitivity.SENSITIVE
-    );
+    final static String PARAMETER_END = "" + PARAMETER_END_CHARACTER;
 
     /**
-     * Tries to parse a number value.
+     * Returns the next character without consuming it, or NUL if the text is empty.
      */
-    Optional<Double> number() {
-        return this.token(
-            NUMBER_LITERAL,
-            t -> t.cast(DoubleParserToken.class).value()
-        );
+    char next() {
+        final TextCursor cursor = this.cursor;
+
+        return cursor.isEmpty() ?
+            NUL :
+            cursor.at();
     }
 
+    private final static char NUL = 0;
+
     /**
-     * Number literal parameters are double literals using DOT as the decimal separator.
+     * Consumes the given character if it is next returning true.
      */
-    private final static Parser<ParserContext> NUMBER_LITERAL = Parsers.doubleParser();
+    private boolean character(final char c) {
+        final TextCursor cursor = this.cursor;
+
+        final boolean match = cursor.isNotEmpty() && c == cursor.at();
+        if (match) {
+            this.advance();
+        }
+
+        return match;
+    }
 
     /**
-     * Tries to parse a string literal.
+     * Tries to parse a number value, returning true and setting {@link #numberValue} if a number was consumed. Number
+     * literal parameters are double literals using DOT as the decimal separator, with an optional leading sign and
+     * exponent, which may be a lower or upper case E.
+     * <pre>
+     * 1
+     * -1.25
+     * 1.5E-3
+     * 2e10
+     * </pre>
      */
-    Optional<String> doubleQuotedString() {
-        return this.token(
-            DOUBLE_QUOTED_STRING_LITERAL,
-            t -> t.cast(DoubleQuotedParserToken.class).value()
-        );
+    boolean number() {
+        final TextCursor cursor = this.cursor;
+        if (cursor.isEmpty()) {
+            return false;
+        }
+
+        final char first = cursor.at();
+        final boolean digit = isDigit(first);
+        if (false == (digit || NEGATIVE_SIGN == first || POSITIVE_SIGN == first || DECIMAL_SEPARATOR == first)) {
+            return false;
+        }
+
+        // a leading sign or decimal separator may not be followed by any digits, requiring the cursor be restored.
+        final int start = this.offset;
+        final TextCursorSavePoint save = digit ?
+            null :
+            cursor.save();
+
+        final StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+
+        final boolean negative = NEGATIVE_SIGN == first;
+        if (negative || POSITIVE_SIGN == first) {
+            buffer.append(first);
+            this.advance();
+        }
+
+        final int integerDigits = this.digits();
+        int fractionDigits = 0;
+        boolean simple = true;
+
+        if (cursor.isNotEmpty() && DECIMAL_SEPARATOR == cursor.at()) {
+            buffer.append(DECIMAL_SEPARATOR);
+            this.advance();
+            fractionDigits = this.digits();
+            simple = false;
+        }
+
+        if (0 == integerDigits + fractionDigits) {
+            this.restore(
+                save,
+                start
+            );
+            return false;
+        }
+
+        if (cursor.isNotEmpty() && isExponent(cursor.at()) && this.exponent()) {
+            simple = false;
+        }
+
+        final double value;
+
+        if (simple && integerDigits <= MAX_SIMPLE_DIGITS) {
+            // whole numbers with few digits are exact within a long, avoiding the creation of a String to parse.
+            long integer = 0;
+
+            final int length = buffer.length();
+            for (int i = length - integerDigits; i < length; i++) {
+                integer = integer * 10 + (buffer.charAt(i) - '0');
+            }
+
+            value = negative ?
+                -(double) integer :
+                integer;
+        } else {
+            value = Double.parseDouble(
+                buffer.toString()
+            );
+        }
+
+        this.numberValue = value;
+        return true;
     }
 
     /**
-     * String literal parameters must be double-quoted and support backslash escaping.
+     * The value of the last number consumed by {@link #number()}, held as a primitive so a number may be skipped
+     * without creating any objects.
      */
-    private final static Parser<ParserContext> DOUBLE_QUOTED_STRING_LITERAL = Parsers.doubleQuoted();
+    double numberValue;
 
     /**
-     * Tries to parse a url.
+     * Consumes an exponent after the mantissa of a number, the exponent is only consumed if it is followed by digits.
      */
-    Optional<AbsoluteUrl> url() {
-        Optional<AbsoluteUrl> url;
+    private boolean exponent() {
+        final TextCursor cursor = this.cursor;
+        final StringBuilder buffer = this.buffer;
+
+        final TextCursorSavePoint save = cursor.save();
+        final int start = this.offset;
+        final int length = buffer.length();
+
+        buffer.append(cursor.at());
+        this.advance();
+
+        if (cursor.isNotEmpty()) {
+            final char sign = cursor.at();
+            if (NEGATIVE_SIGN == sign || POSITIVE_SIGN == sign) {
+                buffer.append(sign);
+                this.advance();
+            }
+        }
 
-        final TextCursorSavePoint save = this.cursor.save();
-        try {
-            url = this.token(
-                NON_SPACE_TOKEN,
-                t -> Url.parseAbsolute(t.text())
+        final boolean exponent = this.digits() > 0;
+        if (false == exponent) {
+            this.restore(
+                save,
+                start
             );
-        } catch (final RuntimeException badUrl) {
-            save.restore();
-            url = Optional.empty();
+            buffer.setLength(length);
         }
-        return url;
+
+        return exponent;
     }
 
     /**
-     * Parsers a token being terminated by whitespace
+     * Consumes and appends any digits to the buffer, returning the number of digits.
      */
-    private final static Parser<ParserContext> NON_SPACE_TOKEN = Parsers.charPredicateString(
-        CharPredicates.whitespace().negate(),
-        1,
-        Integer.MAX_VALUE
-    );
+    private int digits() {
+        final TextCursor cursor = this.cursor;
+        final StringBuilder buffer = this.buffer;
+
+        int count = 0;
+
+        while (cursor.isNotEmpty()) {
+            final char c = cursor.at();
+            if (false == isDigit(c)) {
+                break;
+            }
+            buffer.append(c);
+            this.advance();
+            count++;
+        }
+
+        return count;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private final static char NEGATIVE_SIGN = '-';
+
+    private final static char POSITIVE_SIGN = '+';
+
+    private final static char DECIMAL_SEPARATOR = '.';
 
     /**
-     * Tries to parse an environmental variable returning its actual value from the {@link ProviderContext}.
+     * Both cases are accepted matching {@link walkingkooka.text.cursor.parser.Parsers#doubleParser()}.
      */
-    Optional<Object> environmentValue(final ProviderContext context) {
-        return this.token(
-            ENVIRONMENT_VALUE_NAME,
-            (ParserToken token) -> {
-                try {
-                    final EnvironmentValueName<?> environmentValueName = EnvironmentValueName.with(
-                        token.text()
-                            .substring(1), // skip leading DOLLAR-SIGN
-                        Object.class // no way of guessing actual value type
+    private static boolean isExponent(final char c) {
+        return 'E' == c || 'e' == c;
+    }
+
+    /**
+     * Whole numbers with up to this many digits are converted to a double without any loss of precision.
+     */
+    private final static int MAX_SIMPLE_DIGITS = 15;
+
+    /**
+     * Tries to parse a string literal. String literal parameters must be double-quoted and support backslash escaping.
+     * A missing closing double quote or invalid escape sequence is recorded in {@link #error} and empty returned.
+     */
+    Optional<String> doubleQuotedString() {
+        final TextCursor cursor = this.cursor;
+        if (cursor.isEmpty() || DOUBLE_QUOTE != cursor.at()) {
+            return Optional.empty();
+        }
+        this.advance();
+
+        final StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+
+        for (; ; ) {
+            if (cursor.isEmpty()) {
+                return this.missingClosingDoubleQuote();
+            }
+
+            char c = cursor.at();
+            this.advance();
+
+            if (DOUBLE_QUOTE == c) {
+                break;
+            }
+
+            if (BACKSLASH == c) {
+                if (cursor.isEmpty()) {
+                    return this.missingClosingDoubleQuote();
+                }
+                final int escaped = this.escaped();
+                if (-1 == escaped) {
+                    return Optional.empty();
+                }
+                c = (char) escaped;
+            }
+
+            buffer.append(c);
+        }
+
+        return Optional.of(
+            buffer.toString()
+        );
+    }
+
+    /**
+     * Consumes the character after a backslash returning the actual character, or -1 if the escape sequence was
+     * invalid, with the error recorded. Only the escapes accepted by {@link walkingkooka.text.cursor.parser.Parsers#doubleQuoted()}
+     * are supported, any other character after the backslash is an invalid character.
+     */
+    private int escaped() {
+        final TextCursor cursor = this.cursor;
+
+        final char c = cursor.at();
+        final int position = this.offset;
+        this.advance();
+
+        final int escaped;
+
+        switch (c) {
+            case '0':
+                escaped = '\0';
+                break;
+            case 'b':
+                escaped = '\b';
+                break;
+            case 'f':
+                escaped = '\f';
+                break;
+            case 'n':
+                escaped = '\n';
+                break;
+            case 'r':
+                escaped = '\r';
+                break;
+            case 't':
+                escaped = '\t';
+                break;
+            case 'u': {
+                int unicode = 0;
+                for (int i = 0; i < 4; i++) {
+                    if (cursor.isEmpty()) {
+                        this.missingClosingDoubleQuote();
+                        return -1;
+                    }
+                    final int hex = Character.digit(
+                        cursor.at(),
+                        16
                     );
-                    return context.environmentValueOrFail(environmentValueName);
-                } catch (final EmptyTextException cause) {
-                    throw new EmptyTextException(EnvironmentValueName.class.getSimpleName());
+                    if (-1 == hex) {
+                        this.error = PluginSelectorParseError.message(
+                            "Invalid unicode escape sequence",
+                            this.offset(),
+                            PluginSelectorParseError.EXPECTED_HEX_DIGIT
+                        );
+                        return -1;
+                    }
+                    unicode = unicode * 16 + hex;
+                    this.advance();
                 }
+                escaped = unicode;
+                break;
             }
+            case BACKSLASH:
+            case DOUBLE_QUOTE:
+            case SINGLE_QUOTE:
+                escaped = c;
+                break;
+            default:
+                this.error = PluginSelectorParseError.invalidCharacter(
+                    this.text,
+                    position,
+                    PluginSelectorParseError.EXPECTED_ESCAPE
+                );
+                escaped = -1;
+                break;
+        }
+
+        return escaped;
+    }
+
+    private Optional<String> missingClosingDoubleQuote() {
+        this.error = PluginSelectorParseError.message(
+            "Missing closing '" + DOUBLE_QUOTE + "'",
+            this.offset(),
+            PluginSelectorParseError.EXPECTED_DOUBLE_QUOTE
         );
+        return Optional.empty();
     }
 
-    final static String ENVIRONMENT_VALUE_NAME_PREFIX = "$";
+    final static char DOUBLE_QUOTE = '"';
+
+    private final static char BACKSLASH = '\\';
+
+    private final static char SINGLE_QUOTE = '\'';
 
     /**
-     * Parses a DOLLAR-SIGN then {@link EnvironmentValueName}
+     * A buffer reused to accumulate the characters of the current token.
      */
-    private final static Parser<ParserContext> ENVIRONMENT_VALUE_NAME = Parsers.string(ENVIRONMENT_VALUE_NAME_PREFIX, CaseSensitivity.SENSITIVE)
-        .required()
-        .and(
-            Parsers.initialAndPartCharPredicateString(
-                EnvironmentValueName.INITIAL,
-                EnvironmentValueName.PART,
-                1,
-                EnvironmentValueName.MAX_LENGTH
-            ).optional()
-        );
+    private final StringBuilder buffer = new StringBuilder();
 
     /**
-     * Supports parsing of {@link StoragePath} literals within a {@link PluginSelector}.
+     * Tries to parse an absolute url, which is terminated by whitespace or the end of the text.
+     * <br>
+     * The scheme and following <code>://</code> are verified one character at a time, so text that is clearly not a url
+     * such as a COMMA or the next alias is rejected without any exception being thrown. Once the scheme and separator
+     * have been matched the token must be a valid {@link AbsoluteUrl}, any {@link InvalidCharacterException} thrown by
+     * {@link Url#parseAbsolute(String)} is reported with its position within the entire text.
      */
-    Optional<StoragePath> storagePath(final ProviderContext context) {
-        return this.token(
-            STORAGE_PATH,
-            (ParserToken parserToken) -> context.parseStoragePath(parserToken.text())
-        );
+    Optional<AbsoluteUrl> url() {
+        final TextCursor cursor = this.cursor;
+
+        if (cursor.isEmpty() || false == isUrlSchemeStart(cursor.at())) {
+            return Optional.empty();
+        }
+
+        final int start = this.offset;
+        final TextCursorSavePoint save = cursor.save();
+
+        final StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+
+        // scheme
+        do {
+            buffer.append(cursor.at());
+            this.advance();
+        } while (cursor.isNotEmpty() && isUrlSchemePart(cursor.at()));
+
+        Optional<AbsoluteUrl> url = Optional.empty();
+
+        if (this.urlSchemeSeparator()) {
+            buffer.append(URL_SCHEME_SEPARATOR);
+            final int schemeLength = buffer.length();
+
+            // everything until whitespace
+            while (cursor.isNotEmpty()) {
+                final char c = cursor.at();
+                if (WHITESPACE.test(c)) {
+                    break;
+                }
+                buffer.append(c);
+                this.advance();
+            }
+
+            if (buffer.length() > schemeLength) {
+                try {
+                    url = Optional.of(
+                        Url.parseAbsolute(
+                            buffer.toString()
+                        )
+                    );
+                } catch (final InvalidCharacterException cause) {
+                    throw cause.setTextAndPosition(
+                        this.text,
+                        start + cause.position()
+                    );
+                }
+            }
+        }
+
+        if (false == url.isPresent()) {
+            this.restore(
+                save,
+                start
+            );
+        }
+        return url;
     }
 
-    static {
-        final CharPredicate separator = CharPredicates.is(
-            StoragePath.SEPARATOR.character()
-        );
+    /**
+     * Consumes the <code>://</code> that must follow the scheme of an absolute url.
+     */
+    private boolean urlSchemeSeparator() {
+        final TextCursor cursor = this.cursor;
+        final String separator = URL_SCHEME_SEPARATOR;
+        final int length = separator.length();
+
+        for (int i = 0; i < length; i++) {
+            if (cursor.isEmpty() || separator.charAt(i) != cursor.at()) {
+                return false;
+            }
+            this.advance();
+        }
 
-        STORAGE_PATH = Parsers.initialAndPartCharPredicateString(
-            separator,
-            separator.or(
-                CharPredicates.asciiPrintable()
-                    .andNot(
-                        CharPredicates.any(",)")
-                    )
-            ),
-            StoragePath.MIN_LENGTH,
-            StoragePath.MAX_LENGTH
+        return true;
+    }
+
+    private final static String URL_SCHEME_SEPARATOR = "://";
+
+    /**
+     * <pre>
+     * scheme      = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+     * </pre>
+     */
+    private static boolean isUrlSchemeStart(final char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isUrlSchemePart(final char c) {
+        return isUrlSchemeStart(c) ||
+            (c >= '0' && c <= '9') ||
+            '+' == c ||
+            '-' == c ||
+            '.' == c;
+    }
+
+    /**
+     * Tries to parse an environmental variable returning its actual value from the {@link ProviderContext}.
+     */
+    Optional<Object> environmentValue(final ProviderContext context) {
+        return this.environmentValueName()
+            .map(
+                (EnvironmentValueName<?> name) -> context.environmentValueOrFail(name)
+            );
+    }
+
+    /**
+     * Tries to parse an environmental variable returning its {@link EnvironmentValueName}.
+     */
+    Optional<EnvironmentValueName<?>> environmentValueName() {
+        if (false == this.character(ENVIRONMENT_VALUE_NAME_PREFIX_CHARACTER)) {
+            return Optional.empty();
+        }
+
+        final TextCursor cursor = this.cursor;
+
+        final StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+
+        if (cursor.isNotEmpty() && EnvironmentValueName.INITIAL.test(cursor.at())) {
+            do {
+                buffer.append(cursor.at());
+                this.advance();
+            } while (buffer.length() < EnvironmentValueName.MAX_LENGTH && cursor.isNotEmpty() && EnvironmentValueName.PART.test(cursor.at()));
+        }
+
+        if (0 == buffer.length()) {
+            this.error = PluginSelectorParseError.emptyText(
+                EnvironmentValueName.class.getSimpleName(),
+                this.offset(),
+                PluginSelectorParseError.EXPECTED_ENVIRONMENT_VALUE_NAME
+            );
+            return Optional.empty();
+        }
+
+        return Optional.of(
+            EnvironmentValueName.with(
+                buffer.toString(),
+                Object.class // no way of guessing actual value type
+            )
         );
     }
 
+    final static char ENVIRONMENT_VALUE_NAME_PREFIX_CHARACTER = '$';
+
+    final static String ENVIRONMENT_VALUE_NAME_PREFIX = "" + ENVIRONMENT_VALUE_NAME_PREFIX_CHARACTER;
+
     /**
-     * Identifies any token beginning with '/' as a {@link StoragePath}
+     * Supports parsing of {@link StoragePath} literals within a {@link PluginSelector}, returning the text which should
+     * be given to {@link ProviderContext#parseStoragePath(String)}. Any token beginning with '/' is a {@link StoragePath}.
      */
-    private final static Parser<ParserContext> STORAGE_PATH;
+    Optional<String> storagePath() {
+        final TextCursor cursor = this.cursor;
+
+        final char separator = StoragePath.SEPARATOR.character();
+        if (cursor.isEmpty() || separator != cursor.at()) {
+            return Optional.empty();
+        }
+
+        final int start = this.offset;
+        final TextCursorSavePoint save = StoragePath.MIN_LENGTH > 1 ?
+            cursor.save() :
+            null;
 
-    private Optional<String> text(final Parser<ParserContext> parser) {
-        return this.token(
-            parser,
-            ParserToken::text
+        final StringBuilder buffer = this.buffer;
+        buffer.setLength(0);
+
+        buffer.append(separator);
+        this.advance();
+
+        while (buffer.length() < StoragePath.MAX_LENGTH && cursor.isNotEmpty()) {
+            final char c = cursor.at();
+            if (false == STORAGE_PATH_PART.test(c)) {
+                break;
+            }
+            buffer.append(c);
+            this.advance();
+        }
+
+        if (buffer.length() < StoragePath.MIN_LENGTH) {
+            this.restore(
+                save,
+                start
+            );
+            return Optional.empty();
+        }
+
+        return Optional.of(
+            buffer.toString()
         );
     }
 
-    private <T> Optional<T> token(final Parser<ParserContext> parser,
-                                  final Function<ParserToken, T> mapper) {
-        return parser.parse(
-            this.cursor,
-            PARSER_CONTEXT
-        ).map(mapper);
+    static {
+        STORAGE_PATH_PART = CharPredicates.is(
+            StoragePath.SEPARATOR.character()
+        ).or(
+            CharPredicates.asciiPrintable()
+                .andNot(
+                    CharPredicates.any(
+                        PARAMETER_SEPARATOR + PARAMETER_END
+                    )
+                )
+        );
     }
 
+    /**
+     * Matches characters after the leading slash of a {@link StoragePath}.
+     */
+    private final static CharPredicate STORAGE_PATH_PART;
+
     /**
      * Singleton which can be reused.
      */
@@ -290,6 +703,71 @@ final class PluginExpressionParser<N extends Name & Comparable<N>> implements Ca
         DecimalNumberContexts.american(MathContext.UNLIMITED) // only the decimal char is actually required.
     );
 
+    /**
+     * The offset of the cursor within the text.
+     */
+    int offset() {
+        return this.offset;
+    }
+
+    /**
+     * The offset of the cursor within the text, updated as each character is consumed, so it is available without
+     * creating a {@link walkingkooka.text.LineInfo}.
+     */
+    private int offset;
+
+    /**
+     * Consumes the current character keeping the {@link #offset} in step with the cursor.
+     */
+    private void advance() {
+        this.cursor.next();
+        this.offset++;
+    }
+
+    /**
+     * Restores the cursor and the offset that was current when the {@link TextCursorSavePoint} was created.
+     */
+    void restore(final TextCursorSavePoint save,
+                 final int offset) {
+        save.restore();
+        this.offset = offset;
+    }
+
+    /**
+     * Advances the cursor by the given number of characters, used to begin parsing a single parameter within a larger
+     * text.
+     */
+    void skip(final int count) {
+        final TextCursor cursor = this.cursor;
+
+        for (int i = 0; i < count && cursor.isNotEmpty(); i++) {
+            this.advance();
+        }
+    }
+
+    /**
+     * The first error found while parsing, errors are recorded rather than thrown, allowing text to be validated without
+     * any exceptions.
+     */
+    PluginSelectorParseError error;
+
+    /**
+     * The depth and parameter count budgets checked as each plugin and parameter is parsed, so hostile deeply nested
+     * text fails long before the recursive descent could overflow the stack.
+     */
+    PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT;
+
+    /**
+     * Plugins nested deeper than this are recorded as an {@link #error} rather than parsed, unlike the depth budget
+     * of {@link #options} which throws.
+     */
+    int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * The number of parameters parsed so far, including those of nested plugins.
+     */
+    int parameterCount;
+
     /**
      * Helper that reports an invalid character.
      */
@@ -303,6 +781,11 @@ final class PluginExpressionParser<N extends Name & Comparable<N>> implements Ca
         return this.cursor.isEmpty();
     }
 
+    /**
+     * The entire text, used to report the position of an invalid character within a token such as a url.
+     */
+    private final String text;
+
     final TextCursor cursor;
 
     @Override
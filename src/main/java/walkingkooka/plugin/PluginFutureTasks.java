@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import javaemul.internal.annotations.GwtIncompatible;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Helpers shared by the concurrent evaluators, loaders and parsers, that fork work to an {@link Executor}, join it
+ * again, running any task the {@link Executor} has not yet started on the waiting thread, and cancel any outstanding
+ * tasks after a failure.
+ * <br>
+ * This class is not available in javascript because it uses threads.
+ */
+@GwtIncompatible
+final class PluginFutureTasks {
+
+    /**
+     * Submits the work to the {@link Executor}, a rejected task will be run later by the joining thread.
+     */
+    static <T> FutureTask<T> fork(final Callable<T> work,
+                                  final Executor executor) {
+        final FutureTask<T> task = new FutureTask<>(work);
+
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException ignore) {
+            // task will be run by the joining thread
+        }
+
+        return task;
+    }
+
+    /**
+     * Runs the task if the {@link Executor} has not already started it, and waits for its result. Any
+     * {@link RuntimeException} or {@link Error} thrown by the task is rethrown unwrapped.
+     */
+    static <T> T join(final FutureTask<T> task,
+                      final String interrupted) {
+        task.run(); // does nothing if the executor has already started the task
+
+        try {
+            return task.get();
+        } catch (final ExecutionException cause) {
+            final Throwable wrapped = cause.getCause();
+            if (wrapped instanceof RuntimeException) {
+                throw (RuntimeException) wrapped;
+            }
+            if (wrapped instanceof Error) {
+                throw (Error) wrapped;
+            }
+            throw new IllegalStateException(wrapped.getMessage(), wrapped);
+        } catch (final InterruptedException cause) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException(interrupted, cause);
+        }
+    }
+
+    /**
+     * Cancels all the given tasks that are not null and have not yet started.
+     */
+    static void cancel(final FutureTask<?>[] tasks) {
+        for (final FutureTask<?> task : tasks) {
+            if (null != task) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private PluginFutureTasks() {
+        throw new UnsupportedOperationException();
+    }
+}
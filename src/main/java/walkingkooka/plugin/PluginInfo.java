@@ -25,6 +25,7 @@ import walkingkooka.net.AbsoluteUrl;
 import walkingkooka.net.HasAbsoluteUrl;
 import walkingkooka.net.http.server.hateos.HateosResource;
 
+import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -150,16 +151,41 @@ public final class PluginInfo<N extends Name & Comparable<N>> implements HasName
         return compare;
     }
 
+    // writeTo..........................................................................................................
+
+    /**
+     * Writes the same text as {@link #toString()}, the url, a space and then the name, directly to the given
+     * {@link Appendable}.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        output.append(this.url.toString());
+        output.append(' ');
+        output.append(this.name.toString());
+    }
+
     // Object...........................................................................................................
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-            this.url,
-            this.name
-        );
+        int hashCode = this.hashCode;
+        if (0 == hashCode) {
+            hashCode = Objects.hash(
+                this.url,
+                this.name
+            );
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
+    /**
+     * Cached hash code, with zero meaning not yet computed. Hashing the {@link AbsoluteUrl} means hashing its entire
+     * text, and infos are repeatedly hashed when info sets are merged or compared.
+     */
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -168,7 +194,9 @@ public final class PluginInfo<N extends Name & Comparable<N>> implements HasName
     }
 
     private boolean equals0(final PluginInfo<?> other) {
-        return this.url.equals(other.url) &&
+        // the cached hash codes reject most unequal values without comparing any text
+        return this.hashCode() == other.hashCode() &&
+            this.url.equals(other.url) &&
             this.name.equals(other.name);
     }
 
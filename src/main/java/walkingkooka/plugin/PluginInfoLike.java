@@ -24,6 +24,7 @@ import walkingkooka.net.http.server.hateos.HateosResource;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 
+import java.io.IOException;
 import java.util.Optional;
 
 /**
@@ -42,6 +43,14 @@ public interface PluginInfoLike<I extends PluginInfoLike<I, N>, N extends Name &
 
     I setName(final N name);
 
+    /**
+     * Writes the same text as {@link Object#toString()} to the given {@link Appendable}. Implementations that wrap a
+     * {@link PluginInfo} should delegate to {@link PluginInfo#writeTo(Appendable)}.
+     */
+    default void writeTo(final Appendable output) throws IOException {
+        output.append(this.toString());
+    }
+
     // HateosResource...................................................................................................
 
     @Override
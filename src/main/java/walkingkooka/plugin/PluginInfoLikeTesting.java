@@ -31,6 +31,7 @@ import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.test.ParseStringTesting;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallerTesting;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
@@ -227,6 +228,19 @@ public interface PluginInfoLikeTesting<I extends PluginInfoLike<I, N>, N extends
         );
     }
 
+    @Test
+    default void testWriteTo() throws IOException {
+        final I info = this.createPluginInfoLike();
+
+        final StringBuilder b = new StringBuilder();
+        info.writeTo(b);
+
+        this.checkEquals(
+            info.toString(),
+            b.toString()
+        );
+    }
+
     @Test
     default void testParseToStringRoundtrip() {
         final I info = this.createPluginInfoLike();
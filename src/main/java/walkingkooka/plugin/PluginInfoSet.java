@@ -17,6 +17,7 @@
 
 package walkingkooka.plugin;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.collect.iterator.Iterators;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.ImmutableSetDefaults;
@@ -35,14 +36,18 @@ import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.io.IOException;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -62,6 +67,59 @@ public final class PluginInfoSet<N extends Name & Comparable<N>, I extends Plugi
         Objects.requireNonNull(text, "text");
         Objects.requireNonNull(infoParser, "infoParser");
 
+        return prepare(
+            parse0(
+                text,
+                infoParser
+            )
+        );
+    }
+
+    /**
+     * Parses the text into a {@link PluginInfoSet}, splitting large text into batches of infos which are parsed
+     * concurrently using the given {@link Executor}, before the usual validation of all infos. The result and any
+     * invalid character error including its position are the same as {@link #parse(String, Function)}. The text is parsed only once, any
+     * error is thrown directly rather than parsing the text again.
+     */
+    @GwtIncompatible
+    public static <N extends Name & Comparable<N>, I extends PluginInfoLike<I, N>> PluginInfoSet<N, I> parseConcurrently(final String text,
+                                                                                                                         final Function<String, I> infoParser,
+                                                                                                                         final Executor executor) {
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(infoParser, "infoParser");
+        Objects.requireNonNull(executor, "executor");
+
+        final Optional<List<SortedSet<I>>> batches = PluginSetConcurrentParser.parse(
+            text,
+            (batch) -> parse0(
+                batch,
+                infoParser
+            ),
+            executor
+        );
+
+        final PluginInfoSet<N, I> set;
+
+        if (batches.isPresent()) {
+            final SortedSet<I> infos = SortedSets.tree();
+
+            for (final SortedSet<I> batch : batches.get()) {
+                infos.addAll(batch);
+            }
+
+            set = prepare(infos);
+        } else {
+            set = parse(
+                text,
+                infoParser
+            );
+        }
+
+        return set;
+    }
+
+    private static <N extends Name & Comparable<N>, I extends PluginInfoLike<I, N>> SortedSet<I> parse0(final String text,
+                                                                                                        final Function<String, I> infoParser) {
         final SortedSet<I> infos = SortedSets.tree();
 
         final PluginInfoSetLikeParser<N, I> parser = PluginInfoSetLikeParser.with(
@@ -91,7 +149,7 @@ public final class PluginInfoSet<N extends Name & Comparable<N>, I extends Plugi
             }
         }
 
-        return prepare(infos);
+        return infos;
     }
 
     /**
@@ -282,6 +340,26 @@ public final class PluginInfoSet<N extends Name & Comparable<N>, I extends Plugi
 
     private final static String SEPARATOR_SPACE = SEPARATOR + " ";
 
+    /**
+     * Writes the same text as {@link #text()} directly to the given {@link Appendable}, one info at a time.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        final String text = this.text;
+        if (null != text) {
+            output.append(text);
+        } else {
+            String separator = "";
+
+            for (final I info : this.infos) {
+                output.append(separator);
+                info.writeTo(output);
+                separator = SEPARATOR_SPACE;
+            }
+        }
+    }
+
     // HasUrlFragment...................................................................................................
 
     /**
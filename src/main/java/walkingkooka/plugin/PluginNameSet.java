@@ -31,6 +31,7 @@ import walkingkooka.tree.json.marshall.JsonNodeContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.io.IOException;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Comparator;
@@ -214,6 +215,24 @@ public final class PluginNameSet extends AbstractSet<PluginName>
         );
     }
 
+    /**
+     * Writes the same text as {@link #text()} directly to the given {@link Appendable}, one name at a time.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        boolean first = true;
+
+        for (final PluginName name : this.names) {
+            if (false == first) {
+                output.append(SEPARATOR.character());
+            }
+            first = false;
+
+            output.append(name.value());
+        }
+    }
+
     // TreePrintable....................................................................................................
 
     @Override
@@ -17,27 +17,37 @@
 
 package walkingkooka.plugin;
 
+import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.InvalidCharacterException;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
 import walkingkooka.compare.Comparators;
 import walkingkooka.environment.EnvironmentValueName;
 import walkingkooka.naming.HasName;
 import walkingkooka.naming.Name;
 import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.HasText;
 import walkingkooka.text.cursor.TextCursor;
-import walkingkooka.text.cursor.TextCursorLineInfo;
 import walkingkooka.text.cursor.parser.ParserContext;
-import walkingkooka.text.cursor.parser.ParserException;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -174,6 +184,44 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
 
     private final String valueText;
 
+    /**
+     * Returns a {@link PluginSelector} with the given range of the {@link #valueText()} replaced by the given text.
+     * If this selector has already been parsed, only the innermost parameter containing the
+     * edited range is parsed again and all other parameters including nested plugins are shared with the previous
+     * expression. If the edit is not within a single parameter, or changes the parameter boundaries, the new selector
+     * is parsed in full when it is first evaluated.
+     */
+    public PluginSelector<N> replaceValueText(final int start,
+                                              final int end,
+                                              final String text,
+                                              final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        final String valueText = this.valueText;
+        if (start < 0 || start > end || end > valueText.length()) {
+            throw new IllegalArgumentException("Invalid range " + start + ".." + end + " not within 0.." + valueText.length());
+        }
+        Objects.requireNonNull(text, "text");
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+
+        final PluginSelector<N> selector = this.setValueText(
+            valueText.substring(0, start) +
+                text +
+                valueText.substring(end)
+        );
+
+        final PluginSelectorExpressionPlugin<N> expression = this.expression;
+        if (this != selector && null != expression) {
+            selector.expression = selector.reparse(
+                expression,
+                0,
+                start,
+                end,
+                text.length() - (end - start)
+            );
+        }
+
+        return selector;
+    }
+
     /**
      * Serializes the given values producing text. Only String, Double and PluginSelector values are supported.
      */
@@ -267,147 +315,450 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
      * collection ( number-to-boolean, number-number, string-to-local-date "yyyy-mm-dd")
      * </pre>
      * The <code>provider</code> will be used to fetch <code>plugin</code>> with any parameters.
+     * <br>
+     * The parsed expression is cached, and later evaluations will reuse the expression without parsing the text again.
+     * The name grammar is fixed for a selector, so the cache is not keyed by the <code>nameParserAndFactory</code>,
+     * which is often a new method reference for each call. All referenced environment values are fetched once from
+     * the {@link ProviderContext} before any plugins are created, and that snapshot is used for the entire evaluation.
      */
     public <T> T evaluateValueText(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
                                    final PluginSelectorEvaluateValueTextProvider<N, T> provider,
                                    final ProviderContext context) {
+        return this.evaluateValueText(
+            nameParserAndFactory,
+            provider,
+            context,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
+        );
+    }
+
+    /**
+     * Evaluates the {@link #valueText()} using the given {@link PluginSelectorEvaluateValueTextOptions}.
+     * When {@link PluginSelectorEvaluateValueTextOptions#isLazy()} nested plugins are only fetched from the
+     * <code>provider</code> when the parameter is first read from the parameter list.
+     * <br>
+     * The text length is checked before parsing, the depth and parameter count as each plugin and parameter is parsed,
+     * and the deadline before each plugin is created, with a {@link PluginSelectorEvaluateValueTextBudgetException}
+     * thrown when any budget is exceeded.
+     */
+    public <T> T evaluateValueText(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                   final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                   final ProviderContext context,
+                                   final PluginSelectorEvaluateValueTextOptions options) {
         Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
         Objects.requireNonNull(provider, "provider");
         Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(options, "options");
+
+        options.checkTextLength(this.valueText);
+
+        return this.expression(
+                nameParserAndFactory,
+                options
+            ).snapshotEnvironmentValues(context)
+            .evaluate(
+                provider,
+                context,
+                options
+            );
+    }
 
-        final String nameText = this.name()
-            .value();
-        final PluginExpressionParser<N> nameParser = PluginExpressionParser.with(
-            nameText,
-            nameParserAndFactory
+    /**
+     * Evaluates the {@link #valueText()} creating sibling nested plugins concurrently using the given {@link Executor},
+     * with the parameter values given to each plugin in their original order. Sibling plugins are only created
+     * concurrently when {@link PluginSelectorEvaluateValueTextProvider#isThreadSafe()} returns true, otherwise this is
+     * the same as {@link #evaluateValueText(BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext)}.
+     * Note the {@link ProviderContext} will also be used by several threads.
+     * <br>
+     * No budgets are enforced, use {@link #evaluateValueTextConcurrently(BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext, PluginSelectorEvaluateValueTextOptions, Executor)}
+     * when the text may not be trusted.
+     */
+    @GwtIncompatible
+    public <T> T evaluateValueTextConcurrently(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                               final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                               final ProviderContext context,
+                                               final Executor executor) {
+        return this.evaluateValueTextConcurrently(
+            nameParserAndFactory,
+            provider,
+            context,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT,
+            executor
         );
+    }
 
-        final Optional<N> name = nameParser.name();
-        if (false == name.isPresent() || nameParser.isNotEmpty()) {
-            throw new IllegalArgumentException(
-                "Unable to parse name in " +
-                    CharSequences.quoteAndEscape(nameText)
+    /**
+     * Evaluates the {@link #valueText()} creating sibling nested plugins concurrently, enforcing the budgets of the
+     * given {@link PluginSelectorEvaluateValueTextOptions} in the same way as
+     * {@link #evaluateValueText(BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext, PluginSelectorEvaluateValueTextOptions)}.
+     * {@link PluginSelectorEvaluateValueTextOptions#isLazy()} is ignored when nested plugins are created concurrently,
+     * because they are all created before the outer plugin.
+     */
+    @GwtIncompatible
+    public <T> T evaluateValueTextConcurrently(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                               final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                               final ProviderContext context,
+                                               final PluginSelectorEvaluateValueTextOptions options,
+                                               final Executor executor) {
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+        Objects.requireNonNull(provider, "provider");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(options, "options");
+        Objects.requireNonNull(executor, "executor");
+
+        options.checkTextLength(this.valueText);
+
+        final PluginSelectorExpressionPlugin<N> expression = this.expression(
+            nameParserAndFactory,
+            options
+        ).snapshotEnvironmentValues(context);
+
+        return provider.isThreadSafe() ?
+            PluginSelectorConcurrentEvaluator.with(
+                provider,
+                context,
+                options,
+                executor
+            ).evaluate(expression) :
+            expression.evaluate(
+                provider,
+                context,
+                options
+            );
+    }
+
+    /**
+     * Loads the {@link StorageValue} of every {@link StoragePath} parameter including those of nested plugins
+     * concurrently using the given {@link Executor}, returning the values of those that exist. The returned
+     * {@link Map} may be given to providers, for example captured by the {@link PluginSelectorEvaluateValueTextProvider},
+     * so they can read their storage values without any further I/O.
+     */
+    @GwtIncompatible
+    public Map<StoragePath, StorageValue> prefetchStorageValues(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                                final ProviderContext context,
+                                                                final Executor executor) {
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(executor, "executor");
+
+        final Set<String> storagePathTexts = new LinkedHashSet<>();
+        this.expression(nameParserAndFactory)
+            .storagePaths(storagePathTexts);
+
+        final Set<StoragePath> storagePaths = new LinkedHashSet<>();
+        for (final String storagePathText : storagePathTexts) {
+            storagePaths.add(
+                context.parseStoragePath(storagePathText)
             );
         }
 
-        final PluginExpressionParser<N> parser = PluginExpressionParser.with(
-            this.valueText(),
-            nameParserAndFactory
+        return PluginSelectorStoragePrefetcher.with(
+            context,
+            executor
+        ).prefetch(storagePaths);
+    }
+
+    /**
+     * Evaluates all the given {@link PluginSelector selectors} returning a {@link Map} with the plugin for each. Equal
+     * selectors and equal nested plugins with equal parameters are only fetched once from the <code>provider</code>,
+     * with the same plugin shared by all.
+     * <br>
+     * No budgets are enforced, use {@link #evaluateAll(Collection, BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext, PluginSelectorEvaluateValueTextOptions)}
+     * when the selectors may not be trusted.
+     */
+    public static <N extends Name & Comparable<N>, T> Map<PluginSelector<N>, T> evaluateAll(final Collection<PluginSelector<N>> selectors,
+                                                                                          final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                                                          final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                          final ProviderContext context) {
+        return evaluateAll(
+            selectors,
+            nameParserAndFactory,
+            provider,
+            context,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
         );
+    }
+
+    /**
+     * Evaluates all the given {@link PluginSelector selectors} sharing equal plugins, enforcing the budgets of the given
+     * {@link PluginSelectorEvaluateValueTextOptions} for each selector. {@link PluginSelectorEvaluateValueTextOptions#isLazy()}
+     * is ignored because shared plugins are always created before the plugins that use them.
+     */
+    public static <N extends Name & Comparable<N>, T> Map<PluginSelector<N>, T> evaluateAll(final Collection<PluginSelector<N>> selectors,
+                                                                                          final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                                                          final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                          final ProviderContext context,
+                                                                                          final PluginSelectorEvaluateValueTextOptions options) {
+        Objects.requireNonNull(selectors, "selectors");
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+        Objects.requireNonNull(provider, "provider");
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(options, "options");
 
-        final List<?> parameters = this.parseParameters(
-            parser,
+        final PluginSelectorBatchEvaluator<N, T> evaluator = PluginSelectorBatchEvaluator.with(
             provider,
-            context
+            context,
+            options
         );
 
-        parser.spaces();
+        final Map<PluginSelector<N>, T> selectorToPlugin = Maps.hash();
 
-        if (parser.isNotEmpty()) {
-            this.invalidCharacter(parser);
+        for (final PluginSelector<N> selector : selectors) {
+            if (false == selectorToPlugin.containsKey(selector)) {
+                options.checkTextLength(selector.valueText);
+
+                selectorToPlugin.put(
+                    selector,
+                    evaluator.evaluate(
+                        selector.expression(
+                            nameParserAndFactory,
+                            options
+                        ).snapshotEnvironmentValues(context)
+                    )
+                );
+            }
         }
 
-        return provider.get(
-            name.get(),
-            parameters,
-            context
+        return selectorToPlugin;
+    }
+
+    /**
+     * Returns the plugin names, environment value names and storage paths referenced by this selector including all
+     * nested plugins. The text is parsed, but nothing is evaluated and no provider is called. Storage paths are parsed
+     * by {@link ProviderContext#parseStoragePath(String)}, so they match those evaluated, cached and prefetched.
+     */
+    public PluginSelectorReferences<N> references(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                  final ProviderContext context) {
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+        Objects.requireNonNull(context, "context");
+
+        final PluginSelectorExpressionPlugin<N> expression = this.expression(nameParserAndFactory);
+
+        final SortedSet<N> pluginNames = SortedSets.tree();
+        expression.pluginNames(pluginNames);
+
+        final Set<String> storagePathTexts = new LinkedHashSet<>();
+        expression.storagePaths(storagePathTexts);
+
+        final Set<StoragePath> storagePaths = new LinkedHashSet<>();
+        for (final String storagePathText : storagePathTexts) {
+            storagePaths.add(
+                context.parseStoragePath(storagePathText)
+            );
+        }
+
+        return PluginSelectorReferences.with(
+            pluginNames,
+            expression.environmentValueNames(),
+            storagePaths
         );
     }
 
     /**
-     * Attempts to parse an optional plugin including its parameters which must be within parens.
+     * Returns the cached {@link PluginSelectorExpressionPlugin} if one is present, otherwise the name and
+     * {@link #valueText()} are parsed and the expression cached.
      */
-    private <T> Optional<T> parseNameAndParameters(final PluginExpressionParser<N> parser,
-                                                   final PluginSelectorEvaluateValueTextProvider<N, T> provider,
-                                                   final ProviderContext context) {
-        final Optional<N> name = parser.name();
+    PluginSelectorExpressionPlugin<N> expression(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        return this.expression(
+            nameParserAndFactory,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
+        );
+    }
 
-        final T plugin;
-        if (name.isPresent()) {
-            plugin = provider.get(
-                name.get(),
-                this.parseParameters(
-                    parser,
-                    provider,
-                    context
-                ),
-                context
+    /**
+     * Returns the cached expression after checking its depth and parameter count budgets, otherwise parses the text
+     * checking those budgets as each plugin and parameter is parsed.
+     */
+    private PluginSelectorExpressionPlugin<N> expression(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                         final PluginSelectorEvaluateValueTextOptions options) {
+        PluginSelectorExpressionPlugin<N> expression = this.expression;
+
+        if (null == expression) {
+            expression = this.parseExpression(
+                nameParserAndFactory,
+                options
             );
+            this.expression = expression;
         } else {
-            plugin = null;
+            options.checkExpression(expression);
         }
 
-        return Optional.ofNullable(plugin);
+        return expression;
     }
 
     /**
-     * Tries to parse a parameter list if an initial OPEN-PARENS is present.
+     * A cache of the expression parsed from the name and {@link #valueText()}. Note that the expression is immutable,
+     * so a race between threads may only result in the text being parsed more than once.
+     */
+    private PluginSelectorExpressionPlugin<N> expression;
+
+    private PluginSelectorExpressionPlugin<N> parseExpression(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                              final PluginSelectorEvaluateValueTextOptions options) {
+        final PluginExpressionParser<N> parser = PluginExpressionParser.with(
+            this.valueText(),
+            nameParserAndFactory
+        );
+        parser.options = options;
+
+        final PluginSelectorExpressionPlugin<N> expression = this.tryParseExpression(parser);
+        if (null == expression) {
+            throw parser.error.exception();
+        }
+
+        return expression;
+    }
+
+    /**
+     * The maximum nesting of plugins accepted by {@link #validate(BiFunction)}, which stops hostile deeply nested text
+     * overflowing the stack of the recursive descent parser.
+     */
+    public final static int VALIDATE_MAX_DEPTH = 256;
+
+    /**
+     * Validates the name and {@link #valueText()} returning a {@link PluginSelectorParseError} if either is invalid.
+     * Unlike {@link #evaluateValueText(BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext)} no
+     * exceptions are thrown or created when the text is invalid, making this suitable for validating text as it is typed.
+     * A valid expression is cached and will be used by later evaluations. Plugins nested deeper than
+     * {@link #VALIDATE_MAX_DEPTH} are reported as an error rather than parsed.
+     */
+    public Optional<PluginSelectorParseError> validate(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+
+        final PluginSelectorExpressionPlugin<N> expression = this.expression;
+        if (null != expression) {
+            return Optional.empty();
+        }
+
+        final PluginExpressionParser<N> parser = PluginExpressionParser.with(
+            this.valueText(),
+            nameParserAndFactory
+        );
+        parser.maxDepth = VALIDATE_MAX_DEPTH;
+
+        final PluginSelectorExpressionPlugin<N> parsed = this.tryParseExpression(parser);
+        if (null == parsed) {
+            return Optional.of(
+                parser.error
+            );
+        }
+
+        this.expression = parsed;
+        return Optional.empty();
+    }
+
+    /**
+     * Parses the name and {@link #valueText()} returning null if either is invalid, with the error recorded in
+     * {@link PluginExpressionParser#error}.
+     */
+    private PluginSelectorExpressionPlugin<N> tryParseExpression(final PluginExpressionParser<N> parser) {
+        final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory = parser.nameParser;
+
+        final String nameText = this.name()
+            .value();
+        final PluginExpressionParser<N> nameParser = PluginExpressionParser.with(
+            nameText,
+            nameParserAndFactory
+        );
+
+        final Optional<N> name = nameParser.name();
+        if (false == name.isPresent() || nameParser.isNotEmpty()) {
+            parser.error = PluginSelectorParseError.message(
+                "Unable to parse name in " +
+                    CharSequences.quoteAndEscape(nameText),
+                0,
+                PluginSelectorParseError.EXPECTED_NAME
+            );
+            return null;
+        }
+
+        parser.spaces();
+        final boolean parametersPresent = PluginExpressionParser.PARAMETER_BEGIN_CHARACTER == parser.next();
+
+        final PluginSelectorExpressionPlugin<N> expression = this.parsePlugin(
+            name.get(),
+            0,
+            1, // depth
+            parser
+        );
+        if (null == expression) {
+            return null;
+        }
+
+        parser.spaces();
+
+        if (parser.isNotEmpty()) {
+            this.invalidCharacter(
+                parser,
+                parametersPresent ?
+                    PluginSelectorParseError.EXPECTED_NONE :
+                    PluginSelectorParseError.EXPECTED_PARAMETERS_BEGIN
+            );
+            return null;
+        }
+
+        return expression;
+    }
+
+    /**
+     * Tries to parse a parameter list if an initial OPEN-PARENS is present, returning a plugin with the given name and
+     * parameters or null if the parameters are invalid. The start and end offsets of each parameter relative to the
+     * given plugin start are also recorded. The depth and parameter count budgets of
+     * {@link PluginExpressionParser#options} are checked before each plugin and parameter is parsed, while a depth
+     * greater than {@link PluginExpressionParser#maxDepth} is recorded as an error.
      * <pre>
      * ( 1.23, "string-literal", $environmental-variable, plugin-name )
      * </pre>
      */
-    private <T> List<Object> parseParameters(final PluginExpressionParser<N> parser,
-                                             final PluginSelectorEvaluateValueTextProvider<N, T> provider,
-                                             final ProviderContext context) {
+    private PluginSelectorExpressionPlugin<N> parsePlugin(final N name,
+                                                          final int start,
+                                                          final int depth,
+                                                          final PluginExpressionParser<N> parser) {
+        final int maxDepth = parser.maxDepth;
+        if (depth > maxDepth) {
+            parser.error = PluginSelectorParseError.message(
+                "Depth " + depth + " > " + maxDepth,
+                start,
+                PluginSelectorParseError.EXPECTED_NONE
+            );
+            this.moveTokenError(parser);
+            return null;
+        }
+
+        final PluginSelectorEvaluateValueTextOptions options = parser.options;
+        options.checkDepth(depth);
+
         parser.spaces();
 
-        final List<Object> parameters = Lists.array();
+        final List<PluginSelectorExpression<N>> parameters = Lists.array();
+        int[] offsets = NO_OFFSETS;
+        int offsetCount = 0;
 
         if (parser.parametersBegin()) {
             for (; ; ) {
                 parser.spaces();
 
-                {
-                    final Optional<?> environmentValue = parser.environmentValue(context);
-                    if (environmentValue.isPresent()) {
-                        parameters.add(environmentValue.get());
-                        continue;
-                    }
-                }
-
-                {
-                    final Optional<StoragePath> storagePath = parser.storagePath(context);
-                    if (storagePath.isPresent()) {
-                        parameters.add(
-                            storagePath.get()
+                final int parameterStart = parser.offset();
+                final PluginSelectorExpression<N> parameter = this.parseParameter(
+                    depth,
+                    parser
+                );
+                if (null != parameter) {
+                    options.checkParameterCount(++parser.parameterCount);
+                    parameters.add(parameter);
+
+                    if (offsets.length == offsetCount) {
+                        offsets = Arrays.copyOf(
+                            offsets,
+                            offsetCount * 2 + 2
                         );
-                        continue;
-                    }
-                }
-
-                // try parsing for a plugin with or without parameters
-                {
-                    final Optional<T> plugin = this.parseNameAndParameters(
-                        parser,
-                        provider,
-                        context
-                    );
-                    if (plugin.isPresent()) {
-                        parameters.add(plugin.get());
-                        continue;
-                    }
-                }
-
-                // try for a double literal
-                {
-                    final Optional<Double> number = parser.number();
-                    if (number.isPresent()) {
-                        parameters.add(number.get());
-                        continue;
                     }
+                    offsets[offsetCount++] = parameterStart - start;
+                    offsets[offsetCount++] = parser.offset() - start;
+                    continue;
                 }
 
-                // try for a string literal
-                {
-                    try {
-                        final Optional<String> string = parser.doubleQuotedString();
-                        if (string.isPresent()) {
-                            parameters.add(string.get());
-                            continue;
-                        }
-                    } catch (final ParserException cause) {
-                        throw new IllegalArgumentException(cause.getMessage(), cause);
-                    }
+                if (null != parser.error) {
+                    return null;
                 }
 
                 if (parser.parameterSeparator()) {
@@ -419,36 +770,278 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
                 }
 
                 // must be an invalid character complain!
-                this.invalidCharacter(parser);
+                this.invalidCharacter(
+                    parser,
+                    PluginSelectorParseError.EXPECTED_PARAMETER
+                );
+                return null;
             }
         }
 
-        return PluginSelectorParameterList.with(
+        return PluginSelectorExpressionPlugin.with(
+            name,
             parameters,
-            this.name
+            offsetCount == offsets.length ?
+                offsets :
+                Arrays.copyOf(
+                    offsets,
+                    offsetCount
+                ),
+            parser.nameParser
         );
     }
 
+    private final static int[] NO_OFFSETS = new int[0];
+
+    /**
+     * Finds the innermost parameter of the given plugin that contains the edited range, parsing only that parameter
+     * from this {@link #valueText()} and sharing all other parameters. Null is returned if the edit is not within a
+     * single parameter or the parameter text no longer parses to exactly the edited range.
+     */
+    private PluginSelectorExpressionPlugin<N> reparse(final PluginSelectorExpressionPlugin<N> plugin,
+                                                      final int pluginStart,
+                                                      final int start,
+                                                      final int end,
+                                                      final int delta) {
+        final int[] offsets = plugin.offsets;
+
+        if (null != offsets) {
+            final int count = offsets.length;
+
+            for (int i = 0; i < count; i += 2) {
+                final int parameterStart = pluginStart + offsets[i];
+                final int parameterEnd = pluginStart + offsets[i + 1];
+
+                if (start < parameterStart) {
+                    break; // edit begins in spaces or separators before this parameter
+                }
+                if (end <= parameterEnd) {
+                    final int index = i / 2;
+                    final PluginSelectorExpression<N> parameter = plugin.parameters.get(index);
+
+                    PluginSelectorExpression<N> replaced = parameter instanceof PluginSelectorExpressionPlugin ?
+                        this.reparse(
+                            (PluginSelectorExpressionPlugin<N>) parameter,
+                            parameterStart,
+                            start,
+                            end,
+                            delta
+                        ) :
+                        null;
+                    if (null == replaced) {
+                        replaced = this.reparseParameter(
+                            parameterStart,
+                            parameterEnd + delta,
+                            plugin.nameParserAndFactory
+                        );
+                    }
+                    if (null == replaced) {
+                        break;
+                    }
+
+                    final List<PluginSelectorExpression<N>> parameters = Lists.array();
+                    parameters.addAll(plugin.parameters);
+                    parameters.set(
+                        index,
+                        replaced
+                    );
+
+                    final int[] newOffsets = offsets.clone();
+                    newOffsets[i + 1] += delta;
+                    for (int j = i + 2; j < count; j++) {
+                        newOffsets[j] += delta;
+                    }
+
+                    return PluginSelectorExpressionPlugin.with(
+                        plugin.name,
+                        parameters,
+                        newOffsets,
+                        plugin.nameParserAndFactory
+                    );
+                }
+            }
+        }
+
+        return null;
+    }
+
     /**
-     * Helper that reports an invalid character.
+     * Parses a single parameter beginning at start, returning null if it is invalid or does not end exactly at end.
      */
-    private void invalidCharacter(final PluginExpressionParser<?> parser) {
-        final TextCursorLineInfo lineInfo = parser.cursor.lineInfo();
+    private PluginSelectorExpression<N> reparseParameter(final int start,
+                                                         final int end,
+                                                         final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        final PluginExpressionParser<N> parser = PluginExpressionParser.with(
+            this.valueText,
+            nameParserAndFactory
+        );
+        parser.skip(start);
+
+        final PluginSelectorExpression<N> parameter = this.parseParameter(
+            1, // budgets are not checked when reparsing, so the actual depth is not required
+            parser
+        );
+
+        return null != parameter && null == parser.error && end == parser.offset() ?
+            parameter :
+            null;
+    }
+
+    /**
+     * Uses the next character to select the only parameter that could possibly match, returning null if none match.
+     * <ul>
+     * <li>DOLLAR-SIGN environment value</li>
+     * <li>SLASH storage path</li>
+     * <li>DOUBLE-QUOTE string literal</li>
+     * <li>digits, signs or DOT number literal</li>
+     * <li>anything else a plugin name with optional parameters</li>
+     * </ul>
+     * Note names are assumed to never begin with any of the characters above, except numbers which are tried before
+     * names.
+     */
+    private PluginSelectorExpression<N> parseParameter(final int depth,
+                                                       final PluginExpressionParser<N> parser) {
+        final char next = parser.next();
+
+        PluginSelectorExpression<N> parameter = null;
+
+        switch (next) {
+            case PluginExpressionParser.PARAMETER_SEPARATOR_CHARACTER:
+            case PluginExpressionParser.PARAMETER_END_CHARACTER:
+                break;
+            case PluginExpressionParser.ENVIRONMENT_VALUE_NAME_PREFIX_CHARACTER: {
+                final Optional<EnvironmentValueName<?>> environmentValueName = parser.environmentValueName();
+                if (environmentValueName.isPresent()) {
+                    parameter = PluginSelectorExpressionEnvironmentValue.with(
+                        environmentValueName.get()
+                    );
+                } else {
+                    this.moveTokenError(parser);
+                }
+                break;
+            }
+            case PluginExpressionParser.DOUBLE_QUOTE: {
+                final Optional<String> string = parser.doubleQuotedString();
+                if (string.isPresent()) {
+                    parameter = PluginSelectorExpressionLiteral.with(
+                        string.get()
+                    );
+                } else {
+                    this.moveTokenError(parser);
+                }
+                break;
+            }
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+            case '+':
+            case '-':
+            case '.': {
+                parameter = this.parseNumber(parser);
+                if (null == parameter) {
+                    parameter = this.parseNameAndParameters(
+                        depth,
+                        parser
+                    );
+                }
+                break;
+            }
+            default:
+                if (StoragePath.SEPARATOR.character() == next) {
+                    final Optional<String> storagePath = parser.storagePath();
+                    if (storagePath.isPresent()) {
+                        parameter = PluginSelectorExpressionStoragePath.with(
+                            storagePath.get()
+                        );
+                    }
+                } else {
+                    parameter = this.parseNameAndParameters(
+                        depth,
+                        parser
+                    );
+                    if (null == parameter && null == parser.error) {
+                        parameter = this.parseNumber(parser);
+                    }
+                }
+                break;
+        }
+
+        return parameter;
+    }
+
+    /**
+     * Attempts to parse an optional plugin including its parameters which must be within parens, returning null if
+     * no name was present or its parameters were invalid.
+     */
+    private PluginSelectorExpression<N> parseNameAndParameters(final int depth,
+                                                               final PluginExpressionParser<N> parser) {
+        final int start = parser.offset();
+
+        final Optional<N> name = parser.name();
+        if (false == name.isPresent()) {
+            return null;
+        }
+
+        return this.parsePlugin(
+            name.get(),
+            start,
+            depth + 1,
+            parser
+        );
+    }
+
+    /**
+     * Attempts to parse a double literal returning null if none was present.
+     */
+    private PluginSelectorExpression<N> parseNumber(final PluginExpressionParser<N> parser) {
+        return parser.number() ?
+            PluginSelectorExpressionLiteral.with(
+                parser.numberValue
+            ) :
+            null;
+    }
+
+    /**
+     * Helper that records an invalid character.
+     */
+    private void invalidCharacter(final PluginExpressionParser<?> parser,
+                                  final SortedSet<String> expected) {
         final int pos = Math.max(
-            lineInfo.textOffset() - 1,
+            parser.offset() - 1,
             0
         );
 
-        throw new InvalidCharacterException(
-            lineInfo.text()
-                .toString(),
-            pos
-        ).setTextAndPosition(
+        parser.error = PluginSelectorParseError.invalidCharacter(
             this.toString(),
-            this.name().textLength() + pos
+            this.name().textLength() + pos,
+            expected
         );
     }
 
+    /**
+     * Moves an error recorded by the parser while reading a token within the {@link #valueText()}, so its position is
+     * within {@link #toString()}.
+     */
+    private void moveTokenError(final PluginExpressionParser<?> parser) {
+        final PluginSelectorParseError error = parser.error;
+
+        if (null != error) {
+            parser.error = error.setTextAndPosition(
+                this.toString(),
+                this.name().textLength() +
+                    (this.valueText.startsWith(PluginExpressionParser.PARAMETER_BEGIN) ? 0 : 1) +
+                    error.position()
+            );
+        }
+    }
+
     // Comparable.......................................................................................................
 
     /**
@@ -469,12 +1062,24 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
 
     @Override
     public int hashCode() {
-        return Objects.hash(
-            this.name,
-            this.valueText
-        );
+        int hashCode = this.hashCode;
+        if (0 == hashCode) {
+            hashCode = Objects.hash(
+                this.name,
+                this.valueText
+            );
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
+    /**
+     * Cached hash code, with zero meaning not yet computed. Selectors are the keys of the {@link Map} returned by
+     * {@link #evaluateAll(Collection, BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext)}, and hashing
+     * a selector means hashing all its value text, which includes every nested plugin.
+     */
+    private int hashCode;
+
     @Override
     public boolean equals(final Object other) {
         return this == other ||
@@ -482,7 +1087,9 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
     }
 
     private boolean equals0(final PluginSelector<?> other) {
-        return this.name.equals(other.name) &&
+        // the cached hash codes reject most unequal values without comparing any text
+        return this.hashCode() == other.hashCode() &&
+            this.name.equals(other.name) &&
             this.valueText.equals(other.valueText);
     }
 
@@ -509,6 +1116,24 @@ public final class PluginSelector<N extends Name & Comparable<N>> implements Has
         return this.toString();
     }
 
+    /**
+     * Writes the same text as {@link #text()} directly to the given {@link Appendable}, without building any
+     * intermediate {@link String}.
+     */
+    public void writeTo(final Appendable output) throws IOException {
+        Objects.requireNonNull(output, "output");
+
+        output.append(this.name.value());
+
+        final String valueText = this.valueText;
+        if (false == valueText.isEmpty()) {
+            if (false == valueText.startsWith("(")) {
+                output.append(' ');
+            }
+            output.append(valueText);
+        }
+    }
+
     // TreePrintable....................................................................................................
 
     @Override
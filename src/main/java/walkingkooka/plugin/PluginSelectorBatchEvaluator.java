@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.naming.Name;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates many {@link PluginSelectorExpressionPlugin} remembering each created plugin, so equal plugins with equal
+ * parameters, whether selectors or nested plugins, are only created once and then shared.
+ */
+final class PluginSelectorBatchEvaluator<N extends Name & Comparable<N>, T> {
+
+    static <N extends Name & Comparable<N>, T> PluginSelectorBatchEvaluator<N, T> with(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                      final ProviderContext context,
+                                                                                      final PluginSelectorEvaluateValueTextOptions options) {
+        return new PluginSelectorBatchEvaluator<>(
+            provider,
+            context,
+            options
+        );
+    }
+
+    private PluginSelectorBatchEvaluator(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                         final ProviderContext context,
+                                         final PluginSelectorEvaluateValueTextOptions options) {
+        this.provider = provider;
+        this.context = context;
+        this.options = options;
+    }
+
+    T evaluate(final PluginSelectorExpressionPlugin<N> plugin) {
+        final Map<PluginSelectorExpressionPlugin<N>, T> plugins = this.plugins;
+
+        // containsKey because a provider may return null
+        T value = plugins.get(plugin);
+        if (null == value && false == plugins.containsKey(plugin)) {
+            value = this.create(plugin);
+            plugins.put(
+                plugin,
+                value
+            );
+        }
+
+        return value;
+    }
+
+    private T create(final PluginSelectorExpressionPlugin<N> plugin) {
+        this.options.checkDeadline(plugin.name);
+
+        final List<Object> values = Lists.array();
+
+        for (final PluginSelectorExpression<N> parameter : plugin.parameters) {
+            values.add(
+                parameter instanceof PluginSelectorExpressionPlugin ?
+                    this.evaluate((PluginSelectorExpressionPlugin<N>) parameter) :
+                    parameter.evaluate(
+                        this.provider,
+                        this.context,
+                        this.options
+                    )
+            );
+        }
+
+        final N name = plugin.name;
+
+        return this.provider.get(
+            name,
+            PluginSelectorParameterList.with(
+                values,
+                name
+            ),
+            this.context
+        );
+    }
+
+    private final PluginSelectorEvaluateValueTextProvider<N, T> provider;
+
+    private final ProviderContext context;
+
+    private final PluginSelectorEvaluateValueTextOptions options;
+
+    /**
+     * All plugins created so far.
+     */
+    private final Map<PluginSelectorExpressionPlugin<N>, T> plugins = Maps.hash();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.provider + " " + this.plugins.keySet();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.naming.Name;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Evaluates a {@link PluginSelectorExpressionPlugin} creating sibling nested plugins concurrently using the given
+ * {@link Executor}, with the values assembled in their original order before the outer plugin is created.
+ * <br>
+ * The calling thread always creates the last nested plugin itself, and any nested plugin that the {@link Executor} has
+ * not yet started when its value is required is also run by the waiting thread. This means a bounded or busy
+ * {@link Executor} can never deadlock evaluation of deeply nested plugins.
+ * <br>
+ * This class is not available in javascript because it uses threads.
+ */
+final class PluginSelectorConcurrentEvaluator<N extends Name & Comparable<N>, T> {
+
+    static <N extends Name & Comparable<N>, T> PluginSelectorConcurrentEvaluator<N, T> with(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                           final ProviderContext context,
+                                                                                           final PluginSelectorEvaluateValueTextOptions options,
+                                                                                           final Executor executor) {
+        return new PluginSelectorConcurrentEvaluator<>(
+            provider,
+            context,
+            options,
+            executor
+        );
+    }
+
+    private PluginSelectorConcurrentEvaluator(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                              final ProviderContext context,
+                                              final PluginSelectorEvaluateValueTextOptions options,
+                                              final Executor executor) {
+        this.provider = provider;
+        this.context = context;
+        this.options = options;
+        this.executor = executor;
+    }
+
+    T evaluate(final PluginSelectorExpressionPlugin<N> plugin) {
+        this.options.checkDeadline(plugin.name);
+
+        final List<PluginSelectorExpression<N>> parameters = plugin.parameters;
+        final int count = parameters.size();
+
+        int last = -1;
+        for (int i = 0; i < count; i++) {
+            if (parameters.get(i) instanceof PluginSelectorExpressionPlugin) {
+                last = i;
+            }
+        }
+
+        final Object[] values = new Object[count];
+        final FutureTask<?>[] tasks = new FutureTask<?>[count];
+
+        try {
+            for (int i = 0; i < count; i++) {
+                final PluginSelectorExpression<N> parameter = parameters.get(i);
+
+                if (parameter instanceof PluginSelectorExpressionPlugin) {
+                    final PluginSelectorExpressionPlugin<N> nested = (PluginSelectorExpressionPlugin<N>) parameter;
+
+                    if (i == last) {
+                        values[i] = this.evaluate(nested);
+                    } else {
+                        tasks[i] = PluginFutureTasks.fork(
+                            () -> this.evaluate(nested),
+                            this.executor
+                        );
+                    }
+                } else {
+                    values[i] = parameter.evaluate(
+                        this.provider,
+                        this.context,
+                        this.options
+                    );
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                final FutureTask<?> task = tasks[i];
+                if (null != task) {
+                    values[i] = PluginFutureTasks.join(
+                        task,
+                        "Interrupted while creating nested plugin"
+                    );
+                }
+            }
+        } catch (final RuntimeException | Error cause) {
+            PluginFutureTasks.cancel(tasks);
+            throw cause;
+        }
+
+        final N name = plugin.name;
+
+        return this.provider.get(
+            name,
+            PluginSelectorParameterList.with(
+                Arrays.asList(values),
+                name
+            ),
+            this.context
+        );
+    }
+
+    private final PluginSelectorEvaluateValueTextProvider<N, T> provider;
+
+    private final ProviderContext context;
+
+    private final PluginSelectorEvaluateValueTextOptions options;
+
+    private final Executor executor;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.provider + " " + this.executor;
+    }
+}
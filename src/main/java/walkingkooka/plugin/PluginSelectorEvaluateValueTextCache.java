@@ -0,0 +1,418 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.ParserContext;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded least recently used cache of plugins created by evaluating {@link PluginSelector}. Entries are keyed by the
+ * {@link PluginSelector} and the current values of any environment values it references, so a change to a referenced
+ * environment value will always result in a new plugin being created.
+ * <br>
+ * Watchers should call {@link #invalidateEnvironmentValue(EnvironmentValueName)} and {@link #invalidateStoragePath(StoragePath)}
+ * when an environment value or storage changes, to remove entries that can no longer be used or may now be stale.
+ * <br>
+ * Reverse indexes from each plugin name, environment value name and storage path to the entries that reference it,
+ * allow each invalidate to remove only the affected entries, for example when a watcher of the
+ * {@link walkingkooka.plugin.store.PluginStore} sees a plugin archive providing that name saved or deleted.
+ * <br>
+ * All plugins in the cache are created by the same provider, and the {@link ProviderContext} given to each evaluation
+ * apart from its environment values is not part of the key.
+ */
+public final class PluginSelectorEvaluateValueTextCache<N extends Name & Comparable<N>, T> {
+
+    public static <N extends Name & Comparable<N>, T> PluginSelectorEvaluateValueTextCache<N, T> with(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                                                                     final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                                     final int capacity) {
+        Objects.requireNonNull(nameParserAndFactory, "nameParserAndFactory");
+        Objects.requireNonNull(provider, "provider");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + " <= 0");
+        }
+
+        return new PluginSelectorEvaluateValueTextCache<>(
+            nameParserAndFactory,
+            provider,
+            capacity
+        );
+    }
+
+    private PluginSelectorEvaluateValueTextCache(final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory,
+                                                 final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                 final int capacity) {
+        this.nameParserAndFactory = nameParserAndFactory;
+        this.provider = provider;
+        this.capacity = capacity;
+
+        this.entries = new LinkedHashMap<List<Object>, CacheEntry<N, T>>(
+            16,
+            0.75f,
+            true // access order
+        ) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, CacheEntry<N, T>> eldest) {
+                final boolean remove = this.size() > capacity;
+                if (remove) {
+                    PluginSelectorEvaluateValueTextCache.this.evictionCount++;
+                    PluginSelectorEvaluateValueTextCache.this.unindex(
+                        eldest.getKey(),
+                        eldest.getValue()
+                    );
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached plugin for the given {@link PluginSelector} and the current values of its referenced environment
+     * values, otherwise evaluates the {@link PluginSelector} and caches the new plugin.
+     */
+    public T evaluateValueText(final PluginSelector<N> selector,
+                               final ProviderContext context) {
+        Objects.requireNonNull(selector, "selector");
+        Objects.requireNonNull(context, "context");
+
+        final PluginSelectorExpressionPlugin<N> expression = selector.expression(this.nameParserAndFactory);
+
+        final List<Object> key = Lists.array();
+        key.add(selector);
+
+        final Map<EnvironmentValueName<?>, Object> environmentValues = Maps.hash();
+
+        for (final EnvironmentValueName<?> environmentValueName : expression.environmentValueNames()) {
+            final Optional<?> environmentValue = context.environmentValue(environmentValueName);
+            key.add(environmentValue);
+
+            if (environmentValue.isPresent()) {
+                environmentValues.put(
+                    environmentValueName,
+                    environmentValue.get()
+                );
+            }
+        }
+
+        final long generation;
+
+        synchronized (this) {
+            final CacheEntry<N, T> entry = this.entries.get(key);
+            if (null != entry) {
+                this.hitCount++;
+                return entry.value;
+            }
+            this.missCount++;
+            generation = this.generation;
+        }
+
+        // create the plugin outside the lock, two threads may create the same plugin with the last one cached.
+        // evaluate using the environment values in the key, missing values will fail when evaluated
+        final T value = expression.setEnvironmentValues(environmentValues)
+            .evaluate(
+                this.provider,
+                context,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT
+            );
+
+        final Set<String> storagePathTexts = new LinkedHashSet<>();
+        expression.storagePaths(storagePathTexts);
+
+        final Set<StoragePath> storagePaths = new LinkedHashSet<>();
+        for (final String storagePathText : storagePathTexts) {
+            storagePaths.add(
+                context.parseStoragePath(storagePathText)
+            );
+        }
+
+        final Set<N> pluginNames = Sets.hash();
+        expression.pluginNames(pluginNames);
+
+        final CacheEntry<N, T> entry = new CacheEntry<>(
+            value,
+            pluginNames,
+            expression.environmentValueNames(),
+            storagePaths
+        );
+
+        synchronized (this) {
+            // an invalidate or clear while the plugin was created means it may already be stale, so don't cache it
+            if (generation != this.generation) {
+                return value;
+            }
+
+            final CacheEntry<N, T> previous = this.entries.put(
+                key,
+                entry
+            );
+            if (null != previous) {
+                this.unindex(
+                    key,
+                    previous
+                );
+            }
+
+            index(
+                this.pluginNameToKeys,
+                entry.pluginNames,
+                key
+            );
+            index(
+                this.environmentValueNameToKeys,
+                entry.environmentValueNames,
+                key
+            );
+            index(
+                this.storagePathToKeys,
+                entry.storagePaths,
+                key
+            );
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes all entries whose selector or nested plugins reference the given plugin name, using the reverse index
+     * so only the affected entries are visited.
+     */
+    public synchronized void invalidatePluginName(final N name) {
+        Objects.requireNonNull(name, "name");
+
+        this.generation++;
+        this.invalidate(
+            this.pluginNameToKeys.remove(name)
+        );
+    }
+
+    /**
+     * Removes all entries that reference the given {@link EnvironmentValueName}, using the reverse index so only the
+     * affected entries are visited.
+     */
+    public synchronized void invalidateEnvironmentValue(final EnvironmentValueName<?> name) {
+        Objects.requireNonNull(name, "name");
+
+        this.generation++;
+        this.invalidate(
+            this.environmentValueNameToKeys.remove(name)
+        );
+    }
+
+    /**
+     * Removes all entries that reference the given {@link StoragePath}, using the reverse index so only the affected
+     * entries are visited.
+     */
+    public synchronized void invalidateStoragePath(final StoragePath path) {
+        Objects.requireNonNull(path, "path");
+
+        this.generation++;
+        this.invalidate(
+            this.storagePathToKeys.remove(path)
+        );
+    }
+
+    /**
+     * Removes the entries with the given keys, which have already been removed from one reverse index.
+     */
+    private void invalidate(final Set<List<Object>> keys) {
+        if (null != keys) {
+            for (final List<Object> key : keys) {
+                final CacheEntry<N, T> entry = this.entries.remove(key);
+                if (null != entry) {
+                    this.unindex(
+                        key,
+                        entry
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the key of a new entry to a reverse index for each of its references.
+     */
+    private static <R> void index(final Map<R, Set<List<Object>>> referenceToKeys,
+                                  final Set<R> references,
+                                  final List<Object> key) {
+        for (final R reference : references) {
+            Set<List<Object>> keys = referenceToKeys.get(reference);
+            if (null == keys) {
+                keys = Sets.hash();
+                referenceToKeys.put(
+                    reference,
+                    keys
+                );
+            }
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Removes the key of a removed entry from all reverse indexes.
+     */
+    private void unindex(final List<Object> key,
+                         final CacheEntry<N, T> entry) {
+        unindex(
+            this.pluginNameToKeys,
+            entry.pluginNames,
+            key
+        );
+        unindex(
+            this.environmentValueNameToKeys,
+            entry.environmentValueNames,
+            key
+        );
+        unindex(
+            this.storagePathToKeys,
+            entry.storagePaths,
+            key
+        );
+    }
+
+    private static <R> void unindex(final Map<R, Set<List<Object>>> referenceToKeys,
+                                    final Set<R> references,
+                                    final List<Object> key) {
+        for (final R reference : references) {
+            final Set<List<Object>> keys = referenceToKeys.get(reference);
+            if (null != keys) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    referenceToKeys.remove(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, the hit, miss and eviction counts are not reset.
+     */
+    public synchronized void clear() {
+        this.generation++;
+        this.entries.clear();
+        this.pluginNameToKeys.clear();
+        this.environmentValueNameToKeys.clear();
+        this.storagePathToKeys.clear();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    private final int capacity;
+
+    public synchronized long hitCount() {
+        return this.hitCount;
+    }
+
+    private long hitCount;
+
+    public synchronized long missCount() {
+        return this.missCount;
+    }
+
+    private long missCount;
+
+    /**
+     * The number of entries removed because the cache was full, entries removed by invalidate or clear are not counted.
+     */
+    public synchronized long evictionCount() {
+        return this.evictionCount;
+    }
+
+    private long evictionCount;
+
+    /**
+     * Incremented by every invalidate and {@link #clear()}, a plugin is only cached if this has not changed since its
+     * cache miss, otherwise a plugin created before an invalidate could be cached after it.
+     */
+    private long generation;
+
+    private final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory;
+
+    private final PluginSelectorEvaluateValueTextProvider<N, T> provider;
+
+    private final LinkedHashMap<List<Object>, CacheEntry<N, T>> entries;
+
+    /**
+     * A reverse index from each plugin name to the keys of the entries that reference it.
+     */
+    private final Map<N, Set<List<Object>>> pluginNameToKeys = Maps.hash();
+
+    /**
+     * A reverse index from each environment value name to the keys of the entries that reference it.
+     */
+    private final Map<EnvironmentValueName<?>, Set<List<Object>>> environmentValueNameToKeys = Maps.hash();
+
+    /**
+     * A reverse index from each storage path to the keys of the entries that reference it.
+     */
+    private final Map<StoragePath, Set<List<Object>>> storagePathToKeys = Maps.hash();
+
+    /**
+     * A cached plugin and the references used to invalidate it.
+     */
+    private static final class CacheEntry<N, T> {
+
+        CacheEntry(final T value,
+                   final Set<N> pluginNames,
+                   final Set<EnvironmentValueName<?>> environmentValueNames,
+                   final Set<StoragePath> storagePaths) {
+            this.value = value;
+            this.pluginNames = pluginNames;
+            this.environmentValueNames = environmentValueNames;
+            this.storagePaths = storagePaths;
+        }
+
+        final T value;
+
+        final Set<N> pluginNames;
+
+        final Set<EnvironmentValueName<?>> environmentValueNames;
+
+        final Set<StoragePath> storagePaths;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + this.entries.size() +
+            " capacity=" + this.capacity +
+            " hits=" + this.hitCount +
+            " misses=" + this.missCount +
+            " evictions=" + this.evictionCount;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.naming.Name;
+
+import java.util.Objects;
+
+/**
+ * Options that control how {@link PluginSelector#evaluateValueText(java.util.function.BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext, PluginSelectorEvaluateValueTextOptions)}
+ * evaluates the parameters of a selector, including budgets that limit the work performed for a single selector.
+ * A {@link PluginSelectorEvaluateValueTextBudgetException} is thrown when any budget is exceeded.
+ */
+public final class PluginSelectorEvaluateValueTextOptions {
+
+    /**
+     * Used by {@link #deadline()} when there is no deadline.
+     */
+    public final static long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The default options, where all parameters are evaluated eagerly before the outer plugin is created, without
+     * any budgets.
+     */
+    public final static PluginSelectorEvaluateValueTextOptions DEFAULT = new PluginSelectorEvaluateValueTextOptions(
+        false, // lazy
+        Integer.MAX_VALUE, // maxDepth
+        Integer.MAX_VALUE, // maxParameterCount
+        Integer.MAX_VALUE, // maxTextLength
+        NO_DEADLINE // deadline
+    );
+
+    private PluginSelectorEvaluateValueTextOptions(final boolean lazy,
+                                                   final int maxDepth,
+                                                   final int maxParameterCount,
+                                                   final int maxTextLength,
+                                                   final long deadline) {
+        this.lazy = lazy;
+        this.maxDepth = maxDepth;
+        this.maxParameterCount = maxParameterCount;
+        this.maxTextLength = maxTextLength;
+        this.deadline = deadline;
+    }
+
+    /**
+     * When true, nested plugin parameters are only created when the parameter is first fetched from the parameter list
+     * given to the {@link PluginSelectorEvaluateValueTextProvider}.
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public PluginSelectorEvaluateValueTextOptions setLazy(final boolean lazy) {
+        return this.lazy == lazy ?
+            this :
+            new PluginSelectorEvaluateValueTextOptions(
+                lazy,
+                this.maxDepth,
+                this.maxParameterCount,
+                this.maxTextLength,
+                this.deadline
+            );
+    }
+
+    private final boolean lazy;
+
+    /**
+     * The maximum nesting of plugins, where a plugin without any nested plugins has a depth of one.
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    public PluginSelectorEvaluateValueTextOptions setMaxDepth(final int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("Invalid maxDepth " + maxDepth + " <= 0");
+        }
+
+        return this.maxDepth == maxDepth ?
+            this :
+            new PluginSelectorEvaluateValueTextOptions(
+                this.lazy,
+                maxDepth,
+                this.maxParameterCount,
+                this.maxTextLength,
+                this.deadline
+            );
+    }
+
+    private final int maxDepth;
+
+    /**
+     * The maximum number of parameters, including the parameters of all nested plugins.
+     */
+    public int maxParameterCount() {
+        return this.maxParameterCount;
+    }
+
+    public PluginSelectorEvaluateValueTextOptions setMaxParameterCount(final int maxParameterCount) {
+        if (maxParameterCount < 0) {
+            throw new IllegalArgumentException("Invalid maxParameterCount " + maxParameterCount + " < 0");
+        }
+
+        return this.maxParameterCount == maxParameterCount ?
+            this :
+            new PluginSelectorEvaluateValueTextOptions(
+                this.lazy,
+                this.maxDepth,
+                maxParameterCount,
+                this.maxTextLength,
+                this.deadline
+            );
+    }
+
+    private final int maxParameterCount;
+
+    /**
+     * The maximum length of the {@link PluginSelector#valueText()}, which is checked before the text is parsed.
+     */
+    public int maxTextLength() {
+        return this.maxTextLength;
+    }
+
+    public PluginSelectorEvaluateValueTextOptions setMaxTextLength(final int maxTextLength) {
+        if (maxTextLength < 0) {
+            throw new IllegalArgumentException("Invalid maxTextLength " + maxTextLength + " < 0");
+        }
+
+        return this.maxTextLength == maxTextLength ?
+            this :
+            new PluginSelectorEvaluateValueTextOptions(
+                this.lazy,
+                this.maxDepth,
+                this.maxParameterCount,
+                maxTextLength,
+                this.deadline
+            );
+    }
+
+    private final int maxTextLength;
+
+    /**
+     * The time in milliseconds as returned by {@link System#currentTimeMillis()} after which no more plugins will be
+     * created, or {@link #NO_DEADLINE}.
+     */
+    public long deadline() {
+        return this.deadline;
+    }
+
+    public PluginSelectorEvaluateValueTextOptions setDeadline(final long deadline) {
+        return this.deadline == deadline ?
+            this :
+            new PluginSelectorEvaluateValueTextOptions(
+                this.lazy,
+                this.maxDepth,
+                this.maxParameterCount,
+                this.maxTextLength,
+                deadline
+            );
+    }
+
+    private final long deadline;
+
+    /**
+     * Fails if the {@link PluginSelector#valueText()} is longer than {@link #maxTextLength()}.
+     */
+    void checkTextLength(final String text) {
+        final int length = text.length();
+        final int maxTextLength = this.maxTextLength;
+
+        if (length > maxTextLength) {
+            throw new PluginSelectorEvaluateValueTextBudgetException("Text length " + length + " > " + maxTextLength);
+        }
+    }
+
+    /**
+     * Fails if the depth or parameter count of the given expression exceeds their budgets. This is used for expressions
+     * that were parsed earlier without these budgets.
+     */
+    void checkExpression(final PluginSelectorExpressionPlugin<?> expression) {
+        this.checkDepth(expression.depth);
+        this.checkParameterCount(expression.parameterCount);
+    }
+
+    /**
+     * Fails if the given depth exceeds {@link #maxDepth()}, this is checked as each nested plugin is parsed.
+     */
+    void checkDepth(final int depth) {
+        final int maxDepth = this.maxDepth;
+        if (depth > maxDepth) {
+            throw new PluginSelectorEvaluateValueTextBudgetException("Depth " + depth + " > " + maxDepth);
+        }
+    }
+
+    /**
+     * Fails if the given parameter count exceeds {@link #maxParameterCount()}, this is checked as each parameter is parsed.
+     */
+    void checkParameterCount(final int parameterCount) {
+        final int maxParameterCount = this.maxParameterCount;
+        if (parameterCount > maxParameterCount) {
+            throw new PluginSelectorEvaluateValueTextBudgetException("Parameter count " + parameterCount + " > " + maxParameterCount);
+        }
+    }
+
+    /**
+     * Fails if the {@link #deadline()} has passed, this is checked before each plugin is created.
+     */
+    void checkDeadline(final Name name) {
+        final long deadline = this.deadline;
+
+        if (NO_DEADLINE != deadline && System.currentTimeMillis() > deadline) {
+            throw new PluginSelectorEvaluateValueTextBudgetException("Deadline exceeded before creating " + name);
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.lazy,
+            this.maxDepth,
+            this.maxParameterCount,
+            this.maxTextLength,
+            this.deadline
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorEvaluateValueTextOptions && this.equals0((PluginSelectorEvaluateValueTextOptions) other);
+    }
+
+    private boolean equals0(final PluginSelectorEvaluateValueTextOptions other) {
+        return this.lazy == other.lazy &&
+            this.maxDepth == other.maxDepth &&
+            this.maxParameterCount == other.maxParameterCount &&
+            this.maxTextLength == other.maxTextLength &&
+            this.deadline == other.deadline;
+    }
+
+    /**
+     * Only budgets that have been set are included.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        b.append("lazy=")
+            .append(this.lazy);
+
+        if (Integer.MAX_VALUE != this.maxDepth) {
+            b.append(" maxDepth=")
+                .append(this.maxDepth);
+        }
+        if (Integer.MAX_VALUE != this.maxParameterCount) {
+            b.append(" maxParameterCount=")
+                .append(this.maxParameterCount);
+        }
+        if (Integer.MAX_VALUE != this.maxTextLength) {
+            b.append(" maxTextLength=")
+                .append(this.maxTextLength);
+        }
+        if (NO_DEADLINE != this.deadline) {
+            b.append(" deadline=")
+                .append(this.deadline);
+        }
+
+        return b.toString();
+    }
+}
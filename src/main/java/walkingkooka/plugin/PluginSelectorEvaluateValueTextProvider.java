@@ -29,4 +29,13 @@ public interface PluginSelectorEvaluateValueTextProvider<N extends Name, T> {
     T get(final N name,
           final List<?> values,
           final ProviderContext context);
+
+    /**
+     * Providers that may have {@link #get(Name, List, ProviderContext)} called by several threads at the same time
+     * should return true, allowing sibling nested plugins to be created concurrently. The default is false, and all
+     * plugins are created one after another by the calling thread.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A node within an immutable expression tree parsed from {@link PluginSelector#valueText()}, which may be evaluated
+ * many times without re-parsing the original text.
+ */
+abstract class PluginSelectorExpression<N extends Name & Comparable<N>> {
+
+    PluginSelectorExpression() {
+        super();
+    }
+
+    /**
+     * Evaluates this expression, with any nested plugins fetched from the given {@link PluginSelectorEvaluateValueTextProvider}.
+     */
+    abstract <T> Object evaluate(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                 final ProviderContext context,
+                                 final PluginSelectorEvaluateValueTextOptions options);
+
+    /**
+     * Adds the names of this and any nested plugins.
+     */
+    abstract void pluginNames(final Set<N> names);
+
+    /**
+     * Adds the names of any environment values referenced by this expression including nested plugins.
+     */
+    abstract void environmentValueNames(final Set<EnvironmentValueName<?>> names);
+
+    /**
+     * Returns an expression with any environment values present in the given {@link Map} replaced by literals,
+     * returning this if nothing was replaced.
+     */
+    abstract PluginSelectorExpression<N> setEnvironmentValues(final Map<EnvironmentValueName<?>, Object> values);
+
+    /**
+     * Adds the text of any storage paths referenced by this expression including nested plugins.
+     */
+    abstract void storagePaths(final Set<String> paths);
+
+    /**
+     * Expressions are equal when they have the same structure and values, allowing equal nested plugins to be shared.
+     */
+    @Override
+    public abstract int hashCode();
+
+    @Override
+    public abstract boolean equals(final Object other);
+
+    /**
+     * Returns the text form of this expression, which may be parsed again to produce an equivalent expression.
+     */
+    @Override
+    public abstract String toString();
+}
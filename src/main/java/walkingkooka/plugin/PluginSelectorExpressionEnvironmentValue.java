@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An environment value parameter, with the value fetched from the {@link ProviderContext} each time it is evaluated,
+ * unless a value was taken from a snapshot. The name is always kept, so {@link #toString()} prints the original text.
+ */
+final class PluginSelectorExpressionEnvironmentValue<N extends Name & Comparable<N>> extends PluginSelectorExpression<N> {
+
+    static <N extends Name & Comparable<N>> PluginSelectorExpressionEnvironmentValue<N> with(final EnvironmentValueName<?> name) {
+        return new PluginSelectorExpressionEnvironmentValue<>(
+            name,
+            null // no snapshot value
+        );
+    }
+
+    private PluginSelectorExpressionEnvironmentValue(final EnvironmentValueName<?> name,
+                                                     final Object value) {
+        super();
+        this.name = name;
+        this.value = value;
+    }
+
+    @Override
+    <T> Object evaluate(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                        final ProviderContext context,
+                        final PluginSelectorEvaluateValueTextOptions options) {
+        final Object value = this.value;
+
+        return null != value ?
+            value :
+            context.environmentValueOrFail(this.name);
+    }
+
+    final EnvironmentValueName<?> name;
+
+    /**
+     * Would be setter that returns an environment value with the given snapshot value.
+     */
+    PluginSelectorExpressionEnvironmentValue<N> setValue(final Object value) {
+        Objects.requireNonNull(value, "value");
+
+        return value.equals(this.value) ?
+            this :
+            new PluginSelectorExpressionEnvironmentValue<>(
+                this.name,
+                value
+            );
+    }
+
+    /**
+     * The value taken from a snapshot, or null when the value is fetched from the {@link ProviderContext}.
+     */
+    final Object value;
+
+    @Override
+    void pluginNames(final Set<N> names) {
+        // nop
+    }
+
+    @Override
+    void environmentValueNames(final Set<EnvironmentValueName<?>> names) {
+        names.add(this.name);
+    }
+
+    @Override
+    PluginSelectorExpression<N> setEnvironmentValues(final Map<EnvironmentValueName<?>, Object> values) {
+        final Object value = values.get(this.name);
+
+        return null != value ?
+            this.setValue(value) :
+            this;
+    }
+
+    @Override
+    void storagePaths(final Set<String> paths) {
+        // nop
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.name,
+            this.value
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorExpressionEnvironmentValue && this.equals0((PluginSelectorExpressionEnvironmentValue<?>) other);
+    }
+
+    private boolean equals0(final PluginSelectorExpressionEnvironmentValue<?> other) {
+        return this.name.equals(other.name) &&
+            Objects.equals(
+                this.value,
+                other.value
+            );
+    }
+
+    /**
+     * Always prints the name, even when a snapshot value is present, so the text may be parsed again.
+     */
+    @Override
+    public String toString() {
+        return PluginExpressionParser.ENVIRONMENT_VALUE_NAME_PREFIX + this.name.value();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+import walkingkooka.text.CharSequences;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A double or string literal parameter.
+ */
+final class PluginSelectorExpressionLiteral<N extends Name & Comparable<N>> extends PluginSelectorExpression<N> {
+
+    static <N extends Name & Comparable<N>> PluginSelectorExpressionLiteral<N> with(final Object value) {
+        return new PluginSelectorExpressionLiteral<>(value);
+    }
+
+    private PluginSelectorExpressionLiteral(final Object value) {
+        super();
+        this.value = value;
+    }
+
+    @Override
+    <T> Object evaluate(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                        final ProviderContext context,
+                        final PluginSelectorEvaluateValueTextOptions options) {
+        return this.value;
+    }
+
+    final Object value;
+
+    @Override
+    void pluginNames(final Set<N> names) {
+        // nop
+    }
+
+    @Override
+    void environmentValueNames(final Set<EnvironmentValueName<?>> names) {
+        // nop
+    }
+
+    @Override
+    PluginSelectorExpression<N> setEnvironmentValues(final Map<EnvironmentValueName<?>, Object> values) {
+        return this;
+    }
+
+    @Override
+    void storagePaths(final Set<String> paths) {
+        // nop
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorExpressionLiteral && this.equals0((PluginSelectorExpressionLiteral<?>) other);
+    }
+
+    private boolean equals0(final PluginSelectorExpressionLiteral<?> other) {
+        return this.value.equals(other.value);
+    }
+
+    @Override
+    public String toString() {
+        final Object value = this.value;
+
+        return value instanceof String ?
+            CharSequences.quoteAndEscape((String) value)
+                .toString() :
+            value.toString();
+    }
+}
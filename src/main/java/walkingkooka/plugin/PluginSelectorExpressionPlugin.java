@@ -0,0 +1,351 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.ParserContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * A plugin with zero or more parameters. This is also the root of the expression parsed from a {@link PluginSelector}.
+ */
+final class PluginSelectorExpressionPlugin<N extends Name & Comparable<N>> extends PluginSelectorExpression<N> {
+
+    static <N extends Name & Comparable<N>> PluginSelectorExpressionPlugin<N> with(final N name,
+                                                                                 final List<PluginSelectorExpression<N>> parameters,
+                                                                                 final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        return with(
+            name,
+            parameters,
+            null,
+            nameParserAndFactory
+        );
+    }
+
+    /**
+     * Factory that also accepts the start and end offsets of each parameter, relative to the start of this plugin
+     * within the parsed text. A null offsets means the offsets are unknown.
+     */
+    static <N extends Name & Comparable<N>> PluginSelectorExpressionPlugin<N> with(final N name,
+                                                                                 final List<PluginSelectorExpression<N>> parameters,
+                                                                                 final int[] offsets,
+                                                                                 final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        return new PluginSelectorExpressionPlugin<>(
+            name,
+            Lists.immutable(parameters),
+            offsets,
+            nameParserAndFactory
+        );
+    }
+
+    private PluginSelectorExpressionPlugin(final N name,
+                                           final List<PluginSelectorExpression<N>> parameters,
+                                           final int[] offsets,
+                                           final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory) {
+        super();
+        this.name = name;
+        this.parameters = parameters;
+        this.offsets = offsets;
+        this.nameParserAndFactory = nameParserAndFactory;
+
+        int depth = 1;
+        int parameterCount = parameters.size();
+
+        for (final PluginSelectorExpression<N> parameter : parameters) {
+            if (parameter instanceof PluginSelectorExpressionPlugin) {
+                final PluginSelectorExpressionPlugin<N> nested = (PluginSelectorExpressionPlugin<N>) parameter;
+                depth = Math.max(
+                    depth,
+                    1 + nested.depth
+                );
+                parameterCount += nested.parameterCount;
+            }
+        }
+
+        this.depth = depth;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Evaluates all parameters in order and then calls the provider to create the plugin. When {@link PluginSelectorEvaluateValueTextOptions#isLazy()}
+     * nested plugins are not created here, but only when first fetched from the parameter list.
+     */
+    @Override
+    <T> T evaluate(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                   final ProviderContext context,
+                   final PluginSelectorEvaluateValueTextOptions options) {
+        options.checkDeadline(this.name);
+
+        final List<PluginSelectorExpression<N>> parameters = this.parameters;
+        final List<Object> values = Lists.array();
+        final boolean lazy = options.isLazy();
+
+        for (final PluginSelectorExpression<N> parameter : parameters) {
+            values.add(
+                lazy && parameter instanceof PluginSelectorExpressionPlugin ?
+                    PluginSelectorParameterListLazyValue.with(
+                        (PluginSelectorExpressionPlugin<N>) parameter,
+                        provider,
+                        context,
+                        options
+                    ) :
+                    parameter.evaluate(
+                        provider,
+                        context,
+                        options
+                    )
+            );
+        }
+
+        final N name = this.name;
+
+        return provider.get(
+            name,
+            PluginSelectorParameterList.with(
+                values,
+                name
+            ),
+            context
+        );
+    }
+
+    final N name;
+
+    final List<PluginSelectorExpression<N>> parameters;
+
+    /**
+     * The nesting depth of this plugin, where a plugin without any nested plugins has a depth of one.
+     */
+    final int depth;
+
+    /**
+     * The number of parameters including the parameters of all nested plugins.
+     */
+    final int parameterCount;
+
+    /**
+     * Pairs of start and end offsets for each parameter, relative to the start of this plugin within the parsed text,
+     * or null when unknown. These are used to re-parse only the parameter touched by an edit, and are not included
+     * in {@link #equals(Object)}.
+     */
+    final int[] offsets;
+
+    /**
+     * The name parser used to parse this expression, this is used to verify a cached expression was parsed with the
+     * same name parser.
+     */
+    final BiFunction<TextCursor, ParserContext, Optional<N>> nameParserAndFactory;
+
+    @Override
+    void pluginNames(final Set<N> names) {
+        names.add(this.name);
+
+        for (final PluginSelectorExpression<N> parameter : this.parameters) {
+            parameter.pluginNames(names);
+        }
+    }
+
+    @Override
+    void environmentValueNames(final Set<EnvironmentValueName<?>> names) {
+        for (final PluginSelectorExpression<N> parameter : this.parameters) {
+            parameter.environmentValueNames(names);
+        }
+    }
+
+    /**
+     * Returns the names of all environment values referenced by this plugin including nested plugins, in the order
+     * they appear. The names are collected once and cached, and the returned {@link Set} must not be modified.
+     */
+    Set<EnvironmentValueName<?>> environmentValueNames() {
+        Set<EnvironmentValueName<?>> names = this.environmentValueNames;
+
+        if (null == names) {
+            names = new LinkedHashSet<>();
+            this.environmentValueNames(names);
+            this.environmentValueNames = names;
+        }
+
+        return names;
+    }
+
+    /**
+     * A cache of the referenced environment value names, a race between threads may only collect the names more than once.
+     */
+    private volatile Set<EnvironmentValueName<?>> environmentValueNames;
+
+    /**
+     * Fetches every referenced environment value once from the given {@link ProviderContext}, returning a plugin with
+     * all environment values holding the fetched values. This means each value is only fetched once, and all parameters
+     * see the same value even if the environment is changed during evaluation.
+     * <br>
+     * The last snapshot is remembered, so the plugin is only rebuilt when an environment value changes.
+     */
+    PluginSelectorExpressionPlugin<N> snapshotEnvironmentValues(final ProviderContext context) {
+        final Set<EnvironmentValueName<?>> names = this.environmentValueNames();
+        if (names.isEmpty()) {
+            return this;
+        }
+
+        final Object[] values = new Object[names.size()];
+        int i = 0;
+        for (final EnvironmentValueName<?> name : names) {
+            values[i++] = context.environmentValueOrFail(name);
+        }
+
+        final LastSnapshot<N> lastSnapshot = this.lastSnapshot;
+        if (null != lastSnapshot && Arrays.equals(values, lastSnapshot.values)) {
+            return lastSnapshot.plugin;
+        }
+
+        final Map<EnvironmentValueName<?>, Object> nameToValue = Maps.hash();
+        i = 0;
+        for (final EnvironmentValueName<?> name : names) {
+            nameToValue.put(
+                name,
+                values[i++]
+            );
+        }
+
+        final PluginSelectorExpressionPlugin<N> plugin = this.setEnvironmentValues(nameToValue);
+        this.lastSnapshot = new LastSnapshot<>(
+            values,
+            plugin
+        );
+        return plugin;
+    }
+
+    /**
+     * The last {@link #snapshotEnvironmentValues(ProviderContext)} and its result. All fields of {@link LastSnapshot}
+     * are final, so it may be published without synchronization, at worst a snapshot is built more than once.
+     */
+    private LastSnapshot<N> lastSnapshot;
+
+    private static final class LastSnapshot<N extends Name & Comparable<N>> {
+
+        LastSnapshot(final Object[] values,
+                     final PluginSelectorExpressionPlugin<N> plugin) {
+            this.values = values;
+            this.plugin = plugin;
+        }
+
+        /**
+         * The environment values in the order of {@link #environmentValueNames()}.
+         */
+        final Object[] values;
+
+        final PluginSelectorExpressionPlugin<N> plugin;
+    }
+
+    @Override
+    PluginSelectorExpressionPlugin<N> setEnvironmentValues(final Map<EnvironmentValueName<?>, Object> values) {
+        if (this.environmentValueNames().isEmpty()) {
+            return this;
+        }
+
+        final List<PluginSelectorExpression<N>> parameters = this.parameters;
+        List<PluginSelectorExpression<N>> replaced = null;
+
+        final int count = parameters.size();
+        for (int i = 0; i < count; i++) {
+            final PluginSelectorExpression<N> parameter = parameters.get(i);
+            final PluginSelectorExpression<N> replacedParameter = parameter.setEnvironmentValues(values);
+
+            if (parameter != replacedParameter) {
+                if (null == replaced) {
+                    replaced = Lists.array();
+                    replaced.addAll(parameters);
+                }
+                replaced.set(
+                    i,
+                    replacedParameter
+                );
+            }
+        }
+
+        return null == replaced ?
+            this :
+            with(
+                this.name,
+                replaced,
+                this.offsets,
+                this.nameParserAndFactory
+            );
+    }
+
+    @Override
+    void storagePaths(final Set<String> paths) {
+        for (final PluginSelectorExpression<N> parameter : this.parameters) {
+            parameter.storagePaths(paths);
+        }
+    }
+
+    // Object...........................................................................................................
+
+    /**
+     * The name parser is not included, and two plugins with the same name and equal parameters are equal.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.name,
+            this.parameters
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorExpressionPlugin && this.equals0((PluginSelectorExpressionPlugin<?>) other);
+    }
+
+    private boolean equals0(final PluginSelectorExpressionPlugin<?> other) {
+        return this.name.equals(other.name) &&
+            this.parameters.equals(other.parameters);
+    }
+
+    @Override
+    public String toString() {
+        final List<PluginSelectorExpression<N>> parameters = this.parameters;
+
+        return parameters.isEmpty() ?
+            this.name.value() :
+            this.name.value() +
+                parameters.stream()
+                    .map(PluginSelectorExpression::toString)
+                    .collect(
+                        Collectors.joining(
+                            PluginExpressionParser.PARAMETER_SEPARATOR + " ",
+                            PluginExpressionParser.PARAMETER_BEGIN,
+                            PluginExpressionParser.PARAMETER_END
+                        )
+                    );
+    }
+}
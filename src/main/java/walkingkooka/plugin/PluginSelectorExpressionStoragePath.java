@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+import walkingkooka.storage.StoragePath;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link StoragePath} parameter, which is parsed by {@link ProviderContext#parseStoragePath(String)} each time it is evaluated.
+ */
+final class PluginSelectorExpressionStoragePath<N extends Name & Comparable<N>> extends PluginSelectorExpression<N> {
+
+    static <N extends Name & Comparable<N>> PluginSelectorExpressionStoragePath<N> with(final String text) {
+        return new PluginSelectorExpressionStoragePath<>(text);
+    }
+
+    private PluginSelectorExpressionStoragePath(final String text) {
+        super();
+        this.text = text;
+    }
+
+    @Override
+    <T> Object evaluate(final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                        final ProviderContext context,
+                        final PluginSelectorEvaluateValueTextOptions options) {
+        return context.parseStoragePath(this.text);
+    }
+
+    final String text;
+
+    @Override
+    void pluginNames(final Set<N> names) {
+        // nop
+    }
+
+    @Override
+    void environmentValueNames(final Set<EnvironmentValueName<?>> names) {
+        // nop
+    }
+
+    @Override
+    PluginSelectorExpression<N> setEnvironmentValues(final Map<EnvironmentValueName<?>, Object> values) {
+        return this;
+    }
+
+    @Override
+    void storagePaths(final Set<String> paths) {
+        paths.add(this.text);
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return this.text.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorExpressionStoragePath && this.equals0((PluginSelectorExpressionStoragePath<?>) other);
+    }
+
+    private boolean equals0(final PluginSelectorExpressionStoragePath<?> other) {
+        return this.text.equals(other.text);
+    }
+
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.Objects;
 /**
  * An {@link ImmutableList} that contains parameters parsed from a {@link PluginSelector}.
  * The {@link #get(int)} throws a {@link ArrayIndexOutOfBoundsException} with better messages mentioning the plugin and message.
+ * Values may include {@link PluginSelectorParameterListLazyValue} which are created when first fetched.
  */
 final class PluginSelectorParameterList extends AbstractList<Object>
     implements ImmutableListDefaults<PluginSelectorParameterList, Object> {
@@ -58,7 +59,10 @@ final class PluginSelectorParameterList extends AbstractList<Object>
         if (index >= count) {
             throw new ArrayIndexOutOfBoundsException(this.name + ": Missing parameter " + index);
         }
-        return values.get(index);
+        final Object value = values.get(index);
+        return value instanceof PluginSelectorParameterListLazyValue ?
+            ((PluginSelectorParameterListLazyValue<?, ?>) value).get() :
+            value;
     }
 
     private final Name name;
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.naming.Name;
+
+/**
+ * A nested plugin parameter that has not yet been created, held by a {@link PluginSelectorParameterList} and created
+ * when the parameter is first fetched. Once created the plugin is remembered and returned for all later fetches.
+ */
+final class PluginSelectorParameterListLazyValue<N extends Name & Comparable<N>, T> {
+
+    static <N extends Name & Comparable<N>, T> PluginSelectorParameterListLazyValue<N, T> with(final PluginSelectorExpressionPlugin<N> expression,
+                                                                                              final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                                                              final ProviderContext context,
+                                                                                              final PluginSelectorEvaluateValueTextOptions options) {
+        return new PluginSelectorParameterListLazyValue<>(
+            expression,
+            provider,
+            context,
+            options
+        );
+    }
+
+    private PluginSelectorParameterListLazyValue(final PluginSelectorExpressionPlugin<N> expression,
+                                                 final PluginSelectorEvaluateValueTextProvider<N, T> provider,
+                                                 final ProviderContext context,
+                                                 final PluginSelectorEvaluateValueTextOptions options) {
+        this.expression = expression;
+        this.provider = provider;
+        this.context = context;
+        this.options = options;
+    }
+
+    /**
+     * Creates the plugin the first time this is called, returning the same plugin for all following calls.
+     */
+    synchronized T get() {
+        if (false == this.evaluated) {
+            this.value = this.expression.evaluate(
+                this.provider,
+                this.context,
+                this.options
+            );
+            this.evaluated = true;
+        }
+
+        return this.value;
+    }
+
+    private final PluginSelectorExpressionPlugin<N> expression;
+
+    private final PluginSelectorEvaluateValueTextProvider<N, T> provider;
+
+    private final ProviderContext context;
+
+    private final PluginSelectorEvaluateValueTextOptions options;
+
+    /**
+     * Providers may return null, requiring a flag to record that evaluation has happened.
+     */
+    private boolean evaluated;
+
+    private T value;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.evaluated ?
+            String.valueOf(this.value) :
+            this.expression.toString();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.collect.set.SortedSets;
+
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * A lightweight report of why the text of a {@link PluginSelector} is invalid, returned by
+ * {@link PluginSelector#validate(java.util.function.BiFunction)} without throwing or creating any exception.
+ * It holds the position of the problem within {@link PluginSelector#toString()}, a message and the tokens that would
+ * have been accepted at that position.
+ * <br>
+ * Each kind of error is a sub class which creates its own message and exception.
+ */
+public abstract class PluginSelectorParseError {
+
+    /**
+     * Token names that may appear in {@link #expected()}.
+     */
+    public final static String ENVIRONMENT_VALUE_NAME = "EnvironmentValueName";
+
+    public final static String ESCAPE = "escape";
+
+    public final static String HEX_DIGIT = "hex-digit";
+
+    public final static String NAME = "name";
+
+    public final static String NUMBER = "number";
+
+    public final static String STORAGE_PATH = "StoragePath";
+
+    public final static String STRING = "string";
+
+    final static SortedSet<String> EXPECTED_NONE = expected();
+
+    final static SortedSet<String> EXPECTED_NAME = expected(NAME);
+
+    final static SortedSet<String> EXPECTED_PARAMETERS_BEGIN = expected(PluginExpressionParser.PARAMETER_BEGIN);
+
+    final static SortedSet<String> EXPECTED_PARAMETER = expected(
+        PluginExpressionParser.PARAMETER_SEPARATOR,
+        PluginExpressionParser.PARAMETER_END,
+        ENVIRONMENT_VALUE_NAME,
+        NAME,
+        NUMBER,
+        STORAGE_PATH,
+        STRING
+    );
+
+    final static SortedSet<String> EXPECTED_DOUBLE_QUOTE = expected("" + PluginExpressionParser.DOUBLE_QUOTE);
+
+    final static SortedSet<String> EXPECTED_HEX_DIGIT = expected(HEX_DIGIT);
+
+    final static SortedSet<String> EXPECTED_ESCAPE = expected(ESCAPE);
+
+    final static SortedSet<String> EXPECTED_ENVIRONMENT_VALUE_NAME = expected(ENVIRONMENT_VALUE_NAME);
+
+    private static SortedSet<String> expected(final String... tokens) {
+        final SortedSet<String> expected = SortedSets.tree();
+        for (final String token : tokens) {
+            expected.add(token);
+        }
+        return SortedSets.immutable(expected);
+    }
+
+    /**
+     * An invalid character at the given position within the text.
+     */
+    static PluginSelectorParseError invalidCharacter(final String text,
+                                                     final int position,
+                                                     final SortedSet<String> expected) {
+        return PluginSelectorParseErrorInvalidCharacter.with(
+            text,
+            position,
+            expected
+        );
+    }
+
+    /**
+     * A token such as an {@link walkingkooka.environment.EnvironmentValueName} was empty, the text is the label of the token.
+     */
+    static PluginSelectorParseError emptyText(final String label,
+                                              final int position,
+                                              final SortedSet<String> expected) {
+        return PluginSelectorParseErrorEmptyText.with(
+            label,
+            position,
+            expected
+        );
+    }
+
+    /**
+     * Any other error with the given message.
+     */
+    static PluginSelectorParseError message(final String message,
+                                            final int position,
+                                            final SortedSet<String> expected) {
+        return PluginSelectorParseErrorMessage.with(
+            message,
+            position,
+            expected
+        );
+    }
+
+    /**
+     * Package private to limit sub classing.
+     */
+    PluginSelectorParseError(final String text,
+                             final int position,
+                             final SortedSet<String> expected) {
+        this.text = text;
+        this.position = position;
+        this.expected = expected;
+    }
+
+    /**
+     * The position of the problem within {@link PluginSelector#toString()}.
+     */
+    public final int position() {
+        return this.position;
+    }
+
+    final int position;
+
+    /**
+     * Would be setter that returns an error with the given position.
+     * This is used to move errors recorded by a {@link PluginExpressionParser} reading the {@link PluginSelector#valueText()}
+     * so they are relative to the entire {@link PluginSelector#toString()}.
+     */
+    PluginSelectorParseError setTextAndPosition(final String text,
+                                                final int position) {
+        return this.position == position ?
+            this :
+            this.replace(
+                this.text,
+                position
+            );
+    }
+
+    /**
+     * Factory that creates a new error of the same kind with the given text and position.
+     */
+    abstract PluginSelectorParseError replace(final String text,
+                                              final int position);
+
+    /**
+     * The tokens that would have been accepted at the {@link #position()}, which may be empty if the end of text was
+     * expected.
+     */
+    public final SortedSet<String> expected() {
+        return this.expected;
+    }
+
+    final SortedSet<String> expected;
+
+    /**
+     * A message matching that of the exception thrown by {@link PluginSelector#evaluateValueText(java.util.function.BiFunction, PluginSelectorEvaluateValueTextProvider, ProviderContext)}.
+     */
+    public abstract String message();
+
+    /**
+     * Creates the exception thrown by the {@link PluginSelector} methods that parse and fail.
+     */
+    abstract IllegalArgumentException exception();
+
+    /**
+     * Depending on the kind, the entire text, the label of the empty token or the message.
+     */
+    final String text;
+
+    // Object...........................................................................................................
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(
+            this.text,
+            this.position,
+            this.expected
+        );
+    }
+
+    @Override
+    public final boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorParseError && this.equals0((PluginSelectorParseError) other);
+    }
+
+    private boolean equals0(final PluginSelectorParseError other) {
+        return this.getClass() == other.getClass() &&
+            this.text.equals(other.text) &&
+            this.position == other.position &&
+            this.expected.equals(other.expected);
+    }
+
+    @Override
+    public final String toString() {
+        return this.message() + " expected " + this.expected;
+    }
+}
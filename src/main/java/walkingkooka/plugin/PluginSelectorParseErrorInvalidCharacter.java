@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.text.CharSequences;
+
+import java.util.SortedSet;
+
+/**
+ * A {@link PluginSelectorParseError} for an invalid character, where the text is the entire text.
+ */
+final class PluginSelectorParseErrorInvalidCharacter extends PluginSelectorParseError {
+
+    static PluginSelectorParseErrorInvalidCharacter with(final String text,
+                                                         final int position,
+                                                         final SortedSet<String> expected) {
+        return new PluginSelectorParseErrorInvalidCharacter(
+            text,
+            position,
+            expected
+        );
+    }
+
+    private PluginSelectorParseErrorInvalidCharacter(final String text,
+                                                     final int position,
+                                                     final SortedSet<String> expected) {
+        super(
+            text,
+            position,
+            expected
+        );
+    }
+
+    /**
+     * The text is also replaced, as the position is within the given text.
+     */
+    @Override
+    PluginSelectorParseError setTextAndPosition(final String text,
+                                                final int position) {
+        return this.position == position && this.text.equals(text) ?
+            this :
+            this.replace(
+                text,
+                position
+            );
+    }
+
+    @Override
+    PluginSelectorParseError replace(final String text,
+                                     final int position) {
+        return with(
+            text,
+            position,
+            this.expected
+        );
+    }
+
+    @Override
+    public String message() {
+        return "Invalid character " +
+            CharSequences.quoteIfChars(
+                this.text.charAt(this.position)
+            ) +
+            " at " +
+            this.position;
+    }
+
+    @Override
+    IllegalArgumentException exception() {
+        return new InvalidCharacterException(
+            this.text,
+            this.position
+        );
+    }
+}
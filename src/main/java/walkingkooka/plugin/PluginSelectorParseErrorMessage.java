@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import java.util.SortedSet;
+
+/**
+ * A {@link PluginSelectorParseError} for any other error, where the text is the message.
+ */
+final class PluginSelectorParseErrorMessage extends PluginSelectorParseError {
+
+    static PluginSelectorParseErrorMessage with(final String text,
+                                                final int position,
+                                                final SortedSet<String> expected) {
+        return new PluginSelectorParseErrorMessage(
+            text,
+            position,
+            expected
+        );
+    }
+
+    private PluginSelectorParseErrorMessage(final String text,
+                                            final int position,
+                                            final SortedSet<String> expected) {
+        super(
+            text,
+            position,
+            expected
+        );
+    }
+
+    @Override
+    PluginSelectorParseError replace(final String text,
+                                     final int position) {
+        return with(
+            text,
+            position,
+            this.expected
+        );
+    }
+
+    @Override
+    public String message() {
+        return this.text;
+    }
+
+    @Override
+    IllegalArgumentException exception() {
+        return new IllegalArgumentException(this.text);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Name;
+import walkingkooka.storage.StoragePath;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * The plugin names, environment value names and storage paths referenced by a {@link PluginSelector} including all
+ * nested plugins, found without evaluating the selector or calling any provider.
+ */
+public final class PluginSelectorReferences<N extends Name & Comparable<N>> {
+
+    static <N extends Name & Comparable<N>> PluginSelectorReferences<N> with(final SortedSet<N> pluginNames,
+                                                                           final Set<EnvironmentValueName<?>> environmentValueNames,
+                                                                           final Set<StoragePath> storagePaths) {
+        return new PluginSelectorReferences<>(
+            SortedSets.immutable(pluginNames),
+            Sets.immutable(environmentValueNames),
+            Sets.immutable(storagePaths)
+        );
+    }
+
+    private PluginSelectorReferences(final SortedSet<N> pluginNames,
+                                     final Set<EnvironmentValueName<?>> environmentValueNames,
+                                     final Set<StoragePath> storagePaths) {
+        this.pluginNames = pluginNames;
+        this.environmentValueNames = environmentValueNames;
+        this.storagePaths = storagePaths;
+    }
+
+    /**
+     * The name of the selector and the names of all nested plugins.
+     */
+    public SortedSet<N> pluginNames() {
+        return this.pluginNames;
+    }
+
+    private final SortedSet<N> pluginNames;
+
+    /**
+     * The names of all environment values used as parameters.
+     */
+    public Set<EnvironmentValueName<?>> environmentValueNames() {
+        return this.environmentValueNames;
+    }
+
+    private final Set<EnvironmentValueName<?>> environmentValueNames;
+
+    /**
+     * All {@link StoragePath} used as parameters.
+     */
+    public Set<StoragePath> storagePaths() {
+        return this.storagePaths;
+    }
+
+    private final Set<StoragePath> storagePaths;
+
+    // Object...........................................................................................................
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            this.pluginNames,
+            this.environmentValueNames,
+            this.storagePaths
+        );
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginSelectorReferences && this.equals0((PluginSelectorReferences<?>) other);
+    }
+
+    private boolean equals0(final PluginSelectorReferences<?> other) {
+        return this.pluginNames.equals(other.pluginNames) &&
+            this.environmentValueNames.equals(other.environmentValueNames) &&
+            this.storagePaths.equals(other.storagePaths);
+    }
+
+    @Override
+    public String toString() {
+        return "pluginNames=" + this.pluginNames +
+            " environmentValueNames=" + this.environmentValueNames +
+            " storagePaths=" + this.storagePaths;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Loads many {@link StoragePath} concurrently using {@link ProviderContext#loadStorage(StoragePath)} and the given
+ * {@link Executor}, returning the {@link StorageValue} for each path that exists.
+ * <br>
+ * The calling thread always loads the last path itself, and any load that the {@link Executor} has not yet started
+ * when its value is required is also run by the waiting thread.
+ * <br>
+ * This class is not available in javascript because it uses threads.
+ */
+final class PluginSelectorStoragePrefetcher {
+
+    static PluginSelectorStoragePrefetcher with(final ProviderContext context,
+                                                final Executor executor) {
+        return new PluginSelectorStoragePrefetcher(
+            context,
+            executor
+        );
+    }
+
+    private PluginSelectorStoragePrefetcher(final ProviderContext context,
+                                            final Executor executor) {
+        this.context = context;
+        this.executor = executor;
+    }
+
+    Map<StoragePath, StorageValue> prefetch(final Collection<StoragePath> paths) {
+        final StoragePath[] pathArray = paths.toArray(new StoragePath[0]);
+        final int count = pathArray.length;
+
+        @SuppressWarnings("unchecked")
+        final FutureTask<Optional<StorageValue>>[] tasks = new FutureTask[count];
+
+        final Map<StoragePath, StorageValue> pathToValue = new LinkedHashMap<>();
+
+        try {
+            for (int i = 0; i < count - 1; i++) {
+                final StoragePath path = pathArray[i];
+
+                tasks[i] = PluginFutureTasks.fork(
+                    () -> this.context.loadStorage(path),
+                    this.executor
+                );
+            }
+
+            for (int i = 0; i < count; i++) {
+                final StoragePath path = pathArray[i];
+                final FutureTask<Optional<StorageValue>> task = tasks[i];
+
+                final Optional<StorageValue> value;
+                if (null != task) {
+                    value = PluginFutureTasks.join(
+                        task,
+                        "Interrupted while loading storage"
+                    );
+                } else {
+                    value = this.context.loadStorage(path);
+                }
+
+                if (value.isPresent()) {
+                    pathToValue.put(
+                        path,
+                        value.get()
+                    );
+                }
+            }
+        } catch (final RuntimeException | Error cause) {
+            PluginFutureTasks.cancel(tasks);
+            throw cause;
+        }
+
+        return pathToValue;
+    }
+
+    private final ProviderContext context;
+
+    private final Executor executor;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.context + " " + this.executor;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Splits the text of a {@link PluginAliasSet} or {@link PluginInfoSet} into batches of several entries at separating
+ * COMMA characters found by a {@link PluginSetSeparatorScanner}, and parses the batches concurrently using the given
+ * {@link Executor}, returning the results in their original order.
+ * <br>
+ * The calling thread always parses the last batch itself, and any batch that the {@link Executor} has not yet started
+ * when its result is required is also parsed by the waiting thread.
+ * <br>
+ * This class is not available in javascript because it uses threads.
+ */
+final class PluginSetConcurrentParser {
+
+    /**
+     * Parses the batches of the given text, returning nothing if the text is too short to be worth splitting or
+     * includes a missing entry, leaving the caller to parse the entire text once and report the error. An
+     * {@link InvalidCharacterException} thrown by a batch has its text and position updated to those of the entire
+     * text, and the error of the earliest failing batch is thrown.
+     */
+    static <T> Optional<List<T>> parse(final String text,
+                                       final Function<String, T> parser,
+                                       final Executor executor) {
+        final List<String> batches = split(
+            text,
+            BATCH_LENGTH
+        );
+
+        return batches.size() < 2 || anyWhitespace(batches) ?
+            Optional.empty() :
+            Optional.of(
+                parse0(
+                    text,
+                    batches,
+                    parser,
+                    executor
+                )
+            );
+    }
+
+    /**
+     * Tests if any batch is empty or only whitespace without creating a trimmed copy of every batch.
+     */
+    private static boolean anyWhitespace(final List<String> batches) {
+        boolean whitespace = false;
+
+        for (final String batch : batches) {
+            whitespace = true;
+
+            final int length = batch.length();
+            for (int i = 0; i < length; i++) {
+                if (false == Character.isWhitespace(batch.charAt(i))) {
+                    whitespace = false;
+                    break;
+                }
+            }
+
+            if (whitespace) {
+                break;
+            }
+        }
+
+        return whitespace;
+    }
+
+    // @VisibleForTesting
+    final static int BATCH_LENGTH = 8 * 1024;
+
+    /**
+     * Splits the text at the first separating COMMA after every batch length characters, the COMMA is not included.
+     */
+    // @VisibleForTesting
+    static List<String> split(final String text,
+                              final int batchLength) {
+        final List<String> batches = Lists.array();
+        final PluginSetSeparatorScanner scanner = PluginSetSeparatorScanner.empty();
+
+        final int length = text.length();
+        int start = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (scanner.isSeparator(text.charAt(i)) && i - start >= batchLength) {
+                batches.add(
+                    text.substring(
+                        start,
+                        i
+                    )
+                );
+                start = i + 1;
+            }
+        }
+
+        batches.add(
+            text.substring(start)
+        );
+
+        return batches;
+    }
+
+    private static <T> List<T> parse0(final String text,
+                                      final List<String> batches,
+                                      final Function<String, T> parser,
+                                      final Executor executor) {
+        final int count = batches.size();
+
+        @SuppressWarnings("unchecked")
+        final FutureTask<T>[] tasks = new FutureTask[count - 1];
+
+        try {
+            for (int i = 0; i < count - 1; i++) {
+                final String batch = batches.get(i);
+
+                tasks[i] = PluginFutureTasks.fork(
+                    () -> parser.apply(batch),
+                    executor
+                );
+            }
+
+            // an error in the last batch is only thrown after all earlier batches have succeeded
+            T last = null;
+            RuntimeException lastFailed = null;
+            try {
+                last = parser.apply(
+                    batches.get(count - 1)
+                );
+            } catch (final RuntimeException cause) {
+                lastFailed = cause;
+            }
+
+            final List<T> results = Lists.array();
+            int start = 0;
+
+            for (int i = 0; i < count; i++) {
+                try {
+                    if (i < count - 1) {
+                        results.add(
+                            PluginFutureTasks.join(
+                                tasks[i],
+                                "Interrupted while parsing"
+                            )
+                        );
+                    } else {
+                        if (null != lastFailed) {
+                            throw lastFailed;
+                        }
+                        results.add(last);
+                    }
+                } catch (final InvalidCharacterException cause) {
+                    throw cause.setTextAndPosition(
+                        text,
+                        start + cause.position()
+                    );
+                }
+
+                start = start + batches.get(i).length() + 1; // skip the separating COMMA
+            }
+
+            return results;
+        } catch (final RuntimeException | Error cause) {
+            PluginFutureTasks.cancel(tasks);
+            throw cause;
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private PluginSetConcurrentParser() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+/**
+ * Scans the text of a {@link PluginAliasSet} or {@link PluginInfoSet} one character at a time, recognising the COMMA
+ * characters that separate entries without parsing the entries themselves.
+ * <br>
+ * A COMMA is not a separator when it appears within parameters, a double quoted string or a url, where a url is any
+ * token containing <code>://</code>. Once a url is recognised, all characters until the next whitespace belong to it,
+ * matching {@link PluginExpressionParser#url()}.
+ */
+final class PluginSetSeparatorScanner {
+
+    static PluginSetSeparatorScanner empty() {
+        return new PluginSetSeparatorScanner();
+    }
+
+    private PluginSetSeparatorScanner() {
+        super();
+    }
+
+    /**
+     * Returns true if the given character is a separating COMMA.
+     */
+    boolean isSeparator(final char c) {
+        boolean separator = false;
+
+        if (this.doubleQuoted) {
+            if (this.escaped) {
+                this.escaped = false;
+            } else {
+                switch (c) {
+                    case BACKSLASH:
+                        this.escaped = true;
+                        break;
+                    case PluginExpressionParser.DOUBLE_QUOTE:
+                        this.doubleQuoted = false;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } else {
+            if (Character.isWhitespace(c)) {
+                this.urlSchemeSeparator = 0;
+            } else {
+                if (URL_SCHEME_SEPARATOR.length() != this.urlSchemeSeparator) {
+                    this.urlSchemeSeparator = URL_SCHEME_SEPARATOR.charAt(this.urlSchemeSeparator) == c ?
+                        this.urlSchemeSeparator + 1 :
+                        URL_SCHEME_SEPARATOR.charAt(0) == c ?
+                            1 :
+                            0;
+
+                    switch (c) {
+                        case PluginExpressionParser.DOUBLE_QUOTE:
+                            this.doubleQuoted = true;
+                            break;
+                        case PluginExpressionParser.PARAMETER_BEGIN_CHARACTER:
+                            this.depth++;
+                            break;
+                        case PluginExpressionParser.PARAMETER_END_CHARACTER:
+                            this.depth--;
+                            break;
+                        case PluginExpressionParser.PARAMETER_SEPARATOR_CHARACTER:
+                            if (this.depth <= 0) {
+                                this.depth = 0;
+                                separator = true;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                // within a url everything belongs to the url
+            }
+        }
+
+        return separator;
+    }
+
+    private final static char BACKSLASH = '\\';
+
+    private final static String URL_SCHEME_SEPARATOR = "://";
+
+    private int depth;
+
+    private boolean doubleQuoted;
+
+    private boolean escaped;
+
+    /**
+     * The number of characters of {@link #URL_SCHEME_SEPARATOR} matched in the current token, a url when all match.
+     */
+    private int urlSchemeSeparator;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "depth=" + this.depth +
+            (this.doubleQuoted ? " doubleQuoted" : "") +
+            (URL_SCHEME_SEPARATOR.length() == this.urlSchemeSeparator ? " url" : "");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pool that returns a single shared instance for equal values such as {@link PluginSelector}, {@link PluginAlias} and
+ * {@link PluginInfo}, allowing the many equal copies parsed from text or JSON to be garbage collected. Values are only
+ * weakly held, and are removed once nothing else references them. Interned values compare equal using a quick identity
+ * check.
+ * <br>
+ * Many threads may intern at the same time without any locking, values are held in a {@link ConcurrentHashMap} keyed by
+ * a {@link WeakReference} to each value, and entries for collected values are removed as they are found on the
+ * {@link ReferenceQueue}.
+ * <br>
+ * This class is not available in javascript because it uses {@link WeakReference}.
+ */
+public final class PluginWeakInterner<T> {
+
+    public static <T> PluginWeakInterner<T> empty() {
+        return new PluginWeakInterner<>();
+    }
+
+    private PluginWeakInterner() {
+        super();
+    }
+
+    /**
+     * Returns a previously interned value equal to the given value, or interns and returns the given value.
+     */
+    public T intern(final T value) {
+        Objects.requireNonNull(value, "value");
+
+        this.removeCollected();
+
+        final PluginWeakInternerReference<T> reference = new PluginWeakInternerReference<>(
+            value,
+            this.collected
+        );
+
+        for (; ; ) {
+            final PluginWeakInternerReference<T> existing = this.values.putIfAbsent(
+                reference,
+                reference
+            );
+            if (null == existing) {
+                return value;
+            }
+
+            final T interned = existing.get();
+            if (null != interned) {
+                return interned;
+            }
+
+            // collected after the lookup but before it was removed, remove and try again
+            this.values.remove(
+                existing,
+                existing
+            );
+        }
+    }
+
+    /**
+     * Returns the number of values that are currently interned.
+     */
+    public int size() {
+        this.removeCollected();
+
+        return this.values.size();
+    }
+
+    private void removeCollected() {
+        for (; ; ) {
+            final Object reference = this.collected.poll();
+            if (null == reference) {
+                break;
+            }
+            this.values.remove(
+                reference,
+                reference
+            );
+        }
+    }
+
+    private final ConcurrentMap<PluginWeakInternerReference<T>, PluginWeakInternerReference<T>> values = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return "size=" + this.size();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A {@link WeakReference} key for {@link PluginWeakInterner}, equal to another reference when both values are still
+ * present and equal. A reference whose value was collected is only equal to itself, so it can still be removed.
+ * <br>
+ * This class is not available in javascript because it uses {@link WeakReference}.
+ */
+final class PluginWeakInternerReference<T> extends WeakReference<T> {
+
+    PluginWeakInternerReference(final T value,
+                                final ReferenceQueue<? super T> collected) {
+        super(
+            value,
+            collected
+        );
+        this.hashCode = value.hashCode();
+    }
+
+    // Object...........................................................................................................
+
+    /**
+     * The hash code of the value, kept so the reference may still be found after its value was collected.
+     */
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    private final int hashCode;
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+            other instanceof PluginWeakInternerReference && this.equals0((PluginWeakInternerReference<?>) other);
+    }
+
+    private boolean equals0(final PluginWeakInternerReference<?> other) {
+        final T value = this.get();
+
+        return this.hashCode == other.hashCode &&
+            null != value &&
+            value.equals(other.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.get());
+    }
+}
@@ -142,6 +142,75 @@ public final class ProviderCollection<P extends Provider, N extends Name & Compa
         );
     }
 
+    /**
+     * Finds the provider for the given {@link S} once, returning a {@link ProviderCollectionPrepared} that may be used
+     * to get the component many times without any further name lookups. Unknown or duplicate names fail here rather
+     * than when getting.
+     */
+    public ProviderCollectionPrepared<P, N, S, OUT> prepare(final S selector) {
+        Objects.requireNonNull(selector, "selector");
+
+        return this.prepare0(
+            selector,
+            null,
+            null
+        );
+    }
+
+    /**
+     * Resolves any alias in the given {@link S} using the {@link PluginAliasSetLike} and then finds its provider once.
+     * The returned {@link ProviderCollectionPrepared} remembers the alias set, so
+     * {@link ProviderCollectionPrepared#isPreparedBy(ProviderCollection, PluginAliasSetLike)} returns false once either
+     * is replaced.
+     */
+    public ProviderCollectionPrepared<P, N, S, OUT> prepare(final S selector,
+                                                           final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases) {
+        Objects.requireNonNull(selector, "selector");
+        Objects.requireNonNull(aliases, "aliases");
+
+        return this.prepare0(
+            aliases.selector(selector),
+            aliases,
+            null
+        );
+    }
+
+    /**
+     * Resolves any alias in the given {@link S} using the {@link PluginAliasSetLike}, then renames it using the
+     * {@link MergedProviderMapper} and finally finds its provider once. The returned {@link ProviderCollectionPrepared}
+     * remembers the alias set and mapper, so
+     * {@link ProviderCollectionPrepared#isPreparedBy(ProviderCollection, PluginAliasSetLike, MergedProviderMapper)}
+     * returns false once any is replaced.
+     */
+    public ProviderCollectionPrepared<P, N, S, OUT> prepare(final S selector,
+                                                           final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases,
+                                                           final MergedProviderMapper<N, ?, ?, S, ?, ?> mapper) {
+        Objects.requireNonNull(selector, "selector");
+        Objects.requireNonNull(aliases, "aliases");
+        Objects.requireNonNull(mapper, "mapper");
+
+        return this.prepare0(
+            mapper.selector(
+                aliases.selector(selector)
+            ),
+            aliases,
+            mapper
+        );
+    }
+
+    private ProviderCollectionPrepared<P, N, S, OUT> prepare0(final S selector,
+                                                             final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases,
+                                                             final MergedProviderMapper<N, ?, ?, S, ?, ?> mapper) {
+        return ProviderCollectionPrepared.with(
+            this,
+            aliases,
+            mapper,
+            this.provider(selector.name()),
+            selector,
+            this.providerGetter
+        );
+    }
+
     private P provider(final N name) {
         final P provider = this.nameToProvider.get(name);
         if (null == provider) {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import walkingkooka.naming.Name;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A selector whose aliases have been resolved and whose owning provider has already been found by one of the
+ * {@link ProviderCollection} prepare methods. Later gets call the provider directly without any alias or name lookups.
+ * <br>
+ * Because collections, alias sets and mappers are immutable, any change produces a new instance. A prepared selector
+ * records the identity of the collection, and of any alias set and mapper given to prepare, and should be discarded
+ * when the matching isPreparedBy method returns false for the current instances.
+ */
+public final class ProviderCollectionPrepared<P extends Provider, N extends Name & Comparable<N>, S extends PluginSelectorLike<N>, OUT> {
+
+    static <P extends Provider, N extends Name & Comparable<N>, S extends PluginSelectorLike<N>, OUT> ProviderCollectionPrepared<P, N, S, OUT> with(final ProviderCollection<P, N, ?, S, OUT> collection,
+                                                                                                                                                final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases,
+                                                                                                                                                final MergedProviderMapper<N, ?, ?, S, ?, ?> mapper,
+                                                                                                                                                final P provider,
+                                                                                                                                                final S selector,
+                                                                                                                                                final ProviderCollectionProviderGetter<P, N, S, OUT> providerGetter) {
+        return new ProviderCollectionPrepared<>(
+            collection,
+            aliases,
+            mapper,
+            provider,
+            selector,
+            providerGetter
+        );
+    }
+
+    private ProviderCollectionPrepared(final ProviderCollection<P, N, ?, S, OUT> collection,
+                                       final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases,
+                                       final MergedProviderMapper<N, ?, ?, S, ?, ?> mapper,
+                                       final P provider,
+                                       final S selector,
+                                       final ProviderCollectionProviderGetter<P, N, S, OUT> providerGetter) {
+        this.collection = collection;
+        this.aliases = aliases;
+        this.mapper = mapper;
+        this.provider = provider;
+        this.selector = selector;
+        this.providerGetter = providerGetter;
+    }
+
+    /**
+     * Gets the component identified by the prepared selector.
+     */
+    public OUT get(final ProviderContext context) {
+        Objects.requireNonNull(context, "context");
+
+        return this.providerGetter.get(
+            this.provider,
+            this.selector,
+            context
+        );
+    }
+
+    /**
+     * Gets the component identified by the name of the prepared selector, with the given values.
+     */
+    public OUT get(final List<?> values,
+                   final ProviderContext context) {
+        Objects.requireNonNull(values, "values");
+        Objects.requireNonNull(context, "context");
+
+        return this.providerGetter.get(
+            this.provider,
+            this.selector.name(),
+            values,
+            context
+        );
+    }
+
+    /**
+     * Returns true if this was prepared by the given {@link ProviderCollection} without any alias set or mapper.
+     */
+    public boolean isPreparedBy(final ProviderCollection<?, ?, ?, ?, ?> collection) {
+        return this.isPreparedBy(
+            collection,
+            null,
+            null
+        );
+    }
+
+    /**
+     * Returns true if this was prepared by the given {@link ProviderCollection} resolving aliases with the given
+     * {@link PluginAliasSetLike}.
+     */
+    public boolean isPreparedBy(final ProviderCollection<?, ?, ?, ?, ?> collection,
+                                final PluginAliasSetLike<?, ?, ?, ?, ?, ?> aliases) {
+        return this.isPreparedBy(
+            collection,
+            aliases,
+            null
+        );
+    }
+
+    /**
+     * Returns true if this was prepared by the given {@link ProviderCollection} resolving aliases with the given
+     * {@link PluginAliasSetLike} and renaming with the given {@link MergedProviderMapper}.
+     */
+    public boolean isPreparedBy(final ProviderCollection<?, ?, ?, ?, ?> collection,
+                                final PluginAliasSetLike<?, ?, ?, ?, ?, ?> aliases,
+                                final MergedProviderMapper<?, ?, ?, ?, ?, ?> mapper) {
+        return this.collection == collection &&
+            this.aliases == aliases &&
+            this.mapper == mapper;
+    }
+
+    private final ProviderCollection<P, N, ?, S, OUT> collection;
+
+    private final PluginAliasSetLike<N, ?, ?, S, ?, ?> aliases;
+
+    private final MergedProviderMapper<N, ?, ?, S, ?, ?> mapper;
+
+    /**
+     * The provider that owns the selector.
+     */
+    public P provider() {
+        return this.provider;
+    }
+
+    private final P provider;
+
+    /**
+     * The prepared selector, with any alias resolved.
+     */
+    public S selector() {
+        return this.selector;
+    }
+
+    private final S selector;
+
+    private final ProviderCollectionProviderGetter<P, N, S, OUT> providerGetter;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.selector + " " + this.provider;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Map;
+import java.util.SortedSet;
+
+public final class PluginAliasSetDiffTest implements ClassTesting2<PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias>>,
+    HashCodeEqualsDefinedTesting2<PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias>>,
+    ToStringTesting<PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias>> {
+
+    private final static TestPluginAlias ADDED = alias("added1 name1");
+
+    private final static TestPluginAlias REMOVED = alias("removed2 name2");
+
+    private final static TestPluginAlias CHANGED_OLD = alias("changed3 name3");
+
+    private final static TestPluginAlias CHANGED_NEW = alias("changed3 name4");
+
+    @Test
+    public void testWith() {
+        final PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias> diff = this.createObject();
+
+        this.checkEquals(
+            aliases(ADDED),
+            diff.added(),
+            "added"
+        );
+        this.checkEquals(
+            aliases(REMOVED),
+            diff.removed(),
+            "removed"
+        );
+        this.checkEquals(
+            Maps.of(
+                CHANGED_OLD,
+                CHANGED_NEW
+            ),
+            diff.changed(),
+            "changed"
+        );
+        this.checkEquals(
+            false,
+            diff.isEmpty(),
+            "isEmpty"
+        );
+    }
+
+    @Test
+    public void testIsEmpty() {
+        this.checkEquals(
+            true,
+            PluginAliasSetDiff.with(
+                aliases(),
+                aliases(),
+                Maps.<TestPluginAlias, TestPluginAlias>empty()
+            ).isEmpty()
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentAdded() {
+        this.checkNotEquals(
+            PluginAliasSetDiff.with(
+                aliases(),
+                aliases(REMOVED),
+                changed()
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentRemoved() {
+        this.checkNotEquals(
+            PluginAliasSetDiff.with(
+                aliases(ADDED),
+                aliases(),
+                changed()
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentChanged() {
+        this.checkNotEquals(
+            PluginAliasSetDiff.with(
+                aliases(ADDED),
+                aliases(REMOVED),
+                Maps.<TestPluginAlias, TestPluginAlias>empty()
+            )
+        );
+    }
+
+    @Override
+    public PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias> createObject() {
+        return PluginAliasSetDiff.with(
+            aliases(ADDED),
+            aliases(REMOVED),
+            changed()
+        );
+    }
+
+    private static TestPluginAlias alias(final String text) {
+        return TestPluginAliasSet.parse(text)
+            .first();
+    }
+
+    private static SortedSet<TestPluginAlias> aliases(final TestPluginAlias... aliases) {
+        final SortedSet<TestPluginAlias> set = SortedSets.tree();
+        for (final TestPluginAlias alias : aliases) {
+            set.add(alias);
+        }
+        return set;
+    }
+
+    private static Map<TestPluginAlias, TestPluginAlias> changed() {
+        final Map<TestPluginAlias, TestPluginAlias> changed = Maps.sorted();
+        changed.put(
+            CHANGED_OLD,
+            CHANGED_NEW
+        );
+        return changed;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "added=[added1 name1] removed=[removed2 name2] changed={changed3 name3=changed3 name4}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias>> type() {
+        return Cast.to(PluginAliasSetDiff.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginAliasSetIndexIteratorTest implements ClassTesting2<PluginAliasSetIndexIterator<String>> {
+
+    @Test
+    public void testEmpty() {
+        final PluginAliasSetIndexIterator<String> iterator = PluginAliasSetIndexIterator.with(null);
+
+        this.checkEquals(
+            false,
+            iterator.hasNext(),
+            "hasNext"
+        );
+        assertThrows(
+            NoSuchElementException.class,
+            iterator::next
+        );
+    }
+
+    @Test
+    public void testNext() {
+        final PluginAliasSetIndexNode<String> a = new PluginAliasSetIndexNode<>(
+            "a",
+            "1",
+            null,
+            null,
+            1
+        );
+        final PluginAliasSetIndexNode<String> c = new PluginAliasSetIndexNode<>(
+            "c",
+            "3",
+            null,
+            null,
+            1
+        );
+        final PluginAliasSetIndexNode<String> b = new PluginAliasSetIndexNode<>(
+            "b",
+            "2",
+            a,
+            c,
+            2
+        );
+
+        final PluginAliasSetIndexIterator<String> iterator = PluginAliasSetIndexIterator.with(b);
+
+        this.checkEquals(
+            "a",
+            iterator.next()
+        );
+        this.checkEquals(
+            "b",
+            iterator.next()
+        );
+        this.checkEquals(
+            "c",
+            iterator.next()
+        );
+        this.checkEquals(
+            false,
+            iterator.hasNext(),
+            "hasNext"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetIndexIterator<String>> type() {
+        return Cast.to(PluginAliasSetIndexIterator.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PluginAliasSetIndexNodeTest implements ClassTesting2<PluginAliasSetIndexNode<String>>,
+    ToStringTesting<PluginAliasSetIndexNode<String>> {
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            new PluginAliasSetIndexNode<>(
+                "key",
+                "value",
+                null,
+                null,
+                1
+            ),
+            "key=value"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetIndexNode<String>> type() {
+        return Cast.to(PluginAliasSetIndexNode.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,493 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.naming.Name;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginAliasSetIndexTest implements ClassTesting2<PluginAliasSetIndex<StringName, String>>,
+    ToStringTesting<PluginAliasSetIndex<StringName, String>> {
+
+    private final static Comparator<StringName> COMPARATOR = Comparator.naturalOrder();
+
+    private final static StringName NAME1 = Names.string("name1");
+
+    private final static StringName NAME2 = Names.string("name2");
+
+    private final static StringName NAME3 = Names.string("name3");
+
+    @Test
+    public void testWithEmpty() {
+        final PluginAliasSetIndex<StringName, String> index = PluginAliasSetIndex.with(
+            Maps.empty(),
+            COMPARATOR
+        );
+
+        this.checkEquals(
+            0,
+            index.size(),
+            "size"
+        );
+        this.getAndCheck(
+            index,
+            NAME1,
+            null
+        );
+    }
+
+    @Test
+    public void testGet() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        this.getAndCheck(
+            index,
+            NAME1,
+            "value1"
+        );
+        this.getAndCheck(
+            index,
+            NAME2,
+            "value2"
+        );
+        this.getAndCheck(
+            index,
+            NAME3,
+            "value3"
+        );
+    }
+
+    @Test
+    public void testGetUnknown() {
+        this.getAndCheck(
+            this.createIndex(),
+            Names.string("unknown"),
+            null
+        );
+    }
+
+    @Test
+    public void testGetUsesComparator() {
+        final Comparator<StringName> caseInsensitive = Comparator.comparing(
+            Name::value,
+            String.CASE_INSENSITIVE_ORDER
+        );
+
+        this.getAndCheck(
+            PluginAliasSetIndex.with(
+                Maps.of(
+                    NAME1,
+                    "value1"
+                ),
+                caseInsensitive
+            ),
+            Names.string("NAME1"),
+            "value1"
+        );
+    }
+
+    @Test
+    public void testContains() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        this.checkEquals(
+            true,
+            index.contains(NAME2),
+            "contains " + NAME2
+        );
+        this.checkEquals(
+            false,
+            index.contains(Names.string("unknown")),
+            "contains unknown"
+        );
+    }
+
+    @Test
+    public void testWithValuesAndKeyMapper() {
+        final PluginAliasSetIndex<StringName, String> index = PluginAliasSetIndex.with(
+            Sets.of(
+                "name3",
+                "name1",
+                "name2"
+            ),
+            Names::string,
+            COMPARATOR
+        );
+
+        this.getAndCheck(
+            index,
+            NAME1,
+            "name1"
+        );
+        this.getAndCheck(
+            index,
+            NAME3,
+            "name3"
+        );
+        this.checkEquals(
+            3,
+            index.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testFilter() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex()
+            .filter(n -> false == NAME2.equals(n));
+
+        this.checkEquals(
+            2,
+            index.size(),
+            "size"
+        );
+        this.getAndCheck(
+            index,
+            NAME2,
+            null
+        );
+        this.getAndCheck(
+            index,
+            NAME3,
+            "value3"
+        );
+    }
+
+    @Test
+    public void testFilterAllKept() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        assertSame(
+            index,
+            index.filter(n -> true)
+        );
+    }
+
+    @Test
+    public void testFilterKeys() {
+        final PluginAliasSetIndex<StringName, StringName> index = PluginAliasSetIndex.keys(
+            Sets.of(
+                NAME1,
+                NAME2,
+                NAME3
+            ),
+            COMPARATOR
+        ).filter(n -> false == NAME1.equals(n));
+
+        this.checkEquals(
+            Sets.of(
+                NAME2,
+                NAME3
+            ),
+            index.keys()
+        );
+        this.checkEquals(
+            NAME3,
+            index.get(NAME3)
+        );
+    }
+
+    @Test
+    public void testKeys() {
+        final PluginAliasSetIndex<StringName, StringName> index = PluginAliasSetIndex.keys(
+            Sets.of(
+                NAME3,
+                NAME1,
+                NAME2
+            ),
+            COMPARATOR
+        );
+
+        this.checkEquals(
+            Sets.of(
+                NAME1,
+                NAME2,
+                NAME3
+            ),
+            index.keys()
+        );
+        this.checkEquals(
+            NAME2,
+            index.get(NAME2)
+        );
+    }
+
+    @Test
+    public void testKeysEmpty() {
+        this.checkEquals(
+            Sets.empty(),
+            PluginAliasSetIndex.keys(
+                Sets.<StringName>empty(),
+                COMPARATOR
+            ).keys()
+        );
+    }
+
+    @Test
+    public void testPut() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+        final StringName name4 = Names.string("name4");
+
+        final PluginAliasSetIndex<StringName, String> put = index.put(
+            name4,
+            "value4"
+        );
+
+        this.getAndCheck(
+            put,
+            name4,
+            "value4"
+        );
+        this.checkEquals(
+            4,
+            put.size(),
+            "size"
+        );
+        this.getAndCheck(
+            index,
+            name4,
+            null
+        );
+        this.checkEquals(
+            3,
+            index.size(),
+            "original size"
+        );
+    }
+
+    @Test
+    public void testPutSameValue() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        assertSame(
+            index,
+            index.put(
+                NAME2,
+                index.get(NAME2)
+            )
+        );
+    }
+
+    @Test
+    public void testPutReplace() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex()
+            .put(
+                NAME2,
+                "replaced2"
+            );
+
+        this.getAndCheck(
+            index,
+            NAME2,
+            "replaced2"
+        );
+        this.checkEquals(
+            3,
+            index.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+        final PluginAliasSetIndex<StringName, String> removed = index.remove(NAME2);
+
+        this.getAndCheck(
+            removed,
+            NAME2,
+            null
+        );
+        this.checkEquals(
+            2,
+            removed.size(),
+            "size"
+        );
+        this.getAndCheck(
+            index,
+            NAME2,
+            "value2"
+        );
+    }
+
+    @Test
+    public void testRemoveUnknown() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        assertSame(
+            index,
+            index.remove(Names.string("unknown"))
+        );
+    }
+
+    @Test
+    public void testPutAndRemoveMany() {
+        final Map<StringName, String> expected = Maps.sorted();
+        PluginAliasSetIndex<StringName, String> index = PluginAliasSetIndex.with(
+            expected,
+            COMPARATOR
+        );
+
+        final Random random = new Random(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            final StringName key = Names.string("name" + random.nextInt(500));
+
+            if (random.nextBoolean()) {
+                final String value = "value" + i;
+                expected.put(
+                    key,
+                    value
+                );
+                index = index.put(
+                    key,
+                    value
+                );
+            } else {
+                expected.remove(key);
+                index = index.remove(key);
+            }
+        }
+
+        this.checkEquals(
+            expected.keySet(),
+            index.keys(),
+            "keys"
+        );
+        this.checkEquals(
+            expected.size(),
+            index.size(),
+            "size"
+        );
+
+        for (final Map.Entry<StringName, String> entry : expected.entrySet()) {
+            this.getAndCheck(
+                index,
+                entry.getKey(),
+                entry.getValue()
+            );
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        final List<StringName> keys = Lists.array();
+        for (final StringName key : this.createIndex()) {
+            keys.add(key);
+        }
+
+        this.checkEquals(
+            Lists.of(
+                NAME1,
+                NAME2,
+                NAME3
+            ),
+            keys
+        );
+    }
+
+    @Test
+    public void testFirstAndLast() {
+        final PluginAliasSetIndex<StringName, String> index = this.createIndex();
+
+        this.checkEquals(
+            NAME1,
+            index.first(),
+            "first"
+        );
+        this.checkEquals(
+            NAME3,
+            index.last(),
+            "last"
+        );
+    }
+
+    @Test
+    public void testFirstEmptyFails() {
+        assertThrows(
+            NoSuchElementException.class,
+            () -> PluginAliasSetIndex.with(
+                Maps.<StringName, String>empty(),
+                COMPARATOR
+            ).first()
+        );
+    }
+
+    private PluginAliasSetIndex<StringName, String> createIndex() {
+        // unsorted map, index must sort
+        return PluginAliasSetIndex.with(
+            Maps.of(
+                NAME3,
+                "value3",
+                NAME1,
+                "value1",
+                NAME2,
+                "value2"
+            ),
+            COMPARATOR
+        );
+    }
+
+    private void getAndCheck(final PluginAliasSetIndex<StringName, String> index,
+                             final StringName key,
+                             final String expected) {
+        this.checkEquals(
+            expected,
+            index.get(key),
+            () -> index + " get " + key
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createIndex(),
+            "{name1=value1, name2=value2, name3=value3}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetIndex<StringName, String>> type() {
+        return Cast.to(PluginAliasSetIndex.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PluginAliasSetParseErrorTest implements ClassTesting2<PluginAliasSetParseError>,
+    HashCodeEqualsDefinedTesting2<PluginAliasSetParseError>,
+    ToStringTesting<PluginAliasSetParseError> {
+
+    private final static int POSITION = 12;
+
+    private final static String MESSAGE = "Duplicate url: https://example.com/1";
+
+    @Test
+    public void testWith() {
+        final PluginAliasSetParseError error = this.createObject();
+
+        this.checkEquals(
+            POSITION,
+            error.position(),
+            "position"
+        );
+        this.checkEquals(
+            MESSAGE,
+            error.message(),
+            "message"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPosition() {
+        this.checkNotEquals(
+            PluginAliasSetParseError.with(
+                POSITION + 1,
+                MESSAGE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentMessage() {
+        this.checkNotEquals(
+            PluginAliasSetParseError.with(
+                POSITION,
+                "Missing alias"
+            )
+        );
+    }
+
+    @Override
+    public PluginAliasSetParseError createObject() {
+        return PluginAliasSetParseError.with(
+            POSITION,
+            MESSAGE
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            MESSAGE + " at " + POSITION
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetParseError> type() {
+        return PluginAliasSetParseError.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
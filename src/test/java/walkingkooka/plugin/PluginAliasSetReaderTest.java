@@ -0,0 +1,404 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginAliasSetReaderTest implements ClassTesting2<PluginAliasSetReader<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet>> {
+
+    @Test
+    public void testReadWithNullReaderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSetReader.read(
+                null,
+                TestPluginHelper.INSTANCE
+            )
+        );
+    }
+
+    @Test
+    public void testReadWithNullHelperFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSetReader.read(
+                new StringReader(""),
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testReadEmpty() throws IOException {
+        this.readAndCheck("");
+    }
+
+    @Test
+    public void testReadOnlySpaces() throws IOException {
+        this.readAndCheck("   ");
+    }
+
+    @Test
+    public void testReadName() throws IOException {
+        this.readAndCheck("plugin111");
+    }
+
+    @Test
+    public void testReadNameCommaName() throws IOException {
+        this.readAndCheck("plugin111, plugin222");
+    }
+
+    @Test
+    public void testReadAliasSelectorWithParameters() throws IOException {
+        this.readAndCheck("alias111 plugin111(\"Hello, 111\", 222), alias222 plugin222(\"Hello \\\"222\\\"\")");
+    }
+
+    @Test
+    public void testReadAliasSelectorUrlWithComma() throws IOException {
+        this.readAndCheck("alias111 plugin111 https://example.com/1,2 , alias222 plugin222 https://example.com/2 , plugin333");
+    }
+
+    @Test
+    public void testReadMany() throws IOException {
+        this.readAndCheck(
+            IntStream.range(0, 1000)
+                .mapToObj(i -> "alias" + i + " plugin" + i + "(" + i + ")")
+                .collect(Collectors.joining(", "))
+        );
+    }
+
+    @Test
+    public void testReadInvalidCharacterFails() {
+        this.readFails(
+            "[abs",
+            PluginAliasSetParseError.with(
+                0,
+                "Invalid character '['"
+            )
+        );
+    }
+
+    @Test
+    public void testReadTrailingCommaFails() {
+        this.readFails(
+            "plugin111, ",
+            PluginAliasSetParseError.with(
+                11,
+                "Missing alias"
+            )
+        );
+    }
+
+    @Test
+    public void testReadMissingAliasBetweenCommasFails() {
+        this.readFails(
+            "plugin111,, plugin222",
+            PluginAliasSetParseError.with(
+                10,
+                "Missing alias"
+            )
+        );
+    }
+
+    @Test
+    public void testReadSeveralInvalidCharactersFails() {
+        this.readFails(
+            "[abs, alias222 plugin222, [xyz",
+            PluginAliasSetParseError.with(
+                0,
+                "Invalid character '['"
+            ),
+            PluginAliasSetParseError.with(
+                26,
+                "Invalid character '['"
+            )
+        );
+    }
+
+    @Test
+    public void testReadSeveralDuplicatesFails() {
+        this.readFails(
+            "alias111 plugin111, plugin222, alias111 plugin333, plugin222",
+            PluginAliasSetParseError.with(
+                31,
+                "Duplicate name/alias: alias111"
+            ),
+            PluginAliasSetParseError.with(
+                51,
+                "Duplicate plugin222"
+            )
+        );
+    }
+
+    @Test
+    public void testReadDuplicateAliasTargetFails() {
+        this.readFails(
+            "alias111 plugin111, alias222 plugin111",
+            PluginAliasSetParseError.with(
+                20,
+                "Duplicate alias: alias111 and alias222"
+            )
+        );
+    }
+
+    @Test
+    public void testReadAliasAndNameFails() {
+        this.readFails(
+            "alias111 plugin111, plugin111",
+            PluginAliasSetParseError.with(
+                20,
+                "Duplicate name/alias: alias111"
+            )
+        );
+    }
+
+    @Test
+    public void testReadNameAndAliasFails() {
+        this.readFails(
+            "plugin111, alias111 plugin111",
+            PluginAliasSetParseError.with(
+                11,
+                "Duplicate name/alias: alias111"
+            )
+        );
+    }
+
+    @Test
+    public void testReadDuplicateUrlFails() {
+        this.readFails(
+            "alias111 plugin111 https://example.com/1 , alias222 plugin222 https://example.com/1",
+            PluginAliasSetParseError.with(
+                43,
+                "Duplicate url: https://example.com/1"
+            )
+        );
+    }
+
+    @Test
+    public void testReadSyntaxAndDuplicateFails() {
+        this.readFails(
+            "plugin111, [abs, plugin111",
+            PluginAliasSetParseError.with(
+                11,
+                "Invalid character '['"
+            ),
+            PluginAliasSetParseError.with(
+                17,
+                "Duplicate plugin111"
+            )
+        );
+    }
+
+    @Test
+    public void testReadDuplicateSameAsParse() {
+        this.readFailsSameAsParse(
+            "plugin111, plugin111",
+            11,
+            "Duplicate plugin111"
+        );
+    }
+
+    @Test
+    public void testReadDuplicateAliasSameAsParse() {
+        this.readFailsSameAsParse(
+            "alias111 plugin111, alias111 plugin222",
+            20,
+            "Duplicate name/alias: alias111"
+        );
+    }
+
+    @Test
+    public void testReadAliasAndNameSameAsParse() {
+        this.readFailsSameAsParse(
+            "alias111 plugin111, plugin111",
+            20,
+            "Duplicate name/alias: alias111"
+        );
+    }
+
+    @Test
+    public void testReadNameAndAliasSameAsParse() {
+        this.readFailsSameAsParse(
+            "plugin111, alias111 plugin111",
+            11,
+            "Duplicate name/alias: alias111"
+        );
+    }
+
+    @Test
+    public void testReadDuplicateAliasTargetSameAsParse() {
+        this.readFailsSameAsParse(
+            "alias222 plugin111, alias111 plugin111",
+            20,
+            "Duplicate alias: alias111 and alias222"
+        );
+    }
+
+    @Test
+    public void testReadDuplicateUrlSameAsParse() {
+        this.readFailsSameAsParse(
+            "alias111 plugin111 https://example.com/1 , alias222 plugin222 https://example.com/1",
+            43,
+            "Duplicate url: https://example.com/1"
+        );
+    }
+
+    /**
+     * Verifies the reader reports the single duplicate at the given position, with the same message as
+     * {@link PluginAliasSet#parse(String, PluginHelper)}.
+     */
+    private void readFailsSameAsParse(final String text,
+                                      final int position,
+                                      final String message) {
+        this.readFails(
+            text,
+            PluginAliasSetParseError.with(
+                position,
+                message
+            )
+        );
+
+        this.checkEquals(
+            message,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> PluginAliasSet.parse(
+                    text,
+                    TestPluginHelper.INSTANCE
+                )
+            ).getMessage(),
+            () -> "parse " + text
+        );
+    }
+
+    @Test
+    public void testReadFailsExceptionMessage() {
+        final PluginAliasSetParseException thrown = assertThrows(
+            PluginAliasSetParseException.class,
+            () -> PluginAliasSetReader.read(
+                new StringReader("[abs, plugin111, plugin111"),
+                TestPluginHelper.INSTANCE
+            )
+        );
+        this.checkEquals(
+            "Invalid character '[' at 0\n" +
+                "Duplicate plugin111 at 17",
+            thrown.getMessage()
+        );
+    }
+
+    private void readAndCheck(final String text) throws IOException {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> expected = PluginAliasSet.parse(
+            text,
+            TestPluginHelper.INSTANCE
+        );
+
+        this.checkEquals(
+            expected,
+            PluginAliasSetReader.read(
+                new StringReader(text),
+                TestPluginHelper.INSTANCE
+            ),
+            () -> "read " + text
+        );
+
+        this.checkEquals(
+            expected,
+            PluginAliasSetReader.read(
+                oneCharacterReader(text),
+                TestPluginHelper.INSTANCE
+            ),
+            () -> "read one character at a time " + text
+        );
+    }
+
+    private void readFails(final String text,
+                           final PluginAliasSetParseError... errors) {
+        final List<PluginAliasSetParseError> expected = Lists.of(errors);
+
+        this.checkEquals(
+            expected,
+            assertThrows(
+                PluginAliasSetParseException.class,
+                () -> PluginAliasSetReader.read(
+                    new StringReader(text),
+                    TestPluginHelper.INSTANCE
+                )
+            ).errors(),
+            () -> "read " + text
+        );
+
+        this.checkEquals(
+            expected,
+            assertThrows(
+                PluginAliasSetParseException.class,
+                () -> PluginAliasSetReader.read(
+                    oneCharacterReader(text),
+                    TestPluginHelper.INSTANCE
+                )
+            ).errors(),
+            () -> "read one character at a time " + text
+        );
+    }
+
+    /**
+     * A {@link Reader} that returns a single character for each read, to verify aliases split across chunks.
+     */
+    private static Reader oneCharacterReader(final String text) {
+        return new StringReader(text) {
+            @Override
+            public int read(final char[] buffer,
+                            final int offset,
+                            final int length) throws IOException {
+                return super.read(
+                    buffer,
+                    offset,
+                    Math.min(
+                        1,
+                        length
+                    )
+                );
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetReader<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet>> type() {
+        return Cast.to(PluginAliasSetReader.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -27,10 +27,17 @@ import walkingkooka.naming.Names;
 import walkingkooka.naming.StringName;
 import walkingkooka.net.Url;
 import walkingkooka.text.CaseSensitivity;
+import walkingkooka.text.CharSequences;
 import walkingkooka.text.cursor.parser.ParserException;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -594,6 +601,42 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
         );
     }
 
+    @Test
+    public void testParseManyAliasesWithAndWithoutUrls() {
+        final int count = 10000;
+
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                b.append(", ");
+            }
+            b.append("alias")
+                .append(i)
+                .append(" name")
+                .append(i);
+            if (0 == i % 10) {
+                b.append(" https://example.com/name")
+                    .append(i)
+                    .append(' ');
+            }
+        }
+
+        final TestPluginAliasSet set = this.parseString(b.toString());
+
+        this.checkEquals(
+            count,
+            set.size(),
+            "size"
+        );
+        this.checkEquals(
+            count / 10L,
+            set.stream()
+                .filter(a -> a.url().isPresent())
+                .count(),
+            "url count"
+        );
+    }
+
     @Override
     public TestPluginAliasSet parseString(final String text) {
         return TestPluginAliasSet.parse(
@@ -742,7 +785,8 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
             expected,
             this.parseString(text)
                 .pluginAliasSet
-                .namesNotAliases,
+                .namesNotAliases
+                .keys(),
             () -> "namesNotAliases in " + text
         );
     }
@@ -1067,8 +1111,71 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
         );
     }
 
+    @Test
+    public void testDeleteAliasOrNameAllNoneRemoved() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("alias1 name1, name2")
+            .pluginAliasSet;
+
+        assertSame(
+            set,
+            set.deleteAliasOrNameAll(
+                Lists.of(
+                    Names.string("unknown")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testDeleteAliasOrNameAllIndices() {
+        this.aliasSetAndCheck(
+            this.parseString("alias1 name1, alias2 name2 https://example.com/2 , name3, name4")
+                .pluginAliasSet
+                .deleteAliasOrNameAll(
+                    Lists.of(
+                        Names.string("alias1"),
+                        Names.string("name3")
+                    )
+                ),
+            this.parseString("alias2 name2 https://example.com/2 , name4")
+                .pluginAliasSet
+        );
+    }
+
     // keepAliasOrNameAll...............................................................................................
 
+    @Test
+    public void testKeepAliasOrNameAllAllKept() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("alias1 name1, name2")
+            .pluginAliasSet;
+
+        assertSame(
+            set,
+            set.keepAliasOrNameAll(
+                Lists.of(
+                    Names.string("alias1"),
+                    Names.string("name2")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testKeepAliasOrNameAllIndices() {
+        this.aliasSetAndCheck(
+            this.parseString("alias1 name1, alias2 name2 https://example.com/2 , name3, name4")
+                .pluginAliasSet
+                .keepAliasOrNameAll(
+                    Sets.of(
+                        Names.string("alias1"),
+                        Names.string("name3")
+                    )
+                ),
+            this.parseString("alias1 name1, name3")
+                .pluginAliasSet
+        );
+    }
+
     @Test
     public void testKeepAliasOrNameAllWithName() {
         this.keepAliasOrNameAllAndCheck(
@@ -1287,12 +1394,236 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
 
     private void parseAndTextCheck(final String text,
                                    final String expected) {
+        this.writeToAndCheck(
+            PluginAliasSet.parse(
+                text,
+                TestPluginHelper.INSTANCE
+            ),
+            expected
+        );
+
         this.textAndCheck(
             this.parseString(text),
             expected
         );
     }
 
+    // parseConcurrently................................................................................................
+
+    @Test
+    public void testParseConcurrentlyWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSet.parseConcurrently(
+                null,
+                TestPluginHelper.INSTANCE,
+                ForkJoinPool.commonPool()
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyWithNullHelperFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSet.parseConcurrently(
+                "",
+                null,
+                ForkJoinPool.commonPool()
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSet.parseConcurrently(
+                "",
+                TestPluginHelper.INSTANCE,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyEmpty() {
+        this.parseConcurrentlyAndCheck("");
+    }
+
+    @Test
+    public void testParseConcurrentlySmall() {
+        this.parseConcurrentlyAndCheck("alias111 plugin111(\"Hello, 111\"), plugin222");
+    }
+
+    @Test
+    public void testParseConcurrentlyLarge() {
+        this.parseConcurrentlyAndCheck(
+            aliases(2000)
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeWithRejectingExecutor() {
+        final String text = aliases(2000);
+
+        this.checkEquals(
+            PluginAliasSet.parse(
+                text,
+                TestPluginHelper.INSTANCE
+            ),
+            PluginAliasSet.parseConcurrently(
+                text,
+                TestPluginHelper.INSTANCE,
+                (r) -> {
+                    throw new RejectedExecutionException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeInvalidCharacterFails() {
+        this.parseConcurrentlyFails(
+            aliases(2000) + ", [abs"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeInvalidCharacterFirstBatchFails() {
+        this.parseConcurrentlyFails(
+            "[abs, " + aliases(2000)
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeInvalidCharacterFirstAndLastBatchFails() {
+        this.parseConcurrentlyFails(
+            "[abs, " + aliases(2000) + ", [xyz"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeDuplicateAliasFails() {
+        this.parseConcurrentlyFails(
+            aliases(2000) + ", alias1 plugin999"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeDuplicateUrlFails() {
+        this.parseConcurrentlyFails(
+            aliases(2000) + ", alias9999 plugin9999 https://example.com/1,1"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeTrailingCommaFails() {
+        this.parseConcurrentlyFails(
+            aliases(2000) + ", "
+        );
+    }
+
+    /**
+     * Creates text with the given number of aliases, each with a selector with parameters and a url containing a COMMA.
+     */
+    private static String aliases(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> "alias" + i + " plugin" + i + "(\"Hello, " + i + "\", " + i + ") https://example.com/" + i + "," + i + " ")
+            .collect(Collectors.joining(", "));
+    }
+
+    private void parseConcurrentlyAndCheck(final String text) {
+        this.checkEquals(
+            PluginAliasSet.parse(
+                text,
+                TestPluginHelper.INSTANCE
+            ),
+            PluginAliasSet.parseConcurrently(
+                text,
+                TestPluginHelper.INSTANCE,
+                ForkJoinPool.commonPool()
+            ),
+            () -> "parseConcurrently " + CharSequences.quoteAndEscape(text)
+        );
+    }
+
+    private void parseConcurrentlyFails(final String text) {
+        final IllegalArgumentException expected = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginAliasSet.parse(
+                text,
+                TestPluginHelper.INSTANCE
+            )
+        );
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginAliasSet.parseConcurrently(
+                text,
+                TestPluginHelper.INSTANCE,
+                ForkJoinPool.commonPool()
+            )
+        );
+
+        this.checkEquals(
+            expected.getClass(),
+            thrown.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            expected.getMessage(),
+            thrown.getMessage(),
+            "message"
+        );
+    }
+
+    // writeTo..........................................................................................................
+
+    @Test
+    public void testWriteToWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginAliasSet.parse(
+                TEXT,
+                TestPluginHelper.INSTANCE
+            ).writeTo(null)
+        );
+    }
+
+    @Test
+    public void testWriteToAfterText() throws IOException {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = PluginAliasSet.parse(
+            "alias111 name111 https://example.com/name111 , alias222 name222",
+            TestPluginHelper.INSTANCE
+        );
+        final String text = set.text();
+
+        final StringBuilder b = new StringBuilder();
+        set.writeTo(b);
+
+        this.checkEquals(
+            text,
+            b.toString()
+        );
+    }
+
+    private void writeToAndCheck(final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set,
+                                 final String expected) {
+        final StringBuilder b = new StringBuilder();
+        try {
+            set.writeTo(b);
+        } catch (final IOException cause) {
+            throw new Error(cause);
+        }
+
+        this.checkEquals(
+            expected,
+            b.toString(),
+            () -> set + " writeTo"
+        );
+    }
+
     // merge............................................................................................................
 
     @Test
@@ -1394,6 +1725,52 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
         );
     }
 
+    @Test
+    public void testMergeWithOnlyNamesAllProvidedReturnsProviderInfos() {
+        final TestPluginInfoSet providerInfos = TestPluginInfoSet.parse("https://example.com/111 plugin111, https://example.com/222 plugin222");
+
+        assertSame(
+            providerInfos,
+            this.parseString("plugin111, plugin222")
+                .pluginAliasSet
+                .merge(providerInfos)
+        );
+    }
+
+    @Test
+    public void testMergeTwiceSameProviderInfosCached() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> aliases = this.parseString("plugin111, alias222 plugin222")
+            .pluginAliasSet;
+        final TestPluginInfoSet providerInfos = TestPluginInfoSet.parse("https://example.com/111 plugin111, https://example.com/222 plugin222");
+
+        final TestPluginInfoSet merged = aliases.merge(providerInfos);
+
+        assertSame(
+            merged,
+            aliases.merge(providerInfos)
+        );
+    }
+
+    @Test
+    public void testMergeDifferentProviderInfos() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> aliases = this.parseString("plugin111, alias222 plugin222")
+            .pluginAliasSet;
+
+        this.checkEquals(
+            TestPluginInfoSet.parse("https://example.com/111 plugin111, https://example.com/222 alias222"),
+            aliases.merge(
+                TestPluginInfoSet.parse("https://example.com/111 plugin111, https://example.com/222 plugin222")
+            )
+        );
+
+        this.checkEquals(
+            TestPluginInfoSet.parse("https://example.com/111 plugin111"),
+            aliases.merge(
+                TestPluginInfoSet.parse("https://example.com/111 plugin111")
+            )
+        );
+    }
+
     private void mergeAndCheck(final String alias,
                                final String infos,
                                final String expected) {
@@ -1707,6 +2084,19 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
 
     // deleteAliasOrName................................................................................................
 
+    @Test
+    public void testDeleteAliasOrNameWithSelectorNameIndices() {
+        this.aliasSetAndCheck(
+            this.parseString("alias1 name1, name2, name3")
+                .pluginAliasSet
+                .deleteAliasOrName(
+                    Names.string("name1")
+                ),
+            this.parseString("name2, name3")
+                .pluginAliasSet
+        );
+    }
+
     @Test
     @Override
     public void testDeleteAliasOrNameWithNullFails() {
@@ -1865,8 +2255,309 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
         );
     }
 
+    @Test
+    public void testConcatName() {
+        this.concatAndCheck(
+            "alias2 name2 https://example.com/2 , name1",
+            "name3"
+        );
+    }
+
+    @Test
+    public void testConcatAliasWithoutUrl() {
+        this.concatAndCheck(
+            "alias2 name2 https://example.com/2 , name1",
+            "alias3 name3"
+        );
+    }
+
+    @Test
+    public void testConcatAliasWithUrl() {
+        this.concatAndCheck(
+            "name1, alias2 name2",
+            "alias3 name3 https://example.com/3"
+        );
+    }
+
+    @Test
+    public void testConcatExisting() {
+        final TestPluginAliasSet set = this.parseString("name1, alias2 name2");
+
+        assertSame(
+            set.pluginAliasSet,
+            set.pluginAliasSet.concat(
+                TestPluginAliasSet.parse("name1")
+                    .first()
+            )
+        );
+    }
+
+    @Test
+    public void testConcatDuplicateNameFails() {
+        this.concatFails(
+            "name1, alias2 name2",
+            "name1 name999",
+            "Duplicate name/alias: name1"
+        );
+    }
+
+    @Test
+    public void testConcatNameTargetOfAliasFails() {
+        this.concatFails(
+            "alias1 name1",
+            "name1",
+            "Duplicate name/alias: alias1"
+        );
+    }
+
+    @Test
+    public void testConcatAliasTargetingNameFails() {
+        this.concatFails(
+            "name1",
+            "alias1 name1",
+            "Duplicate name/alias: alias1"
+        );
+    }
+
+    @Test
+    public void testConcatAliasesWithSameTargetFails() {
+        this.concatFails(
+            "alias1 name1",
+            "alias2 name1",
+            "Duplicate alias: alias1 and alias2"
+        );
+    }
+
+    @Test
+    public void testConcatAliasesWithSameTargetFails2() {
+        this.concatFails(
+            "alias2 name1",
+            "alias1 name1",
+            "Duplicate alias: alias1 and alias2"
+        );
+    }
+
+    /**
+     * Concats the alias and verifies the result and its lookups are the same as parsing the combined text.
+     */
+    private void concatAndCheck(final String aliases,
+                                final String alias) {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString(aliases)
+            .pluginAliasSet
+            .concat(
+                TestPluginAliasSet.parse(alias)
+                    .first()
+            );
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> expected = this.parseString(aliases + ", " + alias)
+            .pluginAliasSet;
+
+        this.aliasSetAndCheck(
+            set,
+            expected
+        );
+    }
+
+    private void aliasSetAndCheck(final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set,
+                                  final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> expected) {
+        this.checkEquals(
+            expected,
+            set
+        );
+        this.checkEquals(
+            expected.namesNotAliases.keys(),
+            set.namesNotAliases.keys(),
+            "namesNotAliases"
+        );
+        this.checkEquals(
+            expected.urlToAlias.keys(),
+            set.urlToAlias.keys(),
+            "urlToAlias"
+        );
+        this.checkEquals(
+            expected.selectorNameToAlias.keys(),
+            set.selectorNameToAlias.keys(),
+            "selectorNameToAlias"
+        );
+
+        for (final TestPluginAlias alias : expected) {
+            final StringName name = alias.name();
+
+            this.checkEquals(
+                expected.aliasOrName(name),
+                set.aliasOrName(name),
+                () -> "aliasOrName " + name
+            );
+            this.checkEquals(
+                expected.aliasSelector(name),
+                set.aliasSelector(name),
+                () -> "aliasSelector " + name
+            );
+        }
+    }
+
+    private void concatFails(final String aliases,
+                             final String alias,
+                             final String expected) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.parseString(aliases)
+                .pluginAliasSet
+                .concat(
+                    TestPluginAliasSet.parse(alias)
+                        .first()
+                )
+        );
+
+        this.checkEquals(
+            expected,
+            thrown.getMessage(),
+            "message"
+        );
+
+        // same failure as parsing the combined text
+        final IllegalArgumentException thrown2 = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.parseString(aliases + ", " + alias)
+        );
+        this.checkEquals(
+            expected,
+            thrown2.getMessage(),
+            "parse message"
+        );
+    }
+
     // delete...........................................................................................................
 
+    @Test
+    public void testDeleteName() {
+        this.deleteAndCheck(
+            "name1, alias2 name2, alias3 name3 https://example.com/3",
+            "name1",
+            "alias2 name2, alias3 name3 https://example.com/3"
+        );
+    }
+
+    @Test
+    public void testDeleteAlias() {
+        this.deleteAndCheck(
+            "name1, alias2 name2, alias3 name3 https://example.com/3",
+            "alias2 name2",
+            "name1, alias3 name3 https://example.com/3"
+        );
+    }
+
+    @Test
+    public void testDeleteAliasWithUrl() {
+        this.deleteAndCheck(
+            "name1, alias2 name2, alias3 name3 https://example.com/3",
+            "alias3 name3 https://example.com/3",
+            "name1, alias2 name2"
+        );
+    }
+
+    @Test
+    public void testDeleteThenConcatAliasTarget() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("name1, alias2 name2")
+            .pluginAliasSet
+            .delete(
+                TestPluginAliasSet.parse("name1")
+                    .first()
+            ).concat(
+                TestPluginAliasSet.parse("alias1 name1")
+                    .first()
+            );
+
+        this.aliasSetAndCheck(
+            set,
+            this.parseString("alias1 name1, alias2 name2")
+                .pluginAliasSet
+        );
+    }
+
+    @Test
+    public void testDeleteThenConcatSameUrl() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("name1, alias2 name2 https://example.com/2")
+            .pluginAliasSet
+            .delete(
+                TestPluginAliasSet.parse("alias2 name2 https://example.com/2")
+                    .first()
+            ).concat(
+                TestPluginAliasSet.parse("alias3 name3 https://example.com/2")
+                    .first()
+            );
+
+        this.aliasSetAndCheck(
+            set,
+            this.parseString("name1, alias3 name3 https://example.com/2")
+                .pluginAliasSet
+        );
+    }
+
+    @Test
+    public void testDeleteThenConcatAliasSameTarget() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("alias1 name1, name2")
+            .pluginAliasSet
+            .delete(
+                TestPluginAliasSet.parse("alias1 name1")
+                    .first()
+            ).concat(
+                TestPluginAliasSet.parse("alias3 name1")
+                    .first()
+            );
+
+        this.aliasSetAndCheck(
+            set,
+            this.parseString("alias3 name1, name2")
+                .pluginAliasSet
+        );
+    }
+
+    @Test
+    public void testDeleteAliasOrNameThenConcatSameUrl() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("name1, alias2 name2 https://example.com/2")
+            .pluginAliasSet
+            .deleteAliasOrName(
+                Names.string("alias2")
+            ).concat(
+                TestPluginAliasSet.parse("alias3 name3 https://example.com/2")
+                    .first()
+            );
+
+        this.aliasSetAndCheck(
+            set,
+            this.parseString("name1, alias3 name3 https://example.com/2")
+                .pluginAliasSet
+        );
+    }
+
+    @Test
+    public void testDeleteMissing() {
+        final TestPluginAliasSet set = this.parseString("name1, alias2 name2");
+
+        assertSame(
+            set.pluginAliasSet,
+            set.pluginAliasSet.delete(
+                TestPluginAliasSet.parse("name3")
+                    .first()
+            )
+        );
+    }
+
+    private void deleteAndCheck(final String aliases,
+                                final String alias,
+                                final String expected) {
+        this.aliasSetAndCheck(
+            this.parseString(aliases)
+                .pluginAliasSet
+                .delete(
+                    TestPluginAliasSet.parse(alias)
+                        .first()
+                ),
+            this.parseString(expected)
+                .pluginAliasSet
+        );
+    }
+
     @Test
     public void testDeleteNullFails() {
         assertThrows(
@@ -1904,6 +2595,193 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
         );
     }
 
+    @Test
+    public void testReplace() {
+        this.aliasSetAndCheck(
+            this.parseString("name1, alias2 name2")
+                .pluginAliasSet
+                .replace(
+                    TestPluginAliasSet.parse("alias2 name2")
+                        .first(),
+                    TestPluginAliasSet.parse("alias2 name3")
+                        .first()
+                ),
+            this.parseString("name1, alias2 name3")
+                .pluginAliasSet
+        );
+    }
+
+    @Test
+    public void testReplaceSame() {
+        final TestPluginAliasSet set = this.parseString("name1, alias2 name2");
+
+        assertSame(
+            set.pluginAliasSet,
+            set.pluginAliasSet.replace(
+                TestPluginAliasSet.parse("alias2 name2")
+                    .first(),
+                TestPluginAliasSet.parse("alias2 name2")
+                    .first()
+            )
+        );
+    }
+
+    // diff.............................................................................................................
+
+    @Test
+    public void testDiffWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createSet()
+                .pluginAliasSet
+                .diff(null)
+        );
+    }
+
+    @Test
+    public void testDiffSame() {
+        this.diffAndCheck(
+            "name1, alias2 name2",
+            "name1, alias2 name2",
+            "",
+            "",
+            Maps.empty()
+        );
+    }
+
+    @Test
+    public void testDiffAdded() {
+        this.diffAndCheck(
+            "name1",
+            "name1, alias2 name2, name3",
+            "alias2 name2, name3",
+            "",
+            Maps.empty()
+        );
+    }
+
+    @Test
+    public void testDiffRemoved() {
+        this.diffAndCheck(
+            "name1, alias2 name2, name3",
+            "alias2 name2",
+            "",
+            "name1, name3",
+            Maps.empty()
+        );
+    }
+
+    @Test
+    public void testDiffChanged() {
+        this.diffAndCheck(
+            "name1, alias2 name2",
+            "name1, alias2 name3",
+            "",
+            "",
+            Maps.of(
+                alias("alias2 name2"),
+                alias("alias2 name3")
+            )
+        );
+    }
+
+    @Test
+    public void testDiffAddedRemovedChanged() {
+        this.diffAndCheck(
+            "alias1 name1 https://example.com/1 , alias2 name2, name4",
+            "alias1 name1 https://example.com/111 , name3, name4",
+            "name3",
+            "alias2 name2",
+            Maps.of(
+                alias("alias1 name1 https://example.com/1"),
+                alias("alias1 name1 https://example.com/111")
+            )
+        );
+    }
+
+    private void diffAndCheck(final String oldAliases,
+                              final String newAliases,
+                              final String added,
+                              final String removed,
+                              final Map<TestPluginAlias, TestPluginAlias> changed) {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> oldSet = this.parseString(oldAliases)
+            .pluginAliasSet;
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> newSet = this.parseString(newAliases)
+            .pluginAliasSet;
+
+        final PluginAliasSetDiff<StringName, TestPluginSelector, TestPluginAlias> diff = oldSet.diff(newSet);
+
+        this.checkEquals(
+            this.parseString(added)
+                .toSet(),
+            diff.added(),
+            "added"
+        );
+        this.checkEquals(
+            this.parseString(removed)
+                .toSet(),
+            diff.removed(),
+            "removed"
+        );
+        this.checkEquals(
+            changed,
+            diff.changed(),
+            "changed"
+        );
+
+        // applying the diff to the old set should give the new set
+        this.aliasSetAndCheck(
+            oldSet.apply(diff),
+            newSet
+        );
+    }
+
+    private static TestPluginAlias alias(final String text) {
+        return TestPluginAliasSet.parse(text)
+            .first();
+    }
+
+    // apply............................................................................................................
+
+    @Test
+    public void testApplyWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createSet()
+                .pluginAliasSet
+                .apply(null)
+        );
+    }
+
+    @Test
+    public void testApplyEmptyDiff() {
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> set = this.parseString("name1, alias2 name2")
+            .pluginAliasSet;
+
+        assertSame(
+            set,
+            set.apply(
+                set.diff(set)
+            )
+        );
+    }
+
+    @Test
+    public void testApplySwapAliasTargets() {
+        // changes must be deleted before being added, otherwise alias1 and alias2 would both target name2
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> oldSet = this.parseString("alias1 name1, alias2 name2")
+            .pluginAliasSet;
+        final PluginAliasSet<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> newSet = this.parseString("alias1 name2, alias2 name1")
+            .pluginAliasSet;
+
+        this.aliasSetAndCheck(
+            oldSet.apply(
+                oldSet.diff(newSet)
+            ),
+            newSet
+        );
+    }
+
     private final static TestPluginAlias ALIAS1 = TestPluginAlias.with(
         Names.string("alias1"),
         Optional.of(
@@ -1927,14 +2805,11 @@ public final class PluginAliasSetTest implements PluginAliasSetLikeTesting<Strin
     @Override
     public TestPluginAliasSet createSet() {
         return new TestPluginAliasSet(
-            new PluginAliasSet<>(
+            PluginAliasSet.with(
                 SortedSets.of(
                     ALIAS1,
                     ALIAS2
                 ),
-                Maps.empty(), // alias -> selector
-                Maps.empty(), // name -> name
-                Sets.empty(), // names
                 TestPluginHelper.INSTANCE
             )
         );
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginAliasSetValidatorTest implements ClassTesting2<PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias>>,
+    ToStringTesting<PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias>> {
+
+    @Test
+    public void testAdd() {
+        final PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias> validator = this.validator(
+            "name1, alias2 name2, alias3 name3 https://example.com/3"
+        );
+
+        this.checkEquals(
+            "{alias2=name2, alias3=name3, name1=name1}",
+            validator.aliasOrNameToName.toString(),
+            "aliasOrNameToName"
+        );
+        this.checkEquals(
+            "[name1]",
+            validator.namesNotAliases.toString(),
+            "namesNotAliases"
+        );
+        this.checkEquals(
+            "[alias2, alias3]",
+            validator.aliasToSelector.keySet()
+                .toString(),
+            "aliasToSelector"
+        );
+    }
+
+    @Test
+    public void testAddDuplicateNameFails() {
+        this.addFails(
+            "alias1 name1",
+            "alias1 name2",
+            "Duplicate name/alias: alias1"
+        );
+    }
+
+    @Test
+    public void testAddNameTargetOfAliasFails() {
+        this.addFails(
+            "alias1 name1",
+            "name1",
+            "Duplicate name/alias: alias1"
+        );
+    }
+
+    @Test
+    public void testAddAliasTargetingNameFails() {
+        this.addFails(
+            "name1",
+            "alias1 name1",
+            "Duplicate name/alias: alias1"
+        );
+    }
+
+    @Test
+    public void testAddAliasesWithSameTargetFails() {
+        this.addFails(
+            "alias2 name1",
+            "alias1 name1",
+            "Duplicate alias: alias1 and alias2"
+        );
+    }
+
+    @Test
+    public void testAddDuplicateUrlFails() {
+        this.addFails(
+            "alias1 name1 https://example.com/1",
+            "alias2 name2 https://example.com/1",
+            "Duplicate url: https://example.com/1"
+        );
+    }
+
+    @Test
+    public void testAddAfterFailure() {
+        final PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias> validator = this.validator("alias1 name1");
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> validator.add(
+                alias("alias2 name1")
+            )
+        );
+
+        validator.add(
+            alias("alias2 name2")
+        );
+
+        this.checkEquals(
+            "{alias1=name1, alias2=name2}",
+            validator.aliasOrNameToName.toString()
+        );
+    }
+
+    private void addFails(final String aliases,
+                          final String alias,
+                          final String expected) {
+        final PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias> validator = this.validator(aliases);
+
+        this.checkEquals(
+            expected,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.add(
+                    alias(alias)
+                )
+            ).getMessage()
+        );
+    }
+
+    private PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias> validator(final String aliases) {
+        final PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias> validator = PluginAliasSetValidator.with(
+            TestPluginHelper.INSTANCE.nameComparator()
+        );
+
+        for (final TestPluginAlias alias : TestPluginAliasSet.parse(aliases)) {
+            validator.add(alias);
+        }
+
+        return validator;
+    }
+
+    private static TestPluginAlias alias(final String text) {
+        return TestPluginAliasSet.parse(text)
+            .first();
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.validator("name1, alias2 name2"),
+            "{alias2=name2, name1=name1}"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginAliasSetValidator<StringName, TestPluginSelector, TestPluginAlias>> type() {
+        return Cast.to(PluginAliasSetValidator.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -17,13 +17,657 @@
 
 package walkingkooka.plugin;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Names;
 import walkingkooka.naming.StringName;
+import walkingkooka.net.AbsoluteUrl;
+import walkingkooka.net.Url;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class PluginExpressionParserTest implements ClassTesting2<PluginExpressionParser<StringName>> {
 
+    // spaces...........................................................................................................
+
+    @Test
+    public void testSpaces() {
+        final PluginExpressionParser<StringName> parser = this.parser("  \t(");
+
+        this.checkEquals(
+            true,
+            parser.spaces()
+        );
+        this.checkEquals(
+            true,
+            parser.parametersBegin()
+        );
+        this.checkEquals(
+            true,
+            parser.isEmpty()
+        );
+    }
+
+    @Test
+    public void testSpacesNone() {
+        this.checkEquals(
+            false,
+            this.parser("(")
+                .spaces()
+        );
+    }
+
+    // parameters.......................................................................................................
+
+    @Test
+    public void testParametersBeginSeparatorEnd() {
+        final PluginExpressionParser<StringName> parser = this.parser("(,)");
+
+        this.checkEquals(
+            false,
+            parser.parametersEnd(),
+            "parametersEnd"
+        );
+        this.checkEquals(
+            true,
+            parser.parametersBegin(),
+            "parametersBegin"
+        );
+        this.checkEquals(
+            true,
+            parser.parameterSeparator(),
+            "parameterSeparator"
+        );
+        this.checkEquals(
+            true,
+            parser.parametersEnd(),
+            "parametersEnd"
+        );
+        this.checkEquals(
+            false,
+            parser.parametersEnd(),
+            "parametersEnd when empty"
+        );
+    }
+
+    // next.............................................................................................................
+
+    @Test
+    public void testNext() {
+        final PluginExpressionParser<StringName> parser = this.parser("$a");
+
+        this.checkEquals(
+            '$',
+            parser.next()
+        );
+        this.checkEquals(
+            '$',
+            parser.next(),
+            "next must not consume"
+        );
+    }
+
+    @Test
+    public void testNextWhenEmpty() {
+        this.checkEquals(
+            (char) 0,
+            this.parser("")
+                .next()
+        );
+    }
+
+    // number...........................................................................................................
+
+    @Test
+    public void testNumberWithString() {
+        this.numberAndCheck(
+            "\"1\"",
+            null,
+            "\"1\""
+        );
+    }
+
+    @Test
+    public void testNumberWithMinusSignOnly() {
+        this.numberAndCheck(
+            "-)",
+            null,
+            "-)"
+        );
+    }
+
+    @Test
+    public void testNumberWithDecimalSeparatorOnly() {
+        this.numberAndCheck(
+            ".,",
+            null,
+            ".,"
+        );
+    }
+
+    @Test
+    public void testNumberWholeNumber() {
+        this.numberAndCheck(
+            "123)",
+            123.0,
+            ")"
+        );
+    }
+
+    @Test
+    public void testNumberNegativeWholeNumber() {
+        this.numberAndCheck(
+            "-123,",
+            -123.0,
+            ","
+        );
+    }
+
+    @Test
+    public void testNumberPositiveWholeNumber() {
+        this.numberAndCheck(
+            "+123",
+            123.0,
+            ""
+        );
+    }
+
+    @Test
+    public void testNumberLargeWholeNumber() {
+        this.numberAndCheck(
+            "12345678901234567890",
+            12345678901234567890.0,
+            ""
+        );
+    }
+
+    @Test
+    public void testNumberDecimal() {
+        this.numberAndCheck(
+            "-1.25)",
+            -1.25,
+            ")"
+        );
+    }
+
+    @Test
+    public void testNumberExponent() {
+        this.numberAndCheck(
+            "1.5E-3)",
+            1.5E-3,
+            ")"
+        );
+    }
+
+    @Test
+    public void testNumberExponentWithoutDigits() {
+        this.numberAndCheck(
+            "2E)",
+            2.0,
+            "E)"
+        );
+    }
+
+    @Test
+    public void testNumberLowerCaseExponent() {
+        this.numberAndCheck(
+            "2e10)",
+            2e10,
+            ")"
+        );
+    }
+
+    @Test
+    public void testNumberLowerCaseExponentNegative() {
+        this.numberAndCheck(
+            "1.5e-3,",
+            1.5e-3,
+            ","
+        );
+    }
+
+    @Test
+    public void testNumberLowerCaseExponentWithoutDigits() {
+        this.numberAndCheck(
+            "2e)",
+            2.0,
+            "e)"
+        );
+    }
+
+    private void numberAndCheck(final String text,
+                                final Double expected,
+                                final String left) {
+        final PluginExpressionParser<StringName> parser = this.parser(text);
+
+        this.checkEquals(
+            null != expected,
+            parser.number(),
+            "number " + text
+        );
+        if (null != expected) {
+            this.checkEquals(
+                expected,
+                parser.numberValue,
+                "numberValue " + text
+            );
+        }
+        this.checkEquals(
+            left,
+            this.left(parser),
+            "text left"
+        );
+    }
+
+    // doubleQuotedString...............................................................................................
+
+    @Test
+    public void testDoubleQuotedStringWithNumber() {
+        this.doubleQuotedStringAndCheck(
+            "1",
+            null,
+            "1"
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedString() {
+        this.doubleQuotedStringAndCheck(
+            "\"Hello\")",
+            "Hello",
+            ")"
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringEmpty() {
+        this.doubleQuotedStringAndCheck(
+            "\"\"",
+            "",
+            ""
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringWithEscapes() {
+        this.doubleQuotedStringAndCheck(
+            "\"a\\\"b\\\\c\\td\\u0041\",",
+            "a\"b\\c\tdA",
+            ","
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringUnclosedFails() {
+        final PluginExpressionParser<StringName> parser = this.parser("\"unclosed");
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.doubleQuotedString()
+        );
+        this.checkEquals(
+            "Missing closing '\"' expected [\"]",
+            parser.error.toString()
+        );
+        this.checkEquals(
+            9,
+            parser.error.position(),
+            "position"
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringInvalidUnicodeFails() {
+        final PluginExpressionParser<StringName> parser = this.parser("\"\\u12x4\"");
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.doubleQuotedString()
+        );
+        this.checkEquals(
+            "Invalid unicode escape sequence expected [hex-digit]",
+            parser.error.toString()
+        );
+        this.checkEquals(
+            5,
+            parser.error.position(),
+            "position"
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringWithSingleQuoteEscape() {
+        this.doubleQuotedStringAndCheck(
+            "\"a\\'b\"",
+            "a'b",
+            ""
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedStringUnknownEscapeFails() {
+        final PluginExpressionParser<StringName> parser = this.parser("\"a\\qb\"");
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.doubleQuotedString()
+        );
+        this.checkEquals(
+            "Invalid character 'q' at 3 expected [escape]",
+            parser.error.toString()
+        );
+        this.checkEquals(
+            3,
+            parser.error.position(),
+            "position"
+        );
+    }
+
+    private void doubleQuotedStringAndCheck(final String text,
+                                            final String expected,
+                                            final String left) {
+        final PluginExpressionParser<StringName> parser = this.parser(text);
+
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            parser.doubleQuotedString(),
+            "doubleQuotedString " + text
+        );
+        this.checkEquals(
+            left,
+            this.left(parser),
+            "text left"
+        );
+    }
+
+    // environmentValueName.............................................................................................
+
+    @Test
+    public void testEnvironmentValueNameMissingDollarSign() {
+        this.checkEquals(
+            Optional.empty(),
+            this.parser("abc")
+                .environmentValueName()
+        );
+    }
+
+    @Test
+    public void testEnvironmentValueNameEmptyFails() {
+        final PluginExpressionParser<StringName> parser = this.parser("$)");
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.environmentValueName()
+        );
+        this.checkEquals(
+            "Empty \"EnvironmentValueName\" expected [EnvironmentValueName]",
+            parser.error.toString()
+        );
+    }
+
+    @Test
+    public void testEnvironmentValueName() {
+        final PluginExpressionParser<StringName> parser = this.parser("$hello-world)");
+
+        this.checkEquals(
+            Optional.of(
+                EnvironmentValueName.with(
+                    "hello-world",
+                    Object.class
+                )
+            ),
+            parser.environmentValueName()
+        );
+        this.checkEquals(
+            ")",
+            this.left(parser)
+        );
+    }
+
+    // storagePath......................................................................................................
+
+    @Test
+    public void testStoragePathMissingSlash() {
+        this.checkEquals(
+            Optional.empty(),
+            this.parser("abc")
+                .storagePath()
+        );
+    }
+
+    @Test
+    public void testStoragePath() {
+        final PluginExpressionParser<StringName> parser = this.parser("/dir1/file2.txt, 3");
+
+        this.checkEquals(
+            Optional.of("/dir1/file2.txt"),
+            parser.storagePath()
+        );
+        this.checkEquals(
+            ", 3",
+            this.left(parser)
+        );
+    }
+
+    // url..............................................................................................................
+
+    @Test
+    public void testUrlEmpty() {
+        this.urlAndCheck(
+            "",
+            Optional.empty(),
+            ""
+        );
+    }
+
+    @Test
+    public void testUrlComma() {
+        this.urlAndCheck(
+            ", alias2 name2",
+            Optional.empty(),
+            ", alias2 name2"
+        );
+    }
+
+    @Test
+    public void testUrlNameWithoutSchemeSeparator() {
+        this.urlAndCheck(
+            "alias2 name2",
+            Optional.empty(),
+            "alias2 name2"
+        );
+    }
+
+    @Test
+    public void testUrlSchemeWithoutSlashes() {
+        this.urlAndCheck(
+            "https:example.com",
+            Optional.empty(),
+            "https:example.com"
+        );
+    }
+
+    @Test
+    public void testUrlSchemeSeparatorOnly() {
+        this.urlAndCheck(
+            "https:// ",
+            Optional.empty(),
+            "https:// "
+        );
+    }
+
+    @Test
+    public void testUrl() {
+        this.urlAndCheck(
+            "https://example.com/name1",
+            Optional.of(
+                Url.parseAbsolute("https://example.com/name1")
+            ),
+            ""
+        );
+    }
+
+    @Test
+    public void testUrlFollowedBySpace() {
+        this.urlAndCheck(
+            "https://example.com/name1 , alias2",
+            Optional.of(
+                Url.parseAbsolute("https://example.com/name1")
+            ),
+            " , alias2"
+        );
+    }
+
+    @Test
+    public void testUrlIncludingComma() {
+        this.urlAndCheck(
+            "https://example.com/a,b c",
+            Optional.of(
+                Url.parseAbsolute("https://example.com/a,b")
+            ),
+            " c"
+        );
+    }
+
+    @Test
+    public void testUrlInvalidFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.parser("https://example.com:port/name1 alias2")
+                .url()
+        );
+    }
+
+    private void urlAndCheck(final String text,
+                             final Optional<AbsoluteUrl> expected,
+                             final String left) {
+        final PluginExpressionParser<StringName> parser = this.parser(text);
+
+        this.checkEquals(
+            expected,
+            parser.url(),
+            () -> "url " + CharSequences.quoteAndEscape(text)
+        );
+        this.checkEquals(
+            left,
+            this.left(parser),
+            "left"
+        );
+    }
+
+    private String left(final PluginExpressionParser<StringName> parser) {
+        final TextCursor cursor = parser.cursor;
+
+        final StringBuilder b = new StringBuilder();
+        while (cursor.isNotEmpty()) {
+            b.append(cursor.at());
+            cursor.next();
+        }
+        return b.toString();
+    }
+
+    // offset...........................................................................................................
+
+    @Test
+    public void testOffset() {
+        final PluginExpressionParser<StringName> parser = PluginExpressionParser.with(
+            "  name1 (2e, \"a\\tb\", /path1",
+            TestPluginHelper.INSTANCE::parseName
+        );
+
+        this.offsetAndCheck(
+            parser,
+            0
+        );
+
+        parser.spaces();
+        this.offsetAndCheck(
+            parser,
+            2
+        );
+
+        this.checkEquals(
+            Optional.of(
+                Names.string("name1")
+            ),
+            parser.name()
+        );
+        this.offsetAndCheck(
+            parser,
+            7
+        );
+
+        parser.spaces();
+        parser.parametersBegin();
+        this.checkEquals(
+            true,
+            parser.number()
+        );
+        this.offsetAndCheck(
+            parser,
+            10
+        );
+
+        parser.parameterSeparator();
+        parser.spaces();
+        this.checkEquals(
+            Optional.of("a\tb"),
+            parser.doubleQuotedString()
+        );
+        this.offsetAndCheck(
+            parser,
+            19
+        );
+
+        parser.parameterSeparator();
+        parser.spaces();
+        this.checkEquals(
+            Optional.of("/path1"),
+            parser.storagePath()
+        );
+        this.offsetAndCheck(
+            parser,
+            27
+        );
+    }
+
+    @Test
+    public void testOffsetAfterUrlRestored() {
+        final PluginExpressionParser<StringName> parser = this.parser("abc:def");
+
+        this.checkEquals(
+            Optional.empty(),
+            parser.url()
+        );
+        this.offsetAndCheck(
+            parser,
+            0
+        );
+    }
+
+    private void offsetAndCheck(final PluginExpressionParser<StringName> parser,
+                                final int expected) {
+        this.checkEquals(
+            expected,
+            parser.offset(),
+            () -> "offset " + parser
+        );
+    }
+
+    private PluginExpressionParser<StringName> parser(final String text) {
+        return PluginExpressionParser.with(
+            text,
+            (t, c) -> Optional.empty()
+        );
+    }
+
     // class............................................................................................................
 
     @Override
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginFutureTasksTest implements ClassTesting2<PluginFutureTasks> {
+
+    private final static Executor REJECTING = (r) -> {
+        throw new RejectedExecutionException();
+    };
+
+    private final static Executor NEVER_RUNS = (r) -> {
+    };
+
+    // fork.............................................................................................................
+
+    @Test
+    public void testForkRunsTaskWithExecutor() {
+        final FutureTask<String> task = PluginFutureTasks.fork(
+            () -> "Hello",
+            Runnable::run
+        );
+
+        this.checkEquals(
+            true,
+            task.isDone(),
+            "isDone"
+        );
+        this.joinAndCheck(
+            task,
+            "Hello"
+        );
+    }
+
+    @Test
+    public void testForkRejectedThenJoinRunsTask() {
+        final FutureTask<String> task = PluginFutureTasks.fork(
+            () -> "Hello",
+            REJECTING
+        );
+
+        this.checkEquals(
+            false,
+            task.isDone(),
+            "isDone"
+        );
+        this.joinAndCheck(
+            task,
+            "Hello"
+        );
+    }
+
+    @Test
+    public void testJoinRunsTaskNotStartedByExecutor() {
+        this.joinAndCheck(
+            PluginFutureTasks.fork(
+                () -> "Hello",
+                NEVER_RUNS
+            ),
+            "Hello"
+        );
+    }
+
+    // join.............................................................................................................
+
+    @Test
+    public void testJoinRethrowsRuntimeException() {
+        final IllegalArgumentException thrown = new IllegalArgumentException("Fail!");
+
+        assertSame(
+            thrown,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> PluginFutureTasks.join(
+                    PluginFutureTasks.fork(
+                        () -> {
+                            throw thrown;
+                        },
+                        NEVER_RUNS
+                    ),
+                    "Interrupted"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testJoinRethrowsError() {
+        final AssertionError thrown = new AssertionError("Fail!");
+
+        assertSame(
+            thrown,
+            assertThrows(
+                AssertionError.class,
+                () -> PluginFutureTasks.join(
+                    PluginFutureTasks.fork(
+                        () -> {
+                            throw thrown;
+                        },
+                        NEVER_RUNS
+                    ),
+                    "Interrupted"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testJoinWrapsCheckedException() {
+        final IOException cause = new IOException("Fail!");
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> PluginFutureTasks.join(
+                PluginFutureTasks.fork(
+                    () -> {
+                        throw cause;
+                    },
+                    NEVER_RUNS
+                ),
+                "Interrupted"
+            )
+        );
+
+        assertSame(
+            cause,
+            thrown.getCause(),
+            "cause"
+        );
+    }
+
+    private <T> void joinAndCheck(final FutureTask<T> task,
+                                  final T expected) {
+        this.checkEquals(
+            expected,
+            PluginFutureTasks.join(
+                task,
+                "Interrupted"
+            )
+        );
+    }
+
+    // cancel...........................................................................................................
+
+    @Test
+    public void testCancel() {
+        final FutureTask<String> task1 = PluginFutureTasks.fork(
+            () -> "Hello1",
+            NEVER_RUNS
+        );
+        final FutureTask<String> task2 = PluginFutureTasks.fork(
+            () -> "Hello2",
+            Runnable::run
+        );
+
+        PluginFutureTasks.cancel(
+            new FutureTask<?>[]{
+                task1,
+                null,
+                task2
+            }
+        );
+
+        this.checkEquals(
+            true,
+            task1.isCancelled(),
+            "task1 cancelled"
+        );
+        this.checkEquals(
+            false,
+            task2.isCancelled(),
+            "task2 already done"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginFutureTasks> type() {
+        return PluginFutureTasks.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
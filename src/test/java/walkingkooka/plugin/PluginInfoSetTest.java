@@ -33,7 +33,12 @@ import walkingkooka.test.ParseStringTesting;
 import walkingkooka.text.HasTextTesting;
 import walkingkooka.text.printer.TreePrintableTesting;
 
+import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -389,6 +394,198 @@ public final class PluginInfoSetTest implements ImmutableSetTesting<PluginInfoSe
         );
     }
 
+    // parseConcurrently................................................................................................
+
+    @Test
+    public void testParseConcurrentlyWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginInfoSet.parseConcurrently(
+                null,
+                TestPluginHelper.INSTANCE::parseInfo,
+                ForkJoinPool.commonPool()
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyWithNullInfoParserFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginInfoSet.parseConcurrently(
+                "",
+                null,
+                ForkJoinPool.commonPool()
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginInfoSet.parseConcurrently(
+                "",
+                TestPluginHelper.INSTANCE::parseInfo,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlySmall() {
+        this.parseConcurrentlyAndCheck("https://example.com/a1 a1, https://example.com/b2 b2");
+    }
+
+    @Test
+    public void testParseConcurrentlyLarge() {
+        this.parseConcurrentlyAndCheck(
+            infos(2000)
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeDuplicateNameFails() {
+        this.parseConcurrentlyFails(
+            infos(2000) + ", https://example.com/different info1"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeDuplicateNameParsesOnce() {
+        final AtomicInteger count = new AtomicInteger();
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginInfoSet.parseConcurrently(
+                infos(2000) + ", https://example.com/different info1",
+                (text) -> {
+                    count.incrementAndGet();
+                    return TestPluginHelper.INSTANCE.parseInfo(text);
+                },
+                ForkJoinPool.commonPool()
+            )
+        );
+
+        this.checkEquals(
+            2001,
+            count.get(),
+            "each info should only be parsed once"
+        );
+    }
+
+    @Test
+    public void testParseConcurrentlyLargeTrailingCommaFails() {
+        this.parseConcurrentlyFails(
+            infos(2000) + ", "
+        );
+    }
+
+    /**
+     * Creates text with the given number of infos, each with a url containing a COMMA.
+     */
+    private static String infos(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> "https://example.com/" + i + "," + i + " info" + i)
+            .collect(Collectors.joining(", "));
+    }
+
+    private void parseConcurrentlyAndCheck(final String text) {
+        this.checkEquals(
+            this.parseString(text),
+            PluginInfoSet.parseConcurrently(
+                text,
+                TestPluginHelper.INSTANCE::parseInfo,
+                ForkJoinPool.commonPool()
+            )
+        );
+    }
+
+    private void parseConcurrentlyFails(final String text) {
+        final IllegalArgumentException expected = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.parseString(text)
+        );
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginInfoSet.parseConcurrently(
+                text,
+                TestPluginHelper.INSTANCE::parseInfo,
+                ForkJoinPool.commonPool()
+            )
+        );
+
+        this.checkEquals(
+            expected.getMessage(),
+            thrown.getMessage(),
+            "message"
+        );
+    }
+
+    // writeTo..........................................................................................................
+
+    @Test
+    public void testWriteToWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginInfoSet.with(
+                Sets.of(
+                    INFO1
+                )
+            ).writeTo(null)
+        );
+    }
+
+    @Test
+    public void testWriteToWithEmpty() throws IOException {
+        this.writeToAndCheck(
+            PluginInfoSet.with(
+                Sets.empty()
+            ),
+            ""
+        );
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        this.writeToAndCheck(
+            PluginInfoSet.with(
+                Sets.of(
+                    INFO1,
+                    INFO2
+                )
+            ),
+            "https://example.com/a1 a1, https://example.com/b2 b2"
+        );
+    }
+
+    @Test
+    public void testWriteToAfterText() throws IOException {
+        final PluginInfoSet<StringName, TestPluginInfo> set = PluginInfoSet.with(
+            Sets.of(
+                INFO1,
+                INFO2
+            )
+        );
+
+        this.writeToAndCheck(
+            set,
+            set.text()
+        );
+    }
+
+    private void writeToAndCheck(final PluginInfoSet<StringName, TestPluginInfo> set,
+                                 final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        set.writeTo(b);
+
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+    }
+
     // TreePrintable....................................................................................................
 
     @Test
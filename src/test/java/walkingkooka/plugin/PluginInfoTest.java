@@ -28,6 +28,8 @@ import walkingkooka.net.Url;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 
+import java.io.IOException;
+
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class PluginInfoTest implements ClassTesting2<PluginInfo<PluginName>>,
@@ -92,6 +94,30 @@ public final class PluginInfoTest implements ClassTesting2<PluginInfo<PluginName
         );
     }
 
+    // writeTo..........................................................................................................
+
+    @Test
+    public void testWriteToWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createObject()
+                .writeTo(null)
+        );
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        final PluginInfo<PluginName> info = this.createObject();
+
+        final StringBuilder b = new StringBuilder();
+        info.writeTo(b);
+
+        this.checkEquals(
+            URL + " " + NAME,
+            b.toString()
+        );
+    }
+
     // Comparable.......................................................................................................
 
     @Test
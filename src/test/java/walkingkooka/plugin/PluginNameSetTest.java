@@ -28,6 +28,8 @@ import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallerTesting;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.io.IOException;
+
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -229,6 +231,45 @@ public final class PluginNameSetTest implements ImmutableSortedSetTesting<Plugin
         );
     }
 
+    // writeTo..........................................................................................................
+
+    @Test
+    public void testWriteToWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createSet()
+                .writeTo(null)
+        );
+    }
+
+    @Test
+    public void testWriteToWithEmpty() throws IOException {
+        this.writeToAndCheck(
+            PluginNameSet.EMPTY,
+            ""
+        );
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        this.writeToAndCheck(
+            this.createSet(),
+            "plugin-111,plugin-222"
+        );
+    }
+
+    private void writeToAndCheck(final PluginNameSet set,
+                                 final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        set.writeTo(b);
+
+        this.checkEquals(
+            expected,
+            b.toString(),
+            set::text
+        );
+    }
+
     // TreePrintable....................................................................................................
 
     @Test
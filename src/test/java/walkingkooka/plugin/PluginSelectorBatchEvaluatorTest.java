@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorBatchEvaluatorTest implements ClassTesting2<PluginSelectorBatchEvaluator<StringName, String>> {
+
+    private final List<String> created = Lists.array();
+
+    @Test
+    public void testEvaluate() {
+        this.checkEquals(
+            "outer[1.0, inner[Hello]]",
+            this.createEvaluator()
+                .evaluate(
+                    plugin(
+                        "outer",
+                        PluginSelectorExpressionLiteral.with(1.0),
+                        plugin(
+                            "inner",
+                            PluginSelectorExpressionLiteral.with("Hello")
+                        )
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testEvaluateSharesEqualNestedPlugins() {
+        final PluginSelectorBatchEvaluator<StringName, String> evaluator = this.createEvaluator();
+
+        final String first = evaluator.evaluate(
+            plugin(
+                "outer1",
+                plugin("shared"),
+                plugin("shared")
+            )
+        );
+        final String second = evaluator.evaluate(
+            plugin(
+                "outer2",
+                plugin("shared")
+            )
+        );
+
+        this.checkEquals(
+            "outer1[shared[], shared[]]",
+            first
+        );
+        this.checkEquals(
+            "outer2[shared[]]",
+            second
+        );
+        this.checkEquals(
+            Lists.of("shared", "outer1", "outer2"),
+            this.created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testEvaluateEqualPluginTwice() {
+        final PluginSelectorBatchEvaluator<StringName, String> evaluator = this.createEvaluator();
+
+        final String first = evaluator.evaluate(
+            plugin(
+                "outer",
+                PluginSelectorExpressionLiteral.with(1.0)
+            )
+        );
+
+        assertSame(
+            first,
+            evaluator.evaluate(
+                plugin(
+                    "outer",
+                    PluginSelectorExpressionLiteral.with(1.0)
+                )
+            )
+        );
+        this.checkEquals(
+            Lists.of("outer"),
+            this.created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testEvaluateDifferentParametersNotShared() {
+        final PluginSelectorBatchEvaluator<StringName, String> evaluator = this.createEvaluator();
+
+        evaluator.evaluate(
+            plugin(
+                "outer",
+                PluginSelectorExpressionLiteral.with(1.0)
+            )
+        );
+        evaluator.evaluate(
+            plugin(
+                "outer",
+                PluginSelectorExpressionLiteral.with(2.0)
+            )
+        );
+
+        this.checkEquals(
+            Lists.of("outer", "outer"),
+            this.created,
+            "created"
+        );
+    }
+
+    private PluginSelectorBatchEvaluator<StringName, String> createEvaluator() {
+        return PluginSelectorBatchEvaluator.with(
+            (final StringName name,
+             final List<?> values,
+             final ProviderContext context) -> {
+                this.created.add(name.value());
+                return name + values.toString();
+            },
+            ProviderContexts.fake(),
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
+        );
+    }
+
+    @SafeVarargs
+    private static PluginSelectorExpressionPlugin<StringName> plugin(final String name,
+                                                                     final PluginSelectorExpression<StringName>... parameters) {
+        return PluginSelectorExpressionPlugin.with(
+            Names.string(name),
+            Lists.of(parameters),
+            (t, c) -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorBatchEvaluator<StringName, String>> type() {
+        return Cast.to(PluginSelectorBatchEvaluator.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
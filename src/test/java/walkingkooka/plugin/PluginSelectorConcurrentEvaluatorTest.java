@@ -0,0 +1,206 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginSelectorConcurrentEvaluatorTest implements ClassTesting2<PluginSelectorConcurrentEvaluator<StringName, String>> {
+
+    private final static PluginSelectorEvaluateValueTextProvider<StringName, String> PROVIDER = new PluginSelectorEvaluateValueTextProvider<>() {
+        @Override
+        public String get(final StringName name,
+                          final List<?> values,
+                          final ProviderContext context) {
+            return name + values.toString();
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+    };
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testEvaluateWithoutNestedPlugins() {
+        this.evaluateAndCheck(
+            plugin(
+                "outer",
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionLiteral.with("Hello")
+            ),
+            "outer[1.0, Hello]"
+        );
+    }
+
+    @Test
+    public void testEvaluateNestedPluginsOrdered() {
+        this.evaluateAndCheck(
+            plugin(
+                "outer",
+                plugin("a"),
+                PluginSelectorExpressionLiteral.with(2.0),
+                plugin("b"),
+                plugin("c")
+            ),
+            "outer[a[], 2.0, b[], c[]]"
+        );
+    }
+
+    @Test
+    public void testEvaluateDeeplyNestedWithSingleThreadExecutor() {
+        this.evaluateAndCheck(
+            plugin(
+                "outer",
+                plugin(
+                    "a",
+                    plugin(
+                        "a1",
+                        plugin("a1x"),
+                        plugin("a1y")
+                    ),
+                    plugin("a2")
+                ),
+                plugin(
+                    "b",
+                    plugin("b1"),
+                    plugin("b2")
+                )
+            ),
+            "outer[a[a1[a1x[], a1y[]], a2[]], b[b1[], b2[]]]"
+        );
+    }
+
+    @Test
+    public void testEvaluateRejectingExecutor() {
+        this.checkEquals(
+            "outer[a[], b[]]",
+            PluginSelectorConcurrentEvaluator.with(
+                PROVIDER,
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT,
+                (r) -> {
+                    throw new RejectedExecutionException();
+                }
+            ).evaluate(
+                plugin(
+                    "outer",
+                    plugin("a"),
+                    plugin("b")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateNestedPluginFails() {
+        final IllegalArgumentException thrown = new IllegalArgumentException("Bad plugin");
+
+        assertSame(
+            thrown,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> PluginSelectorConcurrentEvaluator.with(
+                    new PluginSelectorEvaluateValueTextProvider<StringName, String>() {
+                        @Override
+                        public String get(final StringName name,
+                                          final List<?> values,
+                                          final ProviderContext context) {
+                            if (name.value().equals("a")) {
+                                throw thrown;
+                            }
+                            return name.value();
+                        }
+
+                        @Override
+                        public boolean isThreadSafe() {
+                            return true;
+                        }
+                    },
+                    ProviderContexts.fake(),
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT,
+                    this.executor
+                ).evaluate(
+                    plugin(
+                        "outer",
+                        plugin("a"),
+                        plugin("b")
+                    )
+                )
+            )
+        );
+    }
+
+    private void evaluateAndCheck(final PluginSelectorExpressionPlugin<StringName> plugin,
+                                  final String expected) {
+        this.checkEquals(
+            expected,
+            PluginSelectorConcurrentEvaluator.with(
+                PROVIDER,
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT,
+                this.executor
+            ).evaluate(plugin)
+        );
+    }
+
+    @SafeVarargs
+    private static PluginSelectorExpressionPlugin<StringName> plugin(final String name,
+                                                                     final PluginSelectorExpression<StringName>... parameters) {
+        return PluginSelectorExpressionPlugin.with(
+            Names.string(name),
+            Lists.of(parameters),
+            (t, c) -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorConcurrentEvaluator<StringName, String>> type() {
+        return Cast.to(PluginSelectorConcurrentEvaluator.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
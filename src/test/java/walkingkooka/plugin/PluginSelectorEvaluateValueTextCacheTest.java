@@ -0,0 +1,548 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.ParserContext;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.Parsers;
+import walkingkooka.text.cursor.parser.StringParserToken;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginSelectorEvaluateValueTextCacheTest implements ClassTesting2<PluginSelectorEvaluateValueTextCache<StringName, String>>,
+    ToStringTesting<PluginSelectorEvaluateValueTextCache<StringName, String>> {
+
+    private final static BiFunction<TextCursor, ParserContext, Optional<StringName>> NAME_PARSER_AND_FACTORY = (final TextCursor text,
+                                                                                                                final ParserContext context) ->
+        Parsers.initialAndPartCharPredicateString(
+            (i) -> i >= 'a' && i <= 'z',
+            (i) -> i >= 'a' && i <= 'z' || i >= '0' && i <= '9' || i == '-',
+            1, // minLength
+            32 // maxLength
+        ).parse(
+            text,
+            context
+        ).map(
+            (final ParserToken token) -> Names.string(
+                token.cast(StringParserToken.class).value()
+            )
+        );
+
+    private final static EnvironmentValueName<String> ENVIRONMENT_VALUE_NAME = EnvironmentValueName.with(
+        "environment-value-name-1",
+        String.class
+    );
+
+    private final static StoragePath STORAGE_PATH = StoragePath.parse("/dir1/file2");
+
+    private final List<String> created = Lists.array();
+
+    private String environmentValue = "value1";
+
+    private final ProviderContext context = new FakeProviderContext() {
+        @Override
+        public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+            return Cast.to(
+                Optional.ofNullable(
+                    ENVIRONMENT_VALUE_NAME.equals(name) ?
+                        PluginSelectorEvaluateValueTextCacheTest.this.environmentValue :
+                        null
+                )
+            );
+        }
+
+        @Override
+        public StoragePath parseStoragePath(final String text) {
+            return StoragePath.parse(text);
+        }
+    };
+
+    @Test
+    public void testWithNullNameParserAndFactoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelectorEvaluateValueTextCache.with(
+                null,
+                this.provider(),
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullProviderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelectorEvaluateValueTextCache.with(
+                NAME_PARSER_AND_FACTORY,
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithZeroCapacityFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelectorEvaluateValueTextCache.with(
+                NAME_PARSER_AND_FACTORY,
+                this.provider(),
+                0
+            )
+        );
+
+        this.checkEquals(
+            "Invalid capacity 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextMissThenHit() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+        final PluginSelector<StringName> selector = selector("outer (inner, 1)");
+
+        final String value = cache.evaluateValueText(
+            selector,
+            this.context
+        );
+        this.checkEquals(
+            "outer[inner[], 1.0]",
+            value
+        );
+
+        assertSame(
+            value,
+            cache.evaluateValueText(
+                selector("outer (inner, 1)"),
+                this.context
+            )
+        );
+
+        this.checkEquals(
+            Lists.of("inner", "outer"),
+            this.created,
+            "created"
+        );
+        this.countsAndCheck(
+            cache,
+            1,
+            1,
+            0
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextEnvironmentValueChanged() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+        final PluginSelector<StringName> selector = selector("outer ($" + ENVIRONMENT_VALUE_NAME + ")");
+
+        this.checkEquals(
+            "outer[value1]",
+            cache.evaluateValueText(
+                selector,
+                this.context
+            )
+        );
+
+        this.environmentValue = "value2";
+
+        this.checkEquals(
+            "outer[value2]",
+            cache.evaluateValueText(
+                selector,
+                this.context
+            )
+        );
+
+        this.countsAndCheck(
+            cache,
+            0,
+            2,
+            0
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextEvictsLeastRecentlyUsed() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(2);
+
+        cache.evaluateValueText(selector("a"), this.context);
+        cache.evaluateValueText(selector("b"), this.context);
+        cache.evaluateValueText(selector("a"), this.context); // b is now least recently used
+        cache.evaluateValueText(selector("c"), this.context); // evicts b
+        cache.evaluateValueText(selector("a"), this.context);
+
+        this.checkEquals(
+            Lists.of("a", "b", "c"),
+            this.created,
+            "created"
+        );
+        this.countsAndCheck(
+            cache,
+            2,
+            3,
+            1
+        );
+        this.checkEquals(
+            2,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidateEnvironmentValue() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+
+        cache.evaluateValueText(selector("a ($" + ENVIRONMENT_VALUE_NAME + ")"), this.context);
+        cache.evaluateValueText(selector("b"), this.context);
+
+        cache.invalidateEnvironmentValue(ENVIRONMENT_VALUE_NAME);
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidateStoragePath() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+        final PluginSelector<StringName> selector = selector("a (b (" + STORAGE_PATH + "))");
+
+        cache.evaluateValueText(selector, this.context);
+        cache.evaluateValueText(selector("b"), this.context);
+
+        cache.invalidateStoragePath(STORAGE_PATH);
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+
+        cache.evaluateValueText(selector, this.context);
+
+        this.checkEquals(
+            Lists.of("b", "a", "b", "b", "a"),
+            this.created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testInvalidateEnvironmentValueAfterEviction() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(1);
+
+        cache.evaluateValueText(selector("a ($" + ENVIRONMENT_VALUE_NAME + ")"), this.context);
+        cache.evaluateValueText(selector("b"), this.context); // evicts a
+
+        cache.invalidateEnvironmentValue(ENVIRONMENT_VALUE_NAME);
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidateStoragePathAfterInvalidatePluginName() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+
+        cache.evaluateValueText(selector("a (" + STORAGE_PATH + ")"), this.context);
+        cache.evaluateValueText(selector("b (" + STORAGE_PATH + ")"), this.context);
+
+        cache.invalidatePluginName(Names.string("a"));
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+
+        cache.invalidateStoragePath(STORAGE_PATH);
+
+        this.checkEquals(
+            0,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginNameWithNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createCache(10)
+                .invalidatePluginName(null)
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginName() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+
+        cache.evaluateValueText(selector("a (b)"), this.context);
+        cache.evaluateValueText(selector("b"), this.context);
+        cache.evaluateValueText(selector("c"), this.context);
+
+        cache.invalidatePluginName(Names.string("b"));
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+
+        cache.evaluateValueText(selector("c"), this.context);
+        cache.evaluateValueText(selector("b"), this.context);
+
+        this.checkEquals(
+            Lists.of("b", "a", "b", "c", "b"),
+            this.created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginNameUnknown() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+
+        cache.evaluateValueText(selector("a"), this.context);
+        cache.invalidatePluginName(Names.string("unknown"));
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginNameAfterEviction() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(1);
+
+        cache.evaluateValueText(selector("a (x)"), this.context);
+        cache.evaluateValueText(selector("b (x)"), this.context); // evicts a
+
+        cache.invalidatePluginName(Names.string("a"));
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+
+        cache.invalidatePluginName(Names.string("x"));
+
+        this.checkEquals(
+            0,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginNameAfterInvalidateStoragePath() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+        final PluginSelector<StringName> selector = selector("a (" + STORAGE_PATH + ")");
+
+        cache.evaluateValueText(selector, this.context);
+        cache.invalidateStoragePath(STORAGE_PATH);
+        cache.evaluateValueText(selector("b"), this.context);
+
+        cache.invalidatePluginName(Names.string("a"));
+
+        this.checkEquals(
+            1,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInvalidatePluginNameWhileEvaluatingNotCached() {
+        this.invalidateWhileEvaluatingAndCheck(
+            (c) -> c.invalidatePluginName(Names.string("a"))
+        );
+    }
+
+    @Test
+    public void testInvalidateEnvironmentValueWhileEvaluatingNotCached() {
+        this.invalidateWhileEvaluatingAndCheck(
+            (c) -> c.invalidateEnvironmentValue(ENVIRONMENT_VALUE_NAME)
+        );
+    }
+
+    @Test
+    public void testInvalidateStoragePathWhileEvaluatingNotCached() {
+        this.invalidateWhileEvaluatingAndCheck(
+            (c) -> c.invalidateStoragePath(STORAGE_PATH)
+        );
+    }
+
+    @Test
+    public void testClearWhileEvaluatingNotCached() {
+        this.invalidateWhileEvaluatingAndCheck(
+            PluginSelectorEvaluateValueTextCache::clear
+        );
+    }
+
+    /**
+     * The provider invalidates while the plugin is being created, simulating a watcher on another thread, the created
+     * plugin must be returned but not cached.
+     */
+    private void invalidateWhileEvaluatingAndCheck(final Consumer<PluginSelectorEvaluateValueTextCache<StringName, String>> invalidate) {
+        final List<PluginSelectorEvaluateValueTextCache<StringName, String>> caches = Lists.array();
+
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = PluginSelectorEvaluateValueTextCache.with(
+            NAME_PARSER_AND_FACTORY,
+            (final StringName name,
+             final List<?> values,
+             final ProviderContext context) -> {
+                invalidate.accept(caches.get(0));
+                return name + values.toString();
+            },
+            10
+        );
+        caches.add(cache);
+
+        cache.evaluateValueText(
+            selector("a ($" + ENVIRONMENT_VALUE_NAME + ", " + STORAGE_PATH + ")"),
+            this.context
+        );
+
+        this.checkEquals(
+            0,
+            cache.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testClear() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+
+        cache.evaluateValueText(selector("a"), this.context);
+        cache.clear();
+
+        this.checkEquals(
+            0,
+            cache.size(),
+            "size"
+        );
+        this.countsAndCheck(
+            cache,
+            0,
+            1,
+            0
+        );
+    }
+
+    private PluginSelectorEvaluateValueTextCache<StringName, String> createCache(final int capacity) {
+        return PluginSelectorEvaluateValueTextCache.with(
+            NAME_PARSER_AND_FACTORY,
+            this.provider(),
+            capacity
+        );
+    }
+
+    private PluginSelectorEvaluateValueTextProvider<StringName, String> provider() {
+        return (final StringName name,
+                final List<?> values,
+                final ProviderContext context) -> {
+            this.created.add(name.value());
+            return name + values.toString();
+        };
+    }
+
+    private static PluginSelector<StringName> selector(final String text) {
+        return PluginSelector.parse(
+            text,
+            Names::string
+        );
+    }
+
+    private void countsAndCheck(final PluginSelectorEvaluateValueTextCache<?, ?> cache,
+                                final long hits,
+                                final long misses,
+                                final long evictions) {
+        this.checkEquals(
+            hits,
+            cache.hitCount(),
+            "hitCount"
+        );
+        this.checkEquals(
+            misses,
+            cache.missCount(),
+            "missCount"
+        );
+        this.checkEquals(
+            evictions,
+            cache.evictionCount(),
+            "evictionCount"
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final PluginSelectorEvaluateValueTextCache<StringName, String> cache = this.createCache(10);
+        cache.evaluateValueText(selector("a"), this.context);
+        cache.evaluateValueText(selector("a"), this.context);
+
+        this.toStringAndCheck(
+            cache,
+            "size=1 capacity=10 hits=1 misses=1 evictions=0"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorEvaluateValueTextCache<StringName, String>> type() {
+        return Cast.to(PluginSelectorEvaluateValueTextCache.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
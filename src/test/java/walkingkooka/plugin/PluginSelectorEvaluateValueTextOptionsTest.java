@@ -0,0 +1,283 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.naming.Names;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginSelectorEvaluateValueTextOptionsTest implements ClassTesting2<PluginSelectorEvaluateValueTextOptions>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorEvaluateValueTextOptions>,
+    ToStringTesting<PluginSelectorEvaluateValueTextOptions> {
+
+    @Test
+    public void testDefault() {
+        this.checkEquals(
+            false,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.isLazy(),
+            "lazy"
+        );
+    }
+
+    // setLazy..........................................................................................................
+
+    @Test
+    public void testSetLazySame() {
+        final PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT;
+
+        assertSame(
+            options,
+            options.setLazy(false)
+        );
+    }
+
+    @Test
+    public void testSetLazyDifferent() {
+        final PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT;
+        final PluginSelectorEvaluateValueTextOptions different = options.setLazy(true);
+
+        this.checkEquals(
+            true,
+            different.isLazy(),
+            "lazy"
+        );
+        this.checkEquals(
+            false,
+            options.isLazy(),
+            "original lazy"
+        );
+    }
+
+    // setMaxDepth......................................................................................................
+
+    @Test
+    public void testSetMaxDepthZeroFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(0)
+        );
+
+        this.checkEquals(
+            "Invalid maxDepth 0 <= 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testSetMaxDepthSame() {
+        final PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT;
+
+        assertSame(
+            options,
+            options.setMaxDepth(Integer.MAX_VALUE)
+        );
+    }
+
+    @Test
+    public void testSetMaxDepthDifferent() {
+        final PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true);
+        final PluginSelectorEvaluateValueTextOptions different = options.setMaxDepth(5);
+
+        this.checkEquals(
+            5,
+            different.maxDepth(),
+            "maxDepth"
+        );
+        this.checkEquals(
+            true,
+            different.isLazy(),
+            "lazy"
+        );
+    }
+
+    // setMaxParameterCount.............................................................................................
+
+    @Test
+    public void testSetMaxParameterCountNegativeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(-1)
+        );
+    }
+
+    @Test
+    public void testSetMaxParameterCountDifferent() {
+        this.checkEquals(
+            10,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(10)
+                .maxParameterCount()
+        );
+    }
+
+    // setMaxTextLength.................................................................................................
+
+    @Test
+    public void testSetMaxTextLengthNegativeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(-1)
+        );
+    }
+
+    @Test
+    public void testSetMaxTextLengthDifferent() {
+        this.checkEquals(
+            100,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(100)
+                .maxTextLength()
+        );
+    }
+
+    // setDeadline......................................................................................................
+
+    @Test
+    public void testSetDeadlineSame() {
+        final PluginSelectorEvaluateValueTextOptions options = PluginSelectorEvaluateValueTextOptions.DEFAULT;
+
+        assertSame(
+            options,
+            options.setDeadline(PluginSelectorEvaluateValueTextOptions.NO_DEADLINE)
+        );
+    }
+
+    @Test
+    public void testSetDeadlineDifferent() {
+        this.checkEquals(
+            123L,
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setDeadline(123)
+                .deadline()
+        );
+    }
+
+    // checkXXX.........................................................................................................
+
+    @Test
+    public void testCheckTextLength() {
+        PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(3)
+            .checkTextLength("abc");
+    }
+
+    @Test
+    public void testCheckTextLengthFails() {
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(3)
+                .checkTextLength("abcd")
+        );
+
+        this.checkEquals(
+            "Text length 4 > 3",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testCheckDeadlineFails() {
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> PluginSelectorEvaluateValueTextOptions.DEFAULT.setDeadline(0)
+                .checkDeadline(Names.string("plugin123"))
+        );
+
+        this.checkEquals(
+            "Deadline exceeded before creating plugin123",
+            thrown.getMessage()
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentLazy() {
+        this.checkNotEquals(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentMaxDepth() {
+        this.checkNotEquals(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(2)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentMaxParameterCount() {
+        this.checkNotEquals(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(2)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentMaxTextLength() {
+        this.checkNotEquals(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(2)
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentDeadline() {
+        this.checkNotEquals(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setDeadline(2)
+        );
+    }
+
+    @Override
+    public PluginSelectorEvaluateValueTextOptions createObject() {
+        return PluginSelectorEvaluateValueTextOptions.DEFAULT;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true),
+            "lazy=true"
+        );
+    }
+
+    @Test
+    public void testToStringWithBudgets() {
+        this.toStringAndCheck(
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(5)
+                .setMaxParameterCount(10)
+                .setMaxTextLength(100)
+                .setDeadline(123),
+            "lazy=false maxDepth=5 maxParameterCount=10 maxTextLength=100 deadline=123"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorEvaluateValueTextOptions> type() {
+        return PluginSelectorEvaluateValueTextOptions.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorExpressionEnvironmentValueTest implements ClassTesting2<PluginSelectorExpressionEnvironmentValue<StringName>>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorExpressionEnvironmentValue<StringName>>,
+    ToStringTesting<PluginSelectorExpressionEnvironmentValue<StringName>> {
+
+    private final static EnvironmentValueName<Object> NAME = EnvironmentValueName.with(
+        "hello",
+        Object.class
+    );
+
+    @Test
+    public void testEvaluate() {
+        final String value = "EnvironmentValue123";
+
+        this.checkEquals(
+            value,
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .evaluate(
+                    (n, v, c) -> {
+                        throw new UnsupportedOperationException();
+                    },
+                    new FakeProviderContext() {
+                        @Override
+                        public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                            return Cast.to(
+                                Optional.ofNullable(
+                                    NAME.equals(name) ?
+                                        value :
+                                        null
+                                )
+                            );
+                        }
+                    },
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT
+                )
+        );
+    }
+
+    @Test
+    public void testEvaluateWithValue() {
+        this.checkEquals(
+            "Value123",
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .setValue("Value123")
+                .evaluate(
+                    (n, v, c) -> {
+                        throw new UnsupportedOperationException();
+                    },
+                    ProviderContexts.fake(),
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT
+                )
+        );
+    }
+
+    @Test
+    public void testSetValueSame() {
+        final PluginSelectorExpressionEnvironmentValue<StringName> expression = PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+            .setValue("Value123");
+
+        assertSame(
+            expression,
+            expression.setValue("Value123")
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValues() {
+        this.checkEquals(
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .setValue("Value123"),
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .setEnvironmentValues(
+                    Maps.of(
+                        NAME,
+                        "Value123"
+                    )
+                )
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValuesMissing() {
+        final PluginSelectorExpressionEnvironmentValue<StringName> expression = PluginSelectorExpressionEnvironmentValue.with(NAME);
+
+        assertSame(
+            expression,
+            expression.setEnvironmentValues(
+                Maps.of(
+                    EnvironmentValueName.with(
+                        "different",
+                        Object.class
+                    ),
+                    "Value123"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionEnvironmentValue.with(NAME),
+            "$hello"
+        );
+    }
+
+    @Test
+    public void testToStringWithValue() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .setValue("Value123"),
+            "$hello"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferent() {
+        this.checkNotEquals(
+            PluginSelectorExpressionEnvironmentValue.with(
+                EnvironmentValueName.with(
+                    "different",
+                    Object.class
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentValue() {
+        this.checkNotEquals(
+            PluginSelectorExpressionEnvironmentValue.<StringName>with(NAME)
+                .setValue("Value123")
+        );
+    }
+
+    @Override
+    public PluginSelectorExpressionEnvironmentValue<StringName> createObject() {
+        return PluginSelectorExpressionEnvironmentValue.with(NAME);
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorExpressionEnvironmentValue<StringName>> type() {
+        return Cast.to(PluginSelectorExpressionEnvironmentValue.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorExpressionLiteralTest implements ClassTesting2<PluginSelectorExpressionLiteral<StringName>>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorExpressionLiteral<StringName>>,
+    ToStringTesting<PluginSelectorExpressionLiteral<StringName>> {
+
+    @Test
+    public void testEvaluate() {
+        final String value = "Hello";
+
+        this.checkEquals(
+            value,
+            PluginSelectorExpressionLiteral.<StringName>with(value)
+                .evaluate(
+                    (n, v, c) -> {
+                        throw new UnsupportedOperationException();
+                    },
+                    ProviderContexts.fake(),
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT
+                )
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValues() {
+        final PluginSelectorExpressionLiteral<StringName> expression = PluginSelectorExpressionLiteral.with(1.5);
+
+        assertSame(
+            expression,
+            expression.setEnvironmentValues(
+                Maps.of(
+                    EnvironmentValueName.with(
+                        "hello",
+                        Object.class
+                    ),
+                    "Value123"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testToStringNumber() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionLiteral.with(1.5),
+            "1.5"
+        );
+    }
+
+    @Test
+    public void testToStringString() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionLiteral.with("Hello \"World\""),
+            "\"Hello \\\"World\\\"\""
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferent() {
+        this.checkNotEquals(
+            PluginSelectorExpressionLiteral.with("different")
+        );
+    }
+
+    @Override
+    public PluginSelectorExpressionLiteral<StringName> createObject() {
+        return PluginSelectorExpressionLiteral.with("Hello");
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorExpressionLiteral<StringName>> type() {
+        return Cast.to(PluginSelectorExpressionLiteral.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.ParserContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorExpressionPluginTest implements ClassTesting2<PluginSelectorExpressionPlugin<StringName>>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorExpressionPlugin<StringName>>,
+    ToStringTesting<PluginSelectorExpressionPlugin<StringName>> {
+
+    private final static StringName NAME = Names.string("outer");
+
+    private final static StringName NAME2 = Names.string("inner");
+
+    private final static BiFunction<TextCursor, ParserContext, Optional<StringName>> NAME_PARSER_AND_FACTORY = (t, c) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @Test
+    public void testEvaluate() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.of(
+                        PluginSelectorExpressionLiteral.with("Hello")
+                    ),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            "outer[1.0, inner[Hello]]",
+            expression.evaluate(
+                (final StringName name,
+                 final List<?> values,
+                 final ProviderContext context) -> name + values.toString(),
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateLazyNestedPluginNotCreatedUntilFetched() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.empty(),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final List<StringName> created = Lists.array();
+
+        this.checkEquals(
+            "outer 1.0",
+            expression.evaluate(
+                (final StringName name,
+                 final List<?> values,
+                 final ProviderContext context) -> {
+                    created.add(name);
+                    return name + " " + values.get(0);
+                },
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true)
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(NAME),
+            created,
+            "nested plugin should not have been created"
+        );
+    }
+
+    @Test
+    public void testEvaluateLazyNestedPluginCreatedOnce() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.empty(),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final List<StringName> created = Lists.array();
+
+        this.checkEquals(
+            "outer inner inner",
+            expression.evaluate(
+                (final StringName name,
+                 final List<?> values,
+                 final ProviderContext context) -> {
+                    created.add(name);
+                    return values.isEmpty() ?
+                        name.value() :
+                        name + " " + values.get(0) + " " + values.get(0);
+                },
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true)
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(NAME, NAME2),
+            created
+        );
+    }
+
+    @Test
+    public void testEnvironmentValueNamesAndStoragePaths() {
+        final EnvironmentValueName<String> environmentValueName = EnvironmentValueName.with(
+            "hello",
+            String.class
+        );
+
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionStoragePath.with("/path1"),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.of(
+                        PluginSelectorExpressionEnvironmentValue.with(environmentValueName),
+                        PluginSelectorExpressionStoragePath.with("/path2")
+                    ),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final Set<EnvironmentValueName<?>> environmentValueNames = Sets.hash();
+        expression.environmentValueNames(environmentValueNames);
+
+        this.checkEquals(
+            Sets.of(environmentValueName),
+            environmentValueNames,
+            "environmentValueNames"
+        );
+
+        final Set<String> storagePaths = Sets.hash();
+        expression.storagePaths(storagePaths);
+
+        this.checkEquals(
+            Sets.of("/path1", "/path2"),
+            storagePaths,
+            "storagePaths"
+        );
+    }
+
+    @Test
+    public void testPluginNames() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.of(
+                        PluginSelectorExpressionStoragePath.with("/path1")
+                    ),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final Set<StringName> names = Sets.hash();
+        expression.pluginNames(names);
+
+        this.checkEquals(
+            Sets.of(NAME, NAME2),
+            names
+        );
+    }
+
+    @Test
+    public void testDepthAndParameterCount() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.of(
+                        PluginSelectorExpressionLiteral.with(2.0),
+                        PluginSelectorExpressionPlugin.with(
+                            NAME,
+                            Lists.empty(),
+                            NAME_PARSER_AND_FACTORY
+                        )
+                    ),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            3,
+            expression.depth,
+            "depth"
+        );
+        this.checkEquals(
+            4,
+            expression.parameterCount,
+            "parameterCount"
+        );
+    }
+
+    @Test
+    public void testEnvironmentValueNamesCached() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME)
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            Sets.of(ENVIRONMENT_VALUE_NAME),
+            expression.environmentValueNames()
+        );
+        assertSame(
+            expression.environmentValueNames(),
+            expression.environmentValueNames()
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValues() {
+        final PluginSelectorExpressionPlugin<StringName> nestedWithout = PluginSelectorExpressionPlugin.with(
+            NAME2,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(2.0)
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME),
+                nestedWithout
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final PluginSelectorExpressionPlugin<StringName> replaced = expression.setEnvironmentValues(
+            Maps.of(
+                ENVIRONMENT_VALUE_NAME,
+                "Value123"
+            )
+        );
+
+        this.checkEquals(
+            PluginSelectorExpressionPlugin.with(
+                NAME,
+                Lists.of(
+                    PluginSelectorExpressionEnvironmentValue.<StringName>with(ENVIRONMENT_VALUE_NAME)
+                        .setValue("Value123"),
+                    nestedWithout
+                ),
+                NAME_PARSER_AND_FACTORY
+            ),
+            replaced
+        );
+        assertSame(
+            nestedWithout,
+            replaced.parameters.get(1),
+            "nested plugin without environment values should be shared"
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValuesWithoutEnvironmentValues() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionLiteral.with(1.0)
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        assertSame(
+            expression,
+            expression.setEnvironmentValues(
+                Maps.of(
+                    ENVIRONMENT_VALUE_NAME,
+                    "Value123"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testSnapshotEnvironmentValuesFetchesOnce() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME),
+                PluginSelectorExpressionPlugin.with(
+                    NAME2,
+                    Lists.of(
+                        PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME)
+                    ),
+                    NAME_PARSER_AND_FACTORY
+                )
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final List<EnvironmentValueName<?>> fetched = Lists.array();
+
+        this.checkEquals(
+            "outer[Value1, inner[Value1]]",
+            expression.snapshotEnvironmentValues(
+                new FakeProviderContext() {
+                    @Override
+                    public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                        fetched.add(name);
+                        return Cast.to(
+                            Optional.of("Value" + fetched.size())
+                        );
+                    }
+                }
+            ).evaluate(
+                (final StringName name,
+                 final List<?> values,
+                 final ProviderContext context) -> name + values.toString(),
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(ENVIRONMENT_VALUE_NAME),
+            fetched,
+            "fetched"
+        );
+    }
+
+    @Test
+    public void testSnapshotEnvironmentValuesUnchangedReusesSnapshot() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME)
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final ProviderContext context = new FakeProviderContext() {
+            @Override
+            public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                return Cast.to(
+                    Optional.of("Value123")
+                );
+            }
+        };
+
+        final PluginSelectorExpressionPlugin<StringName> snapshot = expression.snapshotEnvironmentValues(context);
+
+        assertSame(
+            snapshot,
+            expression.snapshotEnvironmentValues(context)
+        );
+        this.toStringAndCheck(
+            snapshot,
+            expression.toString()
+        );
+    }
+
+    @Test
+    public void testSnapshotEnvironmentValuesChanged() {
+        final PluginSelectorExpressionPlugin<StringName> expression = PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.of(
+                PluginSelectorExpressionEnvironmentValue.with(ENVIRONMENT_VALUE_NAME)
+            ),
+            NAME_PARSER_AND_FACTORY
+        );
+
+        final List<EnvironmentValueName<?>> fetched = Lists.array();
+        final ProviderContext context = new FakeProviderContext() {
+            @Override
+            public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                fetched.add(name);
+                return Cast.to(
+                    Optional.of("Value" + fetched.size())
+                );
+            }
+        };
+
+        final PluginSelectorExpressionPlugin<StringName> snapshot = expression.snapshotEnvironmentValues(context);
+
+        this.checkNotEquals(
+            snapshot,
+            expression.snapshotEnvironmentValues(context)
+        );
+    }
+
+    private final static EnvironmentValueName<String> ENVIRONMENT_VALUE_NAME = EnvironmentValueName.with(
+        "environment-value-1",
+        String.class
+    );
+
+    @Test
+    public void testToStringWithoutParameters() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionPlugin.with(
+                NAME,
+                Lists.empty(),
+                NAME_PARSER_AND_FACTORY
+            ),
+            "outer"
+        );
+    }
+
+    @Test
+    public void testToStringWithParameters() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionPlugin.with(
+                NAME,
+                Lists.of(
+                    PluginSelectorExpressionLiteral.with(1.5),
+                    PluginSelectorExpressionLiteral.with("Hello"),
+                    PluginSelectorExpressionPlugin.with(
+                        NAME2,
+                        Lists.empty(),
+                        NAME_PARSER_AND_FACTORY
+                    )
+                ),
+                NAME_PARSER_AND_FACTORY
+            ),
+            "outer(1.5, \"Hello\", inner)"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferent() {
+        this.checkNotEquals(
+            PluginSelectorExpressionPlugin.with(
+                NAME,
+                Lists.of(
+                    PluginSelectorExpressionLiteral.with(1.0)
+                ),
+                NAME_PARSER_AND_FACTORY
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentNameParserAndFactory() {
+        this.checkEquals(
+            this.createObject(),
+            PluginSelectorExpressionPlugin.with(
+                NAME,
+                Lists.empty(),
+                (t, c) -> Optional.empty()
+            )
+        );
+    }
+
+    @Override
+    public PluginSelectorExpressionPlugin<StringName> createObject() {
+        return PluginSelectorExpressionPlugin.with(
+            NAME,
+            Lists.empty(),
+            NAME_PARSER_AND_FACTORY
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorExpressionPlugin<StringName>> type() {
+        return Cast.to(PluginSelectorExpressionPlugin.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
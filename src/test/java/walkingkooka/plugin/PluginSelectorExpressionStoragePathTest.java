@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StoragePath;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorExpressionStoragePathTest implements ClassTesting2<PluginSelectorExpressionStoragePath<StringName>>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorExpressionStoragePath<StringName>>,
+    ToStringTesting<PluginSelectorExpressionStoragePath<StringName>> {
+
+    private final static String PATH = "/dir1/file2.txt";
+
+    @Test
+    public void testEvaluate() {
+        this.checkEquals(
+            StoragePath.parse(PATH),
+            PluginSelectorExpressionStoragePath.<StringName>with(PATH)
+                .evaluate(
+                    (n, v, c) -> {
+                        throw new UnsupportedOperationException();
+                    },
+                    new FakeProviderContext() {
+                        @Override
+                        public StoragePath parseStoragePath(final String text) {
+                            return StoragePath.parse(text);
+                        }
+                    },
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT
+                )
+        );
+    }
+
+    @Test
+    public void testSetEnvironmentValues() {
+        final PluginSelectorExpressionStoragePath<StringName> expression = PluginSelectorExpressionStoragePath.with(PATH);
+
+        assertSame(
+            expression,
+            expression.setEnvironmentValues(
+                Maps.of(
+                    EnvironmentValueName.with(
+                        "hello",
+                        Object.class
+                    ),
+                    "Value123"
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            PluginSelectorExpressionStoragePath.with(PATH),
+            PATH
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferent() {
+        this.checkNotEquals(
+            PluginSelectorExpressionStoragePath.with("/different")
+        );
+    }
+
+    @Override
+    public PluginSelectorExpressionStoragePath<StringName> createObject() {
+        return PluginSelectorExpressionStoragePath.with(PATH);
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorExpressionStoragePath<StringName>> type() {
+        return Cast.to(PluginSelectorExpressionStoragePath.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+public final class PluginSelectorParameterListLazyValueTest implements ClassTesting2<PluginSelectorParameterListLazyValue<StringName, String>>,
+    ToStringTesting<PluginSelectorParameterListLazyValue<StringName, String>> {
+
+    private final static StringName NAME = Names.string("hello");
+
+    private final static PluginSelectorExpressionPlugin<StringName> EXPRESSION = PluginSelectorExpressionPlugin.with(
+        NAME,
+        Lists.empty(),
+        (t, c) -> {
+            throw new UnsupportedOperationException();
+        }
+    );
+
+    @Test
+    public void testGetCreatesOnce() {
+        final List<StringName> created = Lists.array();
+
+        final PluginSelectorParameterListLazyValue<StringName, String> value = PluginSelectorParameterListLazyValue.with(
+            EXPRESSION,
+            (final StringName name,
+             final List<?> values,
+             final ProviderContext context) -> {
+                created.add(name);
+                return "Created " + name;
+            },
+            ProviderContexts.fake(),
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
+        );
+
+        this.checkEquals(
+            Lists.empty(),
+            created,
+            "created before get"
+        );
+
+        this.checkEquals(
+            "Created hello",
+            value.get()
+        );
+        this.checkEquals(
+            "Created hello",
+            value.get()
+        );
+
+        this.checkEquals(
+            Lists.of(NAME),
+            created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testGetNull() {
+        final List<StringName> created = Lists.array();
+
+        final PluginSelectorParameterListLazyValue<StringName, String> value = PluginSelectorParameterListLazyValue.with(
+            EXPRESSION,
+            (final StringName name,
+             final List<?> values,
+             final ProviderContext context) -> {
+                created.add(name);
+                return null;
+            },
+            ProviderContexts.fake(),
+            PluginSelectorEvaluateValueTextOptions.DEFAULT
+        );
+
+        this.checkEquals(
+            null,
+            value.get()
+        );
+        this.checkEquals(
+            null,
+            value.get()
+        );
+
+        this.checkEquals(
+            Lists.of(NAME),
+            created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testToStringBeforeGet() {
+        this.toStringAndCheck(
+            PluginSelectorParameterListLazyValue.with(
+                EXPRESSION,
+                (n, v, c) -> {
+                    throw new UnsupportedOperationException();
+                },
+                ProviderContexts.fake(),
+                PluginSelectorEvaluateValueTextOptions.DEFAULT
+            ),
+            "hello"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorParameterListLazyValue<StringName, String>> type() {
+        return Cast.to(PluginSelectorParameterListLazyValue.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
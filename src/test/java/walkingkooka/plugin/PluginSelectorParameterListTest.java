@@ -21,6 +21,9 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.ImmutableListTesting;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -76,6 +79,36 @@ public final class PluginSelectorParameterListTest implements ImmutableListTesti
         );
     }
 
+    @Test
+    public void testGetLazyValue() {
+        final PluginSelectorParameterList list = PluginSelectorParameterList.with(
+            Lists.of(
+                1,
+                PluginSelectorParameterListLazyValue.with(
+                    PluginSelectorExpressionPlugin.with(
+                        Names.string("LazyPlugin"),
+                        Lists.empty(),
+                        (t, c) -> {
+                            throw new UnsupportedOperationException();
+                        }
+                    ),
+                    (final StringName name,
+                     final List<?> values,
+                     final ProviderContext context) -> "Created " + name,
+                    ProviderContexts.fake(),
+                    PluginSelectorEvaluateValueTextOptions.DEFAULT
+                )
+            ),
+            Names.string("HelloPlugin")
+        );
+
+        this.getAndCheck(
+            list,
+            1,
+            "Created LazyPlugin"
+        );
+    }
+
     @Override
     public void testDeleteAllWithEmptyCollection() {
         throw new UnsupportedOperationException();
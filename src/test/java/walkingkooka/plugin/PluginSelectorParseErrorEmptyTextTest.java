@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.EmptyTextException;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PluginSelectorParseErrorEmptyTextTest implements ClassTesting2<PluginSelectorParseErrorEmptyText> {
+
+    @Test
+    public void testSetTextAndPositionKeepsLabel() {
+        final PluginSelectorParseError error = PluginSelectorParseErrorEmptyText.with(
+            "Label123",
+            1,
+            PluginSelectorParseError.EXPECTED_ENVIRONMENT_VALUE_NAME
+        ).setTextAndPosition(
+            "hello ($)",
+            7
+        );
+
+        this.checkEquals(
+            PluginSelectorParseErrorEmptyText.with(
+                "Label123",
+                7,
+                PluginSelectorParseError.EXPECTED_ENVIRONMENT_VALUE_NAME
+            ),
+            error
+        );
+    }
+
+    @Test
+    public void testException() {
+        final IllegalArgumentException exception = PluginSelectorParseErrorEmptyText.with(
+            "Label123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        ).exception();
+
+        this.checkEquals(
+            EmptyTextException.class,
+            exception.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            new EmptyTextException("Label123").getMessage(),
+            exception.getMessage(),
+            "message"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorParseErrorEmptyText> type() {
+        return PluginSelectorParseErrorEmptyText.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
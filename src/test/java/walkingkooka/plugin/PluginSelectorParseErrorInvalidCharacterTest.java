@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PluginSelectorParseErrorInvalidCharacterTest implements ClassTesting2<PluginSelectorParseErrorInvalidCharacter> {
+
+    @Test
+    public void testSetTextAndPositionReplacesText() {
+        final PluginSelectorParseError error = PluginSelectorParseErrorInvalidCharacter.with(
+            "(1, #)",
+            4,
+            PluginSelectorParseError.EXPECTED_PARAMETER
+        ).setTextAndPosition(
+            "hello (1, #)",
+            10
+        );
+
+        this.checkEquals(
+            PluginSelectorParseErrorInvalidCharacter.with(
+                "hello (1, #)",
+                10,
+                PluginSelectorParseError.EXPECTED_PARAMETER
+            ),
+            error
+        );
+        this.checkEquals(
+            new InvalidCharacterException(
+                "hello (1, #)",
+                10
+            ).getMessage(),
+            error.message(),
+            "message"
+        );
+    }
+
+    @Test
+    public void testException() {
+        final IllegalArgumentException exception = PluginSelectorParseErrorInvalidCharacter.with(
+            "hello (1, #)",
+            10,
+            PluginSelectorParseError.EXPECTED_PARAMETER
+        ).exception();
+
+        this.checkEquals(
+            InvalidCharacterException.class,
+            exception.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            10,
+            ((InvalidCharacterException) exception).position(),
+            "position"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorParseErrorInvalidCharacter> type() {
+        return PluginSelectorParseErrorInvalidCharacter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class PluginSelectorParseErrorMessageTest implements ClassTesting2<PluginSelectorParseErrorMessage> {
+
+    @Test
+    public void testSetTextAndPositionKeepsMessage() {
+        final PluginSelectorParseError error = PluginSelectorParseErrorMessage.with(
+            "Message123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        ).setTextAndPosition(
+            "hello (1)",
+            7
+        );
+
+        this.checkEquals(
+            PluginSelectorParseErrorMessage.with(
+                "Message123",
+                7,
+                PluginSelectorParseError.EXPECTED_NONE
+            ),
+            error
+        );
+    }
+
+    @Test
+    public void testException() {
+        final IllegalArgumentException exception = PluginSelectorParseErrorMessage.with(
+            "Message123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        ).exception();
+
+        this.checkEquals(
+            IllegalArgumentException.class,
+            exception.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            "Message123",
+            exception.getMessage(),
+            "message"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorParseErrorMessage> type() {
+        return PluginSelectorParseErrorMessage.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
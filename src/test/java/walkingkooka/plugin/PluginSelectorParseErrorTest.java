@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.EmptyTextException;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.InvalidCharacterException;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PluginSelectorParseErrorTest implements ClassTesting2<PluginSelectorParseError>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorParseError>,
+    ToStringTesting<PluginSelectorParseError> {
+
+    private final static String TEXT = "hello (1, #)";
+
+    private final static int POSITION = 10;
+
+    @Test
+    public void testInvalidCharacterMessage() {
+        this.checkEquals(
+            new InvalidCharacterException(
+                TEXT,
+                POSITION
+            ).getMessage(),
+            this.createObject()
+                .message()
+        );
+    }
+
+    @Test
+    public void testInvalidCharacterException() {
+        final IllegalArgumentException exception = this.createObject()
+            .exception();
+
+        this.checkEquals(
+            InvalidCharacterException.class,
+            exception.getClass(),
+            "exception"
+        );
+        this.checkEquals(
+            new InvalidCharacterException(
+                TEXT,
+                POSITION
+            ).getMessage(),
+            exception.getMessage()
+        );
+    }
+
+    @Test
+    public void testEmptyTextMessage() {
+        final PluginSelectorParseError error = PluginSelectorParseError.emptyText(
+            "Label123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        );
+
+        this.checkEquals(
+            new EmptyTextException("Label123").getMessage(),
+            error.message()
+        );
+        this.checkEquals(
+            EmptyTextException.class,
+            error.exception()
+                .getClass(),
+            "exception"
+        );
+    }
+
+    @Test
+    public void testMessage() {
+        final PluginSelectorParseError error = PluginSelectorParseError.message(
+            "Message123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        );
+
+        this.checkEquals(
+            "Message123",
+            error.message()
+        );
+        this.checkEquals(
+            "Message123",
+            error.exception()
+                .getMessage(),
+            "exception"
+        );
+    }
+
+    // setTextAndPosition...............................................................................................
+
+    @Test
+    public void testSetTextAndPositionSame() {
+        final PluginSelectorParseError error = this.createObject();
+
+        assertSame(
+            error,
+            error.setTextAndPosition(
+                TEXT,
+                POSITION
+            )
+        );
+    }
+
+    @Test
+    public void testSetTextAndPositionDifferent() {
+        final PluginSelectorParseError error = PluginSelectorParseError.message(
+            "Message123",
+            1,
+            PluginSelectorParseError.EXPECTED_NONE
+        );
+
+        final PluginSelectorParseError different = error.setTextAndPosition(
+            TEXT,
+            5
+        );
+
+        this.checkEquals(
+            5,
+            different.position(),
+            "position"
+        );
+        this.checkEquals(
+            "Message123",
+            different.message(),
+            "message"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPosition() {
+        this.checkNotEquals(
+            PluginSelectorParseError.invalidCharacter(
+                TEXT,
+                POSITION - 1,
+                PluginSelectorParseError.EXPECTED_PARAMETER
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentExpected() {
+        this.checkNotEquals(
+            PluginSelectorParseError.invalidCharacter(
+                TEXT,
+                POSITION,
+                PluginSelectorParseError.EXPECTED_NONE
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentKind() {
+        this.checkNotEquals(
+            PluginSelectorParseError.message(
+                "Message123",
+                1,
+                PluginSelectorParseError.EXPECTED_NONE
+            ),
+            PluginSelectorParseError.emptyText(
+                "Message123",
+                1,
+                PluginSelectorParseError.EXPECTED_NONE
+            )
+        );
+    }
+
+    @Override
+    public PluginSelectorParseError createObject() {
+        return PluginSelectorParseError.invalidCharacter(
+            TEXT,
+            POSITION,
+            PluginSelectorParseError.EXPECTED_PARAMETER
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            PluginSelectorParseError.message(
+                "Message123",
+                1,
+                PluginSelectorParseError.EXPECTED_PARAMETERS_BEGIN
+            ),
+            "Message123 expected [(]"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorParseError> type() {
+        return PluginSelectorParseError.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
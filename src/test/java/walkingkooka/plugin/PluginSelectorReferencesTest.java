@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.collect.set.SortedSets;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StoragePath;
+
+import java.util.SortedSet;
+
+public final class PluginSelectorReferencesTest implements ClassTesting2<PluginSelectorReferences<StringName>>,
+    HashCodeEqualsDefinedTesting2<PluginSelectorReferences<StringName>>,
+    ToStringTesting<PluginSelectorReferences<StringName>> {
+
+    private final static StringName NAME = Names.string("plugin1");
+
+    private final static EnvironmentValueName<String> ENVIRONMENT_VALUE_NAME = EnvironmentValueName.with(
+        "environment1",
+        String.class
+    );
+
+    private final static StoragePath STORAGE_PATH = StoragePath.parse("/path1");
+
+    @Test
+    public void testWith() {
+        final PluginSelectorReferences<StringName> references = this.createObject();
+
+        this.checkEquals(
+            Sets.of(NAME),
+            references.pluginNames(),
+            "pluginNames"
+        );
+        this.checkEquals(
+            Sets.of(ENVIRONMENT_VALUE_NAME),
+            references.environmentValueNames(),
+            "environmentValueNames"
+        );
+        this.checkEquals(
+            Sets.of(STORAGE_PATH),
+            references.storagePaths(),
+            "storagePaths"
+        );
+    }
+
+    // equals...........................................................................................................
+
+    @Test
+    public void testEqualsDifferentPluginNames() {
+        this.checkNotEquals(
+            PluginSelectorReferences.with(
+                pluginNames(Names.string("different")),
+                Sets.of(ENVIRONMENT_VALUE_NAME),
+                Sets.of(STORAGE_PATH)
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentEnvironmentValueNames() {
+        this.checkNotEquals(
+            PluginSelectorReferences.with(
+                pluginNames(NAME),
+                Sets.empty(),
+                Sets.of(STORAGE_PATH)
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentStoragePaths() {
+        this.checkNotEquals(
+            PluginSelectorReferences.with(
+                pluginNames(NAME),
+                Sets.of(ENVIRONMENT_VALUE_NAME),
+                Sets.empty()
+            )
+        );
+    }
+
+    @Override
+    public PluginSelectorReferences<StringName> createObject() {
+        return PluginSelectorReferences.with(
+            pluginNames(NAME),
+            Sets.of(ENVIRONMENT_VALUE_NAME),
+            Sets.of(STORAGE_PATH)
+        );
+    }
+
+    private static SortedSet<StringName> pluginNames(final StringName name) {
+        final SortedSet<StringName> names = SortedSets.tree();
+        names.add(name);
+        return names;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            "pluginNames=[plugin1] environmentValueNames=[environment1] storagePaths=[/path1]"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorReferences<StringName>> type() {
+        return Cast.to(PluginSelectorReferences.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginSelectorStoragePrefetcherTest implements ClassTesting2<PluginSelectorStoragePrefetcher> {
+
+    private final static StoragePath PATH1 = StoragePath.parse("/path1");
+
+    private final static StoragePath PATH2 = StoragePath.parse("/path2");
+
+    private final static StoragePath PATH3 = StoragePath.parse("/missing3");
+
+    private final static StorageValue VALUE1 = StorageValue.with(PATH1)
+        .setValue(
+            Optional.of(111)
+        );
+
+    private final static StorageValue VALUE2 = StorageValue.with(PATH2)
+        .setValue(
+            Optional.of(222)
+        );
+
+    private final static ProviderContext CONTEXT = new FakeProviderContext() {
+        @Override
+        public Optional<StorageValue> loadStorage(final StoragePath path) {
+            return Optional.ofNullable(
+                PATH1.equals(path) ?
+                    VALUE1 :
+                    PATH2.equals(path) ?
+                        VALUE2 :
+                        null
+            );
+        }
+    };
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testPrefetchEmpty() {
+        this.prefetchAndCheck(
+            Maps.empty()
+        );
+    }
+
+    @Test
+    public void testPrefetchOne() {
+        this.prefetchAndCheck(
+            Maps.of(
+                PATH1,
+                VALUE1
+            ),
+            PATH1
+        );
+    }
+
+    @Test
+    public void testPrefetchSeveral() {
+        this.prefetchAndCheck(
+            Maps.of(
+                PATH1,
+                VALUE1,
+                PATH2,
+                VALUE2
+            ),
+            PATH1,
+            PATH2
+        );
+    }
+
+    @Test
+    public void testPrefetchMissingIgnored() {
+        this.prefetchAndCheck(
+            Maps.of(
+                PATH1,
+                VALUE1,
+                PATH2,
+                VALUE2
+            ),
+            PATH1,
+            PATH3,
+            PATH2
+        );
+    }
+
+    @Test
+    public void testPrefetchRejectingExecutor() {
+        this.checkEquals(
+            Maps.of(
+                PATH1,
+                VALUE1,
+                PATH2,
+                VALUE2
+            ),
+            PluginSelectorStoragePrefetcher.with(
+                CONTEXT,
+                (r) -> {
+                    throw new RejectedExecutionException();
+                }
+            ).prefetch(
+                Lists.of(
+                    PATH1,
+                    PATH2
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testPrefetchLoadFails() {
+        final IllegalArgumentException thrown = new IllegalArgumentException("Load failed");
+
+        assertSame(
+            thrown,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> PluginSelectorStoragePrefetcher.with(
+                    new FakeProviderContext() {
+                        @Override
+                        public Optional<StorageValue> loadStorage(final StoragePath path) {
+                            if (PATH1.equals(path)) {
+                                throw thrown;
+                            }
+                            return Optional.empty();
+                        }
+                    },
+                    this.executor
+                ).prefetch(
+                    Lists.of(
+                        PATH1,
+                        PATH2
+                    )
+                )
+            )
+        );
+    }
+
+    private void prefetchAndCheck(final Map<StoragePath, StorageValue> expected,
+                                  final StoragePath... paths) {
+        this.checkEquals(
+            expected,
+            PluginSelectorStoragePrefetcher.with(
+                CONTEXT,
+                this.executor
+            ).prefetch(
+                Lists.of(paths)
+            )
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSelectorStoragePrefetcher> type() {
+        return PluginSelectorStoragePrefetcher.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
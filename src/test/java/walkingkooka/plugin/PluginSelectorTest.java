@@ -23,6 +23,8 @@ import walkingkooka.HashCodeEqualsDefinedTesting2;
 import walkingkooka.InvalidCharacterException;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.compare.ComparableTesting2;
 import walkingkooka.environment.EnvironmentValueName;
 import walkingkooka.naming.HasNameTesting;
@@ -32,6 +34,7 @@ import walkingkooka.naming.StringPath;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
 import walkingkooka.test.ParseStringTesting;
 import walkingkooka.text.HasTextTesting;
 import walkingkooka.text.cursor.TextCursor;
@@ -43,10 +46,16 @@ import walkingkooka.text.printer.TreePrintableTesting;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -844,6 +853,42 @@ public final class PluginSelectorTest implements ClassTesting2<PluginSelector<St
         );
     }
 
+    @Test
+    public void testEvaluateValueTextWithEnvironmentValueNameFetchedOnce() {
+        final List<EnvironmentValueName<?>> fetched = Lists.array();
+
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                ENVIRONMENT_VALUE_1,
+                new TestProvided(
+                    NAME2,
+                    ENVIRONMENT_VALUE_1
+                )
+            ),
+            PluginSelector.parse(
+                NAME + " ($" + ENVIRONMENT_VALUE_NAME_1 + ", " + NAME2 + "($" + ENVIRONMENT_VALUE_NAME_1 + "))",
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                new FakeProviderContext() {
+                    @Override
+                    public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                        fetched.add(name);
+                        return CONTEXT.environmentValue(name);
+                    }
+                }
+            )
+        );
+
+        this.checkEquals(
+            1,
+            fetched.size(),
+            () -> "fetched " + fetched
+        );
+    }
+
     @Test
     public void testEvaluateValueTextWithStoragePath() {
         this.evaluateValueTextAndCheck(
@@ -856,113 +901,1490 @@ public final class PluginSelectorTest implements ClassTesting2<PluginSelector<St
     }
 
     @Test
-    public void testEvaluateValueTextWithStoragePathAndStringLiteral() {
-        this.evaluateValueTextAndCheck(
-            NAME + " ( /storage-path/hello/world, \"string-literal-2\")",
-            new TestProvided(
-                NAME,
-                StoragePath.parse("/storage-path/hello/world"),
-                "string-literal-2"
-            )
+    public void testEvaluateValueTextWithStoragePathAndStringLiteral() {
+        this.evaluateValueTextAndCheck(
+            NAME + " ( /storage-path/hello/world, \"string-literal-2\")",
+            new TestProvided(
+                NAME,
+                StoragePath.parse("/storage-path/hello/world"),
+                "string-literal-2"
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithProvided() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (" + NAME2 + ")",
+            new TestProvided(
+                NAME,
+                new TestProvided(NAME2)
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithProvidedProvided() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (" + NAME2 + "," + NAME3 + ")",
+            new TestProvided(
+                NAME,
+                new TestProvided(NAME2),
+                new TestProvided(NAME3)
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithNestedProvided() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (" + NAME2 + "(" + NAME3 + "))",
+            new TestProvided(
+                NAME,
+                new TestProvided(
+                    NAME2,
+                    new TestProvided(NAME3)
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithPositiveDoubleLiteral() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (+1)",
+            new TestProvided(NAME, 1.0)
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithDoubleLiteralLeadingDecimalSeparator() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (.5)",
+            new TestProvided(NAME, 0.5)
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithEveryParameterKind() {
+        this.evaluateValueTextAndCheck(
+            NAME + " (1, \"string-literal-2\", $" + ENVIRONMENT_VALUE_NAME_1 + ", /storage-path/hello, " + NAME2 + "(-2.5))",
+            new TestProvided(
+                NAME,
+                1.0,
+                "string-literal-2",
+                ENVIRONMENT_VALUE_1,
+                StoragePath.parse("/storage-path/hello"),
+                new TestProvided(
+                    NAME2,
+                    -2.5
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithNullOptionsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.parse(
+                NAME + "",
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextLazyWithNestedProvided() {
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                1.0,
+                new TestProvided(
+                    NAME2,
+                    new TestProvided(NAME3)
+                )
+            ),
+            PluginSelector.parse(
+                NAME + " (1, " + NAME2 + "(" + NAME3 + "))",
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true)
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextLazyWithUnusedNestedPlugin() {
+        final List<StringName> created = Lists.array();
+
+        this.checkEquals(
+            NAME.value(),
+            PluginSelector.parse(
+                NAME + " (" + NAME2 + "(" + NAME3 + "))",
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                (final StringName name,
+                 final List<?> values,
+                 final ProviderContext context) -> {
+                    created.add(name);
+                    return name.value();
+                },
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setLazy(true)
+            )
+        );
+
+        this.checkEquals(
+            Lists.of(NAME),
+            created
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithinBudgets() {
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                1.0,
+                new TestProvided(
+                    NAME2,
+                    2.0
+                )
+            ),
+            PluginSelector.parse(
+                NAME + " (1, " + NAME2 + "(2))",
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(2)
+                    .setMaxParameterCount(3)
+                    .setMaxTextLength(18)
+                    .setDeadline(System.currentTimeMillis() + 60 * 1000)
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextMaxTextLengthExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (1, 2, 3)",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxTextLength(5),
+            "Text length 9 > 5"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextMaxDepthExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (" + NAME2 + "(" + NAME3 + "(1)))",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(2),
+            "Depth 3 > 2"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextMaxParameterCountExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (1, " + NAME2 + "(2, 3))",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(3),
+            "Parameter count 4 > 3"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextDeadlineExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (1)",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setDeadline(0),
+            "Deadline exceeded before creating " + NAME
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextDeeplyNestedMaxDepthExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (" + nested(100_000) + ")",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(10),
+            "Depth 11 > 10"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextManyParametersMaxParameterCountExceededFails() {
+        this.evaluateValueTextBudgetFails(
+            NAME + " (" + String.join(", ", Collections.nCopies(100_000, "1")) + ")",
+            PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(10),
+            "Parameter count 11 > 10"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextCachedExpressionMaxDepthExceededFails() {
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (" + NAME2 + "(" + NAME3 + "(1)))",
+            Names::string
+        );
+        this.checkEquals(
+            Optional.empty(),
+            selector.validate(NAME_PARSER_AND_FACTORY),
+            "validate caches expression"
+        );
+
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> selector.evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(2)
+            )
+        );
+        this.checkEquals(
+            "Depth 3 > 2",
+            thrown.getMessage()
+        );
+    }
+
+    /**
+     * Creates text with plugins nested the given number of times.
+     */
+    private static String nested(final int count) {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            b.append(NAME2)
+                .append('(');
+        }
+        for (int i = 0; i < count; i++) {
+            b.append(')');
+        }
+        return b.toString();
+    }
+
+    private void evaluateValueTextBudgetFails(final String selector,
+                                              final PluginSelectorEvaluateValueTextOptions options,
+                                              final String expected) {
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> PluginSelector.parse(
+                selector,
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                options
+            )
+        );
+
+        this.checkEquals(
+            expected,
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextConcurrentlyWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.parse(
+                NAME + "",
+                Names::string
+            ).evaluateValueTextConcurrently(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextConcurrentlyMaxDepthExceededFails() {
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> PluginSelector.parse(
+                NAME + " (" + nested(100_000) + ")",
+                Names::string
+            ).evaluateValueTextConcurrently(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxDepth(10),
+                (r) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+        this.checkEquals(
+            "Depth 11 > 10",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextConcurrentlyNotThreadSafeProvider() {
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                new TestProvided(NAME2),
+                new TestProvided(NAME3)
+            ),
+            PluginSelector.parse(
+                NAME + " (" + NAME2 + ", " + NAME3 + ")",
+                Names::string
+            ).evaluateValueTextConcurrently(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                (r) -> {
+                    throw new UnsupportedOperationException();
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextConcurrentlyThreadSafeProvider() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            this.checkEquals(
+                new TestProvided(
+                    NAME,
+                    new TestProvided(
+                        NAME2,
+                        1.0
+                    ),
+                    ENVIRONMENT_VALUE_1,
+                    new TestProvided(NAME3)
+                ),
+                PluginSelector.parse(
+                    NAME + " (" + NAME2 + "(1), $" + ENVIRONMENT_VALUE_NAME_1 + ", " + NAME3 + ")",
+                    Names::string
+                ).evaluateValueTextConcurrently(
+                    NAME_PARSER_AND_FACTORY,
+                    new PluginSelectorEvaluateValueTextProvider<StringName, TestProvided>() {
+                        @Override
+                        public TestProvided get(final StringName name,
+                                                final List<?> values,
+                                                final ProviderContext context) {
+                            return PROVIDER.get(
+                                name,
+                                values,
+                                context
+                            );
+                        }
+
+                        @Override
+                        public boolean isThreadSafe() {
+                            return true;
+                        }
+                    },
+                    CONTEXT,
+                    executor
+                )
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPrefetchStorageValuesWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.parse(
+                NAME + "",
+                Names::string
+            ).prefetchStorageValues(
+                NAME_PARSER_AND_FACTORY,
+                CONTEXT,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testPrefetchStorageValues() {
+        final StoragePath path1 = StoragePath.parse("/path1");
+        final StorageValue value1 = StorageValue.with(path1)
+            .setValue(
+                Optional.of(111)
+            );
+
+        final StoragePath path2 = StoragePath.parse("/path2");
+        final StorageValue value2 = StorageValue.with(path2)
+            .setValue(
+                Optional.of(222)
+            );
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            this.checkEquals(
+                Maps.of(
+                    path1,
+                    value1,
+                    path2,
+                    value2
+                ),
+                PluginSelector.parse(
+                    NAME + " (/path1, " + NAME2 + "(/path2, /missing3))",
+                    Names::string
+                ).prefetchStorageValues(
+                    NAME_PARSER_AND_FACTORY,
+                    new FakeProviderContext() {
+                        @Override
+                        public StoragePath parseStoragePath(final String text) {
+                            return StoragePath.parse(text);
+                        }
+
+                        @Override
+                        public Optional<StorageValue> loadStorage(final StoragePath path) {
+                            return Optional.ofNullable(
+                                path1.equals(path) ?
+                                    value1 :
+                                    path2.equals(path) ?
+                                        value2 :
+                                        null
+                            );
+                        }
+                    },
+                    executor
+                )
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvaluateAllWithNullSelectorsFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.evaluateAll(
+                null,
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateAllMaxParameterCountExceededFails() {
+        final PluginSelectorEvaluateValueTextBudgetException thrown = assertThrows(
+            PluginSelectorEvaluateValueTextBudgetException.class,
+            () -> PluginSelector.evaluateAll(
+                Lists.of(
+                    PluginSelector.parse(
+                        NAME + " (1)",
+                        Names::string
+                    ),
+                    PluginSelector.parse(
+                        NAME2 + " (1, 2, 3)",
+                        Names::string
+                    )
+                ),
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT,
+                PluginSelectorEvaluateValueTextOptions.DEFAULT.setMaxParameterCount(2)
+            )
+        );
+        this.checkEquals(
+            "Parameter count 3 > 2",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testEvaluateAll() {
+        final PluginSelector<StringName> selector1 = PluginSelector.parse(
+            NAME + " (" + NAME2 + ", 1)",
+            Names::string
+        );
+        final PluginSelector<StringName> selector2 = PluginSelector.parse(
+            NAME3 + " (" + NAME2 + ")",
+            Names::string
+        );
+        final PluginSelector<StringName> selector3 = PluginSelector.parse(
+            NAME3 + "   (" + NAME2 + ")",
+            Names::string
+        );
+
+        final List<StringName> created = Lists.array();
+
+        final Map<PluginSelector<StringName>, TestProvided> selectorToProvided = PluginSelector.evaluateAll(
+            Lists.of(
+                selector1,
+                selector2,
+                selector3,
+                selector1
+            ),
+            NAME_PARSER_AND_FACTORY,
+            (final StringName name,
+             final List<?> values,
+             final ProviderContext context) -> {
+                created.add(name);
+                return PROVIDER.get(
+                    name,
+                    values,
+                    context
+                );
+            },
+            CONTEXT
+        );
+
+        this.checkEquals(
+            Maps.of(
+                selector1,
+                new TestProvided(
+                    NAME,
+                    new TestProvided(NAME2),
+                    1.0
+                ),
+                selector2,
+                new TestProvided(
+                    NAME3,
+                    new TestProvided(NAME2)
+                ),
+                selector3,
+                new TestProvided(
+                    NAME3,
+                    new TestProvided(NAME2)
+                )
+            ),
+            selectorToProvided
+        );
+
+        assertSame(
+            selectorToProvided.get(selector2),
+            selectorToProvided.get(selector3),
+            "selectors with different spacing should share the same plugin"
+        );
+
+        this.checkEquals(
+            Lists.of(NAME2, NAME, NAME3),
+            created,
+            "created"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextTwiceParsesOnce() {
+        final int[] parseCount = new int[1];
+        final BiFunction<TextCursor, ParserContext, Optional<StringName>> nameParserAndFactory = (final TextCursor text,
+                                                                                                 final ParserContext context) -> {
+            parseCount[0]++;
+            return NAME_PARSER_AND_FACTORY.apply(
+                text,
+                context
+            );
+        };
+
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (" + NAME2 + ", 1, \"string-literal\")",
+            Names::string
+        );
+
+        final TestProvided expected = new TestProvided(
+            NAME,
+            new TestProvided(NAME2),
+            1.0,
+            "string-literal"
+        );
+
+        this.checkEquals(
+            expected,
+            selector.evaluateValueText(
+                nameParserAndFactory,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+
+        final int count = parseCount[0];
+
+        this.checkEquals(
+            expected,
+            selector.evaluateValueText(
+                nameParserAndFactory,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            count,
+            parseCount[0],
+            "name parser should not be called again"
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextCallsProviderEachTime() {
+        final int[] getCount = new int[1];
+        final PluginSelectorEvaluateValueTextProvider<StringName, TestProvided> provider = (final StringName name,
+                                                                                           final List<?> values,
+                                                                                           final ProviderContext context) -> {
+            getCount[0]++;
+            return PROVIDER.get(
+                name,
+                values,
+                context
+            );
+        };
+
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (" + NAME2 + ")",
+            Names::string
+        );
+
+        selector.evaluateValueText(
+            NAME_PARSER_AND_FACTORY,
+            provider,
+            CONTEXT
+        );
+        selector.evaluateValueText(
+            NAME_PARSER_AND_FACTORY,
+            provider,
+            CONTEXT
+        );
+
+        this.checkEquals(
+            4,
+            getCount[0]
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithEnvironmentValueNameFetchedEachTime() {
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " ($" + ENVIRONMENT_VALUE_NAME_1 + ")",
+            Names::string
+        );
+
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                ENVIRONMENT_VALUE_1
+            ),
+            selector.evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                "different-environment-value"
+            ),
+            selector.evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                new FakeProviderContext() {
+                    @Override
+                    public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+                        return Cast.to(
+                            Optional.of("different-environment-value")
+                        );
+                    }
+                }
+            )
+        );
+    }
+
+    private void evaluateValueTextFails(final String selector,
+                                        final String expected) {
+        this.evaluateValueTextFails(
+            selector,
+            NAME_PARSER_AND_FACTORY,
+            PROVIDER,
+            CONTEXT,
+            expected
+        );
+    }
+
+    private void evaluateValueTextFails(final String selector,
+                                        final BiFunction<TextCursor, ParserContext, Optional<StringName>> nameParserAndFactory,
+                                        final PluginSelectorEvaluateValueTextProvider<StringName, TestProvided> provider,
+                                        final ProviderContext context,
+                                        final String expected) {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelector.parse(
+                selector,
+                Names::string
+            ).evaluateValueText(
+                nameParserAndFactory,
+                provider,
+                context
+            )
+        );
+        this.checkEquals(
+            expected,
+            thrown.getMessage()
+        );
+    }
+
+    private void evaluateValueTextAndCheck(final String selector,
+                                           final TestProvided expected) {
+        this.evaluateValueTextAndCheck(
+            selector,
+            NAME_PARSER_AND_FACTORY,
+            PROVIDER,
+            CONTEXT,
+            expected
+        );
+    }
+
+    private void evaluateValueTextAndCheck(final String selector,
+                                           final BiFunction<TextCursor, ParserContext, Optional<StringName>> nameParserAndCreator,
+                                           final PluginSelectorEvaluateValueTextProvider<StringName, TestProvided> provider,
+                                           final ProviderContext context,
+                                           final TestProvided expected) {
+        this.checkEquals(
+            expected,
+            PluginSelector.parse(
+                selector,
+                Names::string
+            ).evaluateValueText(
+                nameParserAndCreator,
+                provider,
+                context
+            )
+        );
+    }
+
+    // validate.........................................................................................................
+
+    @Test
+    public void testValidateWithNullNameParserAndFactoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.parse(
+                NAME + "",
+                Names::string
+            ).validate(null)
+        );
+    }
+
+    @Test
+    public void testValidateWithoutParameters() {
+        this.validateAndCheck(
+            NAME + ""
+        );
+    }
+
+    @Test
+    public void testValidateWithParameters() {
+        this.validateAndCheck(
+            NAME + " (1, \"string-literal-2\", $" + ENVIRONMENT_VALUE_NAME_1 + ", /storage-path/hello, " + NAME2 + "(-2.5))"
+        );
+    }
+
+    @Test
+    public void testValidateInvalidName() {
+        final PluginSelectorParseError error = PluginSelector.with(
+            Names.string("UPPER"),
+            ""
+        ).validate(NAME_PARSER_AND_FACTORY)
+            .get();
+
+        this.checkEquals(
+            "Unable to parse name in \"UPPER\"",
+            error.message(),
+            "message"
+        );
+        this.checkEquals(
+            0,
+            error.position(),
+            "position"
+        );
+        this.checkEquals(
+            Sets.of(PluginSelectorParseError.NAME),
+            error.expected(),
+            "expected"
+        );
+    }
+
+    @Test
+    public void testValidateInvalidCharacter() {
+        this.validateAndCheck(
+            NAME + " text/plain",
+            "Invalid character ' ' at 16",
+            16,
+            PluginExpressionParser.PARAMETER_BEGIN
+        );
+    }
+
+    @Test
+    public void testValidateMissingClosingParens() {
+        this.validateAndCheck(
+            "super-magic-converter123(1",
+            "Invalid character '1' at 25",
+            25,
+            PluginExpressionParser.PARAMETER_SEPARATOR,
+            PluginExpressionParser.PARAMETER_END,
+            PluginSelectorParseError.ENVIRONMENT_VALUE_NAME,
+            PluginSelectorParseError.NAME,
+            PluginSelectorParseError.NUMBER,
+            PluginSelectorParseError.STORAGE_PATH,
+            PluginSelectorParseError.STRING
+        );
+    }
+
+    @Test
+    public void testValidateEmptyEnvironmentValueName() {
+        this.validateAndCheck(
+            NAME + " ($)",
+            "Empty \"EnvironmentValueName\"",
+            18,
+            PluginSelectorParseError.ENVIRONMENT_VALUE_NAME
+        );
+    }
+
+    @Test
+    public void testValidateUnclosedString() {
+        this.validateAndCheck(
+            NAME + " (\"unclosed",
+            "Missing closing '\"'",
+            26,
+            "\""
+        );
+    }
+
+    @Test
+    public void testValidateMaxDepth() {
+        this.checkEquals(
+            Optional.empty(),
+            PluginSelector.parse(
+                NAME + " (" + nested(PluginSelector.VALIDATE_MAX_DEPTH - 1) + ")",
+                Names::string
+            ).validate(NAME_PARSER_AND_FACTORY)
+        );
+    }
+
+    @Test
+    public void testValidateDeeplyNested() {
+        final PluginSelectorParseError error = PluginSelector.parse(
+            NAME + " (" + nested(100_000) + ")",
+            Names::string
+        ).validate(NAME_PARSER_AND_FACTORY)
+            .orElseThrow(() -> new AssertionError("Expected error"));
+
+        this.checkEquals(
+            "Depth " + (PluginSelector.VALIDATE_MAX_DEPTH + 1) + " > " + PluginSelector.VALIDATE_MAX_DEPTH,
+            error.message(),
+            "message"
+        );
+        this.checkEquals(
+            Sets.empty(),
+            error.expected(),
+            "expected"
+        );
+    }
+
+    @Test
+    public void testValidateThenEvaluateValueText() {
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (1)",
+            Names::string
+        );
+
+        this.checkEquals(
+            Optional.empty(),
+            selector.validate(NAME_PARSER_AND_FACTORY)
+        );
+
+        this.checkEquals(
+            new TestProvided(
+                NAME,
+                1.0
+            ),
+            selector.evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+    }
+
+    @Test
+    public void testValidateAndEvaluateValueTextSameMessage() {
+        final String text = NAME + " (1, \"unclosed";
+
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelector.parse(
+                text,
+                Names::string
+            ).evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT
+            )
+        );
+
+        this.checkEquals(
+            thrown.getMessage(),
+            PluginSelector.parse(
+                text,
+                Names::string
+            ).validate(NAME_PARSER_AND_FACTORY)
+                .get()
+                .message()
+        );
+    }
+
+    private void validateAndCheck(final String selector) {
+        this.checkEquals(
+            Optional.empty(),
+            PluginSelector.parse(
+                selector,
+                Names::string
+            ).validate(NAME_PARSER_AND_FACTORY)
+        );
+    }
+
+    private void validateAndCheck(final String selector,
+                                  final String message,
+                                  final int position,
+                                  final String... expected) {
+        final PluginSelectorParseError error = PluginSelector.parse(
+            selector,
+            Names::string
+        ).validate(NAME_PARSER_AND_FACTORY)
+            .orElseThrow(() -> new AssertionError("Expected error"));
+
+        this.checkEquals(
+            message,
+            error.message(),
+            "message"
+        );
+        this.checkEquals(
+            position,
+            error.position(),
+            "position"
+        );
+        this.checkEquals(
+            Sets.of(expected),
+            error.expected(),
+            "expected"
+        );
+    }
+
+    // replaceValueText.................................................................................................
+
+    @Test
+    public void testReplaceValueTextWithInvalidRangeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelector.with(
+                NAME,
+                "(1)"
+            ).replaceValueText(
+                2,
+                1,
+                "",
+                NAME_PARSER_AND_FACTORY
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextWithEndAfterTextFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PluginSelector.with(
+                NAME,
+                "(1)"
+            ).replaceValueText(
+                0,
+                4,
+                "",
+                NAME_PARSER_AND_FACTORY
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextWithNullTextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginSelector.with(
+                NAME,
+                "(1)"
+            ).replaceValueText(
+                0,
+                1,
+                null,
+                NAME_PARSER_AND_FACTORY
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextSameText() {
+        final PluginSelector<StringName> selector = PluginSelector.with(
+            NAME,
+            "(1)"
+        );
+
+        assertSame(
+            selector,
+            selector.replaceValueText(
+                1,
+                2,
+                "1",
+                NAME_PARSER_AND_FACTORY
+            )
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextNotParsed() {
+        this.replaceValueTextAndCheck(
+            false,
+            "(1, 2)",
+            "2",
+            "345",
+            "(1, 345)"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextNumber() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(1, 2, 3)",
+            "2",
+            "-45.5",
+            "(1, -45.5, 3)"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextString() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(\"abc\", 2)",
+            "abc",
+            "xyz",
+            "(\"xyz\", 2)"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextNumberWithPlugin() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(1, 2, 3)",
+            "2",
+            NAME2 + "(4, 5)",
+            "(1, " + NAME2 + "(4, 5), 3)"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextWithinNestedPlugin() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(1, " + NAME2 + "(2, " + NAME3 + "(33), 4), \"five\")",
+            "33",
+            "333",
+            "(1, " + NAME2 + "(2, " + NAME3 + "(333), 4), \"five\")"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextSpanningParameters() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(1, 2, 3)",
+            "1, 2",
+            "4",
+            "(4, 3)"
         );
     }
 
     @Test
-    public void testEvaluateValueTextWithProvided() {
-        this.evaluateValueTextAndCheck(
-            NAME + " (" + NAME2 + ")",
-            new TestProvided(
-                NAME,
-                new TestProvided(NAME2)
-            )
+    public void testReplaceValueTextAddsParameter() {
+        this.replaceValueTextAndCheck(
+            true,
+            "(1, 2)",
+            "2",
+            "2, 3",
+            "(1, 2, 3)"
         );
     }
 
     @Test
-    public void testEvaluateValueTextWithProvidedProvided() {
-        this.evaluateValueTextAndCheck(
-            NAME + " (" + NAME2 + "," + NAME3 + ")",
-            new TestProvided(
-                NAME,
-                new TestProvided(NAME2),
-                new TestProvided(NAME3)
-            )
+    public void testReplaceValueTextInvalid() {
+        final PluginSelector<StringName> selector = PluginSelector.with(
+            NAME,
+            "(1, 2)"
+        );
+        selector.expression(NAME_PARSER_AND_FACTORY);
+
+        final PluginSelector<StringName> replaced = selector.replaceValueText(
+            4,
+            5,
+            "\"unclosed",
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            "(1, \"unclosed)",
+            replaced.valueText(),
+            "valueText"
+        );
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> replaced.expression(NAME_PARSER_AND_FACTORY)
         );
     }
 
     @Test
-    public void testEvaluateValueTextWithNestedProvided() {
-        this.evaluateValueTextAndCheck(
-            NAME + " (" + NAME2 + "(" + NAME3 + "))",
+    public void testReplaceValueTextSharesUnchangedParameters() {
+        final PluginSelector<StringName> selector = PluginSelector.with(
+            NAME,
+            "(" + NAME2 + "(1), " + NAME3 + "(2, 3))"
+        );
+        final PluginSelectorExpressionPlugin<StringName> expression = selector.expression(NAME_PARSER_AND_FACTORY);
+
+        final String valueText = selector.valueText();
+        final int start = valueText.lastIndexOf('3');
+
+        final PluginSelectorExpressionPlugin<StringName> replaced = selector.replaceValueText(
+            start,
+            start + 1,
+            "4",
+            NAME_PARSER_AND_FACTORY
+        ).expression(NAME_PARSER_AND_FACTORY);
+
+        assertSame(
+            expression.parameters.get(0),
+            replaced.parameters.get(0),
+            "first parameter"
+        );
+
+        final PluginSelectorExpressionPlugin<StringName> nested = (PluginSelectorExpressionPlugin<StringName>) replaced.parameters.get(1);
+        assertSame(
+            ((PluginSelectorExpressionPlugin<StringName>) expression.parameters.get(1)).parameters.get(0),
+            nested.parameters.get(0),
+            "nested first parameter"
+        );
+        this.checkEquals(
+            PluginSelectorExpressionLiteral.with(4.0),
+            nested.parameters.get(1),
+            "nested second parameter"
+        );
+    }
+
+    @Test
+    public void testReplaceValueTextTwiceThenEvaluateValueText() {
+        final PluginSelector<StringName> selector = PluginSelector.with(
+            NAME,
+            "(1, " + NAME2 + "(2))"
+        );
+        selector.expression(NAME_PARSER_AND_FACTORY);
+
+        final PluginSelector<StringName> replaced = selector.replaceValueText(
+            1,
+            2,
+            "11",
+            NAME_PARSER_AND_FACTORY
+        ).replaceValueText(
+            "(11, ".length() + NAME2.value().length() + 1,
+            "(11, ".length() + NAME2.value().length() + 2,
+            "22",
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            "(11, " + NAME2 + "(22))",
+            replaced.valueText(),
+            "valueText"
+        );
+
+        this.checkEquals(
             new TestProvided(
                 NAME,
+                11.0,
                 new TestProvided(
                     NAME2,
-                    new TestProvided(NAME3)
+                    22.0
                 )
+            ),
+            replaced.evaluateValueText(
+                NAME_PARSER_AND_FACTORY,
+                PROVIDER,
+                CONTEXT
             )
         );
     }
 
-    private void evaluateValueTextFails(final String selector,
-                                        final String expected) {
-        this.evaluateValueTextFails(
-            selector,
-            NAME_PARSER_AND_FACTORY,
+    private void replaceValueTextAndCheck(final boolean parsed,
+                                          final String valueText,
+                                          final String replace,
+                                          final String text,
+                                          final String expected) {
+        final PluginSelector<StringName> selector = PluginSelector.with(
+            NAME,
+            valueText
+        );
+        if (parsed) {
+            selector.expression(NAME_PARSER_AND_FACTORY);
+        }
+
+        final int start = valueText.indexOf(replace);
+        final PluginSelector<StringName> replaced = selector.replaceValueText(
+            start,
+            start + replace.length(),
+            text,
+            NAME_PARSER_AND_FACTORY
+        );
+
+        this.checkEquals(
+            expected,
+            replaced.valueText(),
+            "valueText"
+        );
+
+        final PluginSelectorExpressionPlugin<StringName> expression = replaced.expression(NAME_PARSER_AND_FACTORY);
+        this.checkEquals(
+            PluginSelector.with(
+                NAME,
+                expected
+            ).expression(NAME_PARSER_AND_FACTORY),
+            expression,
+            "expression"
+        );
+        this.checkEquals(
+            expression.toString(),
+            PluginSelector.with(
+                NAME,
+                expected
+            ).expression(NAME_PARSER_AND_FACTORY)
+                .toString(),
+            "toString"
+        );
+    }
+
+    // references.......................................................................................................
+
+    @Test
+    public void testReferencesWithNullNameParserAndFactoryFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createComparable()
+                .references(
+                    null,
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testReferencesWithNullContextFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createComparable()
+                .references(
+                    NAME_PARSER_AND_FACTORY,
+                    null
+                )
+        );
+    }
+
+    @Test
+    public void testReferencesWithoutParameters() {
+        this.referencesAndCheck(
+            NAME + "",
+            Sets.of(NAME),
+            Sets.empty(),
+            Sets.empty()
+        );
+    }
+
+    @Test
+    public void testReferences() {
+        this.referencesAndCheck(
+            NAME + " (1, $" + ENVIRONMENT_VALUE_NAME_1 + ", /path1, " + NAME2 + "(\"string\", $" + ENVIRONMENT_VALUE_NAME_2 + ", " + NAME3 + "(/path2)))",
+            Sets.of(
+                NAME,
+                NAME2,
+                NAME3
+            ),
+            Sets.of(
+                ENVIRONMENT_VALUE_NAME_1,
+                ENVIRONMENT_VALUE_NAME_2
+            ),
+            Sets.of(
+                StoragePath.parse("/path1"),
+                StoragePath.parse("/path2")
+            )
+        );
+    }
+
+    @Test
+    public void testEvaluateValueTextWithMethodReferenceParsesOnce() {
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (" + NAME2 + ", " + NAME3 + "(1))",
+            Names::string
+        );
+        final CountingNameParser helper = new CountingNameParser();
+
+        final TestProvided provided = selector.evaluateValueText(
+            helper::parseName,
             PROVIDER,
-            CONTEXT,
-            expected
+            CONTEXT
+        );
+        final int count = helper.count;
+
+        this.checkEquals(
+            true,
+            count > 0,
+            "names should be parsed by the first evaluate"
+        );
+
+        this.checkEquals(
+            provided,
+            selector.evaluateValueText(
+                helper::parseName,
+                PROVIDER,
+                CONTEXT
+            ),
+            "second evaluate"
+        );
+        this.checkEquals(
+            count,
+            helper.count,
+            "second evaluate should not parse again"
         );
     }
 
-    private void evaluateValueTextFails(final String selector,
-                                        final BiFunction<TextCursor, ParserContext, Optional<StringName>> nameParserAndFactory,
-                                        final PluginSelectorEvaluateValueTextProvider<StringName, TestProvided> provider,
-                                        final ProviderContext context,
-                                        final String expected) {
-        final IllegalArgumentException thrown = assertThrows(
-            IllegalArgumentException.class,
-            () -> PluginSelector.parse(
-                selector,
-                Names::string
-            ).evaluateValueText(
-                nameParserAndFactory,
-                provider,
+    /**
+     * Counts the names parsed, used to verify an expression parsed with one method reference is reused by another.
+     */
+    private final static class CountingNameParser {
+
+        Optional<StringName> parseName(final TextCursor cursor,
+                                       final ParserContext context) {
+            this.count++;
+            return TestPluginHelper.INSTANCE.parseName(
+                cursor,
                 context
-            )
+            );
+        }
+
+        int count;
+    }
+
+    @Test
+    public void testReferencesCachesExpression() {
+        final PluginSelector<StringName> selector = PluginSelector.parse(
+            NAME + " (" + NAME2 + ")",
+            Names::string
+        );
+
+        selector.references(
+            NAME_PARSER_AND_FACTORY,
+            CONTEXT
+        );
+
+        assertSame(
+            selector.expression(NAME_PARSER_AND_FACTORY),
+            selector.expression(NAME_PARSER_AND_FACTORY),
+            "parsed expression should be cached"
+        );
+    }
+
+    @Test
+    public void testReferencesParsesStoragePathsWithContext() {
+        final PluginSelectorReferences<StringName> references = PluginSelector.parse(
+            NAME + " (/path1)",
+            Names::string
+        ).references(
+            NAME_PARSER_AND_FACTORY,
+            new FakeProviderContext() {
+                @Override
+                public StoragePath parseStoragePath(final String text) {
+                    return StoragePath.parse("/base" + text);
+                }
+            }
         );
+
         this.checkEquals(
-            expected,
-            thrown.getMessage()
+            Sets.of(
+                StoragePath.parse("/base/path1")
+            ),
+            references.storagePaths()
         );
     }
 
-    private void evaluateValueTextAndCheck(final String selector,
-                                           final TestProvided expected) {
-        this.evaluateValueTextAndCheck(
+    private void referencesAndCheck(final String selector,
+                                    final Set<StringName> pluginNames,
+                                    final Set<EnvironmentValueName<?>> environmentValueNames,
+                                    final Set<StoragePath> storagePaths) {
+        final PluginSelectorReferences<StringName> references = PluginSelector.parse(
             selector,
+            Names::string
+        ).references(
             NAME_PARSER_AND_FACTORY,
-            PROVIDER,
-            CONTEXT,
-            expected
+            CONTEXT
+        );
+
+        this.checkEquals(
+            pluginNames,
+            references.pluginNames(),
+            "pluginNames"
+        );
+        this.checkEquals(
+            environmentValueNames,
+            references.environmentValueNames(),
+            "environmentValueNames"
+        );
+        this.checkEquals(
+            storagePaths,
+            references.storagePaths(),
+            "storagePaths"
         );
     }
 
-    private void evaluateValueTextAndCheck(final String selector,
-                                           final BiFunction<TextCursor, ParserContext, Optional<StringName>> nameParserAndCreator,
-                                           final PluginSelectorEvaluateValueTextProvider<StringName, TestProvided> provider,
-                                           final ProviderContext context,
-                                           final TestProvided expected) {
+    // hashCode.........................................................................................................
+
+    @Test
+    public void testHashCodeCached() {
+        final PluginSelector<StringName> selector = this.createComparable();
+
         this.checkEquals(
-            expected,
-            PluginSelector.parse(
-                selector,
-                Names::string
-            ).evaluateValueText(
-                nameParserAndCreator,
-                provider,
-                context
-            )
+            Objects.hash(
+                selector.name(),
+                selector.valueText()
+            ),
+            selector.hashCode()
+        );
+        this.checkEquals(
+            selector.hashCode(),
+            selector.hashCode()
         );
     }
 
@@ -1075,7 +2497,66 @@ public final class PluginSelectorTest implements ClassTesting2<PluginSelector<St
         );
     }
 
-    // ClassTesting.....................................................................................................
+    // writeTo..........................................................................................................
+
+    @Test
+    public void testWriteToWithNullAppendableFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createComparable()
+                .writeTo(null)
+        );
+    }
+
+    @Test
+    public void testWriteToWithoutValueText() throws IOException {
+        this.writeToAndCheck(
+            PluginSelector.with(
+                NAME,
+                ""
+            ),
+            "magic-plugin-123"
+        );
+    }
+
+    @Test
+    public void testWriteToWithValueText() throws IOException {
+        this.writeToAndCheck(
+            PluginSelector.with(
+                NAME,
+                "\"Hello\""
+            ),
+            "magic-plugin-123 \"Hello\""
+        );
+    }
+
+    @Test
+    public void testWriteToWithParameters() throws IOException {
+        this.writeToAndCheck(
+            PluginSelector.with(
+                NAME,
+                "(1, \"Hello\")"
+            ),
+            "magic-plugin-123(1, \"Hello\")"
+        );
+    }
+
+    private void writeToAndCheck(final PluginSelector<StringName> selector,
+                                 final String expected) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        selector.writeTo(b);
+
+        this.checkEquals(
+            expected,
+            b.toString()
+        );
+        this.checkEquals(
+            selector.toString(),
+            b.toString(),
+            "toString"
+        );
+    }
+.....................................................................................................
 
     @Override
     public Class<PluginSelector<StringName>> type() {
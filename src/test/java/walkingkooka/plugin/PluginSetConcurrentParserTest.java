@@ -0,0 +1,216 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginSetConcurrentParserTest implements ClassTesting2<PluginSetConcurrentParser> {
+
+    // split............................................................................................................
+
+    @Test
+    public void testSplitEmpty() {
+        this.splitAndCheck(
+            "",
+            1,
+            ""
+        );
+    }
+
+    @Test
+    public void testSplitEachSeparator() {
+        this.splitAndCheck(
+            "a, b, c",
+            1,
+            "a",
+            " b",
+            " c"
+        );
+    }
+
+    @Test
+    public void testSplitBatchLength() {
+        this.splitAndCheck(
+            "a, b, c, d",
+            3,
+            "a, b",
+            " c, d"
+        );
+    }
+
+    @Test
+    public void testSplitIgnoresParametersSeparator() {
+        this.splitAndCheck(
+            "a1 b(1, 2), c",
+            1,
+            "a1 b(1, 2)",
+            " c"
+        );
+    }
+
+    @Test
+    public void testSplitTrailingSeparator() {
+        this.splitAndCheck(
+            "a, ",
+            1,
+            "a",
+            " "
+        );
+    }
+
+    private void splitAndCheck(final String text,
+                               final int batchLength,
+                               final String... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            PluginSetConcurrentParser.split(
+                text,
+                batchLength
+            ),
+            () -> "split " + text + " " + batchLength
+        );
+    }
+
+    // parse............................................................................................................
+
+    @Test
+    public void testParseShortText() {
+        this.parseAndCheck(
+            "a, b, c",
+            ForkJoinPool.commonPool(),
+            Optional.empty()
+        );
+    }
+
+    @Test
+    public void testParseLargeText() {
+        final String text = text();
+        final Optional<List<String>> parsed = PluginSetConcurrentParser.parse(
+            text,
+            Function.identity(),
+            ForkJoinPool.commonPool()
+        );
+
+        this.checkEquals(
+            true,
+            parsed.get().size() > 1,
+            () -> "several batches " + parsed
+        );
+        this.checkEquals(
+            text,
+            String.join(
+                ",",
+                parsed.get()
+            )
+        );
+    }
+
+    @Test
+    public void testParseLargeTextRejectingExecutor() {
+        final String text = text();
+
+        this.checkEquals(
+            text,
+            String.join(
+                ",",
+                PluginSetConcurrentParser.parse(
+                    text,
+                    Function.identity(),
+                    (r) -> {
+                        throw new RejectedExecutionException();
+                    }
+                ).get()
+            )
+        );
+    }
+
+    @Test
+    public void testParseLargeTextTrailingSeparator() {
+        this.parseAndCheck(
+            text() + ", ",
+            ForkJoinPool.commonPool(),
+            Optional.empty()
+        );
+    }
+
+    @Test
+    public void testParseLargeTextParserFails() {
+        final IllegalArgumentException thrown = new IllegalArgumentException("Parse fail!");
+
+        this.checkEquals(
+            thrown,
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> PluginSetConcurrentParser.parse(
+                    text(),
+                    (b) -> {
+                        throw thrown;
+                    },
+                    ForkJoinPool.commonPool()
+                )
+            )
+        );
+    }
+
+    private void parseAndCheck(final String text,
+                               final Executor executor,
+                               final Optional<List<String>> expected) {
+        this.checkEquals(
+            expected,
+            PluginSetConcurrentParser.parse(
+                text,
+                Function.identity(),
+                executor
+            )
+        );
+    }
+
+    /**
+     * Text several times longer than {@link PluginSetConcurrentParser#BATCH_LENGTH}.
+     */
+    private static String text() {
+        return IntStream.range(0, PluginSetConcurrentParser.BATCH_LENGTH)
+            .mapToObj(i -> "alias" + i + " plugin" + i + "(\"Hello, " + i + "\")")
+            .collect(Collectors.joining(", "));
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSetConcurrentParser> type() {
+        return PluginSetConcurrentParser.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
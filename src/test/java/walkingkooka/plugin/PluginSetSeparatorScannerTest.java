@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+
+public final class PluginSetSeparatorScannerTest implements ClassTesting2<PluginSetSeparatorScanner> {
+
+    @Test
+    public void testEmpty() {
+        this.separatorsAndCheck("");
+    }
+
+    @Test
+    public void testWithoutSeparator() {
+        this.separatorsAndCheck("alias1 name1");
+    }
+
+    @Test
+    public void testSeparators() {
+        this.separatorsAndCheck(
+            "name1, name2,name3",
+            5,
+            12
+        );
+    }
+
+    @Test
+    public void testParametersSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1(1, 2), name2",
+            18
+        );
+    }
+
+    @Test
+    public void testNestedParametersSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1(name2(1, 2), 3), name3",
+            28
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1(\"a, (b\"), name2",
+            21
+        );
+    }
+
+    @Test
+    public void testDoubleQuotedEscapedDoubleQuoteSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1(\"a\\\", b\"), name2",
+            22
+        );
+    }
+
+    @Test
+    public void testUrlSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1 https://example.com/1,2 , name2",
+            37
+        );
+    }
+
+    @Test
+    public void testUrlWithParenthesisAndDoubleQuoteSeparator() {
+        this.separatorsAndCheck(
+            "alias1 name1 https://example.com/(\" , name2",
+            36
+        );
+    }
+
+    @Test
+    public void testInfoUrlSeparator() {
+        this.separatorsAndCheck(
+            "https://example.com/1,2 name1, https://example.com/3 name2",
+            29
+        );
+    }
+
+    @Test
+    public void testUnbalancedParametersEndSeparator() {
+        this.separatorsAndCheck(
+            "name1), name2",
+            6
+        );
+    }
+
+    private void separatorsAndCheck(final String text,
+                                    final Integer... expected) {
+        final PluginSetSeparatorScanner scanner = PluginSetSeparatorScanner.empty();
+        final List<Integer> separators = Lists.array();
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (scanner.isSeparator(text.charAt(i))) {
+                separators.add(i);
+            }
+        }
+
+        this.checkEquals(
+            Lists.of(expected),
+            separators,
+            () -> "separators " + CharSequences.quoteAndEscape(text)
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginSetSeparatorScanner> type() {
+        return PluginSetSeparatorScanner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.HashCodeEqualsDefinedTesting2;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.ref.ReferenceQueue;
+
+public final class PluginWeakInternerReferenceTest implements ClassTesting2<PluginWeakInternerReference<String>>,
+    HashCodeEqualsDefinedTesting2<PluginWeakInternerReference<String>>,
+    ToStringTesting<PluginWeakInternerReference<String>> {
+
+    /**
+     * A constant, so the weakly held value is never collected during a test.
+     */
+    private final static String VALUE = "hello";
+
+    private final ReferenceQueue<String> queue = new ReferenceQueue<>();
+
+    @Test
+    public void testHashCode() {
+        this.checkEquals(
+            VALUE.hashCode(),
+            this.createObject()
+                .hashCode()
+        );
+    }
+
+    @Test
+    public void testEqualsDifferentValue() {
+        this.checkNotEquals(
+            new PluginWeakInternerReference<>(
+                "different",
+                this.queue
+            )
+        );
+    }
+
+    @Test
+    public void testEqualsCleared() {
+        final PluginWeakInternerReference<String> reference = this.createObject();
+        reference.clear();
+
+        this.checkNotEquals(
+            reference,
+            this.createObject()
+        );
+        this.checkEquals(
+            reference,
+            reference
+        );
+    }
+
+    @Override
+    public PluginWeakInternerReference<String> createObject() {
+        return new PluginWeakInternerReference<>(
+            VALUE,
+            this.queue
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createObject(),
+            VALUE
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginWeakInternerReference<String>> type() {
+        return Cast.to(PluginWeakInternerReference.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
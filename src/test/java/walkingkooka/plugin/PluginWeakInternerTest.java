@@ -0,0 +1,210 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.naming.Names;
+import walkingkooka.naming.StringName;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PluginWeakInternerTest implements ClassTesting2<PluginWeakInterner<Object>>,
+    ToStringTesting<PluginWeakInterner<Object>> {
+
+    @Test
+    public void testInternNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> PluginWeakInterner.empty()
+                .intern(null)
+        );
+    }
+
+    @Test
+    public void testInternEqualSelectors() {
+        final PluginWeakInterner<PluginSelector<StringName>> interner = PluginWeakInterner.empty();
+
+        final PluginSelector<StringName> selector = selector();
+        final PluginSelector<StringName> selector2 = selector();
+        assertNotSame(
+            selector,
+            selector2
+        );
+
+        assertSame(
+            selector,
+            interner.intern(selector)
+        );
+        assertSame(
+            selector,
+            interner.intern(selector2)
+        );
+    }
+
+    @Test
+    public void testInternDifferentSelectors() {
+        final PluginWeakInterner<PluginSelector<StringName>> interner = PluginWeakInterner.empty();
+
+        final PluginSelector<StringName> selector = selector();
+        final PluginSelector<StringName> different = PluginSelector.parse(
+            "different-plugin",
+            Names::string
+        );
+
+        interner.intern(selector);
+
+        assertSame(
+            different,
+            interner.intern(different)
+        );
+        this.checkEquals(
+            2,
+            interner.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInternPluginInfo() {
+        final PluginWeakInterner<PluginInfo<StringName>> interner = PluginWeakInterner.empty();
+
+        final PluginInfo<StringName> info = PluginInfo.with(
+            Url.parseAbsolute("https://example.com/plugin-123"),
+            Names.string("plugin-123")
+        );
+
+        assertSame(
+            info,
+            interner.intern(info)
+        );
+        assertSame(
+            info,
+            interner.intern(
+                PluginInfo.with(
+                    Url.parseAbsolute("https://example.com/plugin-123"),
+                    Names.string("plugin-123")
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testInternManyEqualSelectors() {
+        final PluginWeakInterner<PluginSelector<StringName>> interner = PluginWeakInterner.empty();
+        final PluginSelector<StringName> first = interner.intern(selector());
+
+        for (int i = 0; i < 100_000; i++) {
+            assertSame(
+                first,
+                interner.intern(selector())
+            );
+        }
+
+        this.checkEquals(
+            1,
+            interner.size(),
+            "size"
+        );
+    }
+
+    @Test
+    public void testInternConcurrently() throws Exception {
+        final PluginWeakInterner<PluginSelector<StringName>> interner = PluginWeakInterner.empty();
+        final PluginSelector<StringName> first = interner.intern(selector());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> futures = Lists.array();
+
+            for (int i = 0; i < 8; i++) {
+                futures.add(
+                    executor.submit(
+                        () -> {
+                            boolean same = true;
+                            for (int j = 0; j < 10_000; j++) {
+                                same &= first == interner.intern(selector());
+                            }
+                            return same;
+                        }
+                    )
+                );
+            }
+
+            for (final Future<Boolean> future : futures) {
+                this.checkEquals(
+                    true,
+                    future.get(),
+                    "all interned to the first selector"
+                );
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        this.checkEquals(
+            1,
+            interner.size(),
+            "size"
+        );
+    }
+
+    private static PluginSelector<StringName> selector() {
+        return PluginSelector.parse(
+            "hello-plugin (1, \"two\")",
+            Names::string
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final PluginWeakInterner<Object> interner = PluginWeakInterner.empty();
+        interner.intern("hello");
+
+        this.toStringAndCheck(
+            interner,
+            "size=1"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<PluginWeakInterner<Object>> type() {
+        return Cast.to(PluginWeakInterner.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.plugin;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.naming.StringName;
+import walkingkooka.plugin.ProviderCollectionTest.TestProvider;
+import walkingkooka.plugin.ProviderCollectionTest.TestService;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+
+public final class ProviderCollectionPreparedTest implements ClassTesting<ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService>>,
+    ToStringTesting<ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService>> {
+
+    @Test
+    public void testToString() {
+        final TestProvider provider = new TestProvider(
+            "service-1",
+            new TestService()
+        );
+        final TestPluginSelector selector = new TestPluginSelector("service-1");
+
+        this.toStringAndCheck(
+            ProviderCollectionPrepared.with(
+                null,
+                null,
+                null,
+                provider,
+                selector,
+                null
+            ),
+            selector + " " + provider
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService>> type() {
+        return Cast.to(ProviderCollectionPrepared.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -395,6 +395,178 @@ public final class ProviderCollectionTest implements ClassTesting<ProviderCollec
         );
     }
 
+    // prepare..........................................................................................................
+
+    @Test
+    public void testPrepareWithNullSelectorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.createProvider()
+                .prepare(null)
+        );
+    }
+
+    @Test
+    public void testPrepareUnknownFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createProvider()
+                .prepare(
+                    new TestPluginSelector("unknown")
+                )
+        );
+    }
+
+    @Test
+    public void testPrepareGet() {
+        final ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService> prepared = this.createProvider()
+            .prepare(
+                new TestPluginSelector(SERVICE_2_NAME)
+            );
+
+        this.checkEquals(
+            PROVIDER2,
+            prepared.provider(),
+            "provider"
+        );
+        this.checkEquals(
+            SERVICE2,
+            prepared.get(CONTEXT)
+        );
+        this.checkEquals(
+            SERVICE2,
+            prepared.get(CONTEXT),
+            "second get"
+        );
+    }
+
+    @Test
+    public void testPrepareGetValues() {
+        this.checkEquals(
+            SERVICE3,
+            this.createProvider()
+                .prepare(
+                    new TestPluginSelector(SERVICE_3_NAME)
+                ).get(
+                    VALUES,
+                    CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testPrepareIsPreparedBy() {
+        final ProviderCollection<TestProvider, StringName, TestPluginInfo, TestPluginSelector, TestService> collection = this.createProvider();
+        final ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService> prepared = collection.prepare(
+            new TestPluginSelector(SERVICE_1_NAME)
+        );
+
+        this.checkEquals(
+            true,
+            prepared.isPreparedBy(collection),
+            "same collection"
+        );
+        this.checkEquals(
+            false,
+            prepared.isPreparedBy(this.createProvider()),
+            "different collection"
+        );
+    }
+
+    @Test
+    public void testPrepareWithAliasesResolvesAlias() {
+        final ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService> prepared = this.createProvider()
+            .prepare(
+                new TestPluginSelector("alias2"),
+                TestPluginAliasSet.parse("alias2 " + SERVICE_2_NAME)
+            );
+
+        this.checkEquals(
+            new TestPluginSelector(SERVICE_2_NAME),
+            prepared.selector(),
+            "selector"
+        );
+        this.checkEquals(
+            SERVICE2,
+            prepared.get(CONTEXT)
+        );
+    }
+
+    @Test
+    public void testPrepareWithAliasesIsPreparedBy() {
+        final ProviderCollection<TestProvider, StringName, TestPluginInfo, TestPluginSelector, TestService> collection = this.createProvider();
+        final TestPluginAliasSet aliases = TestPluginAliasSet.parse("alias2 " + SERVICE_2_NAME);
+
+        final ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService> prepared = collection.prepare(
+            new TestPluginSelector("alias2"),
+            aliases
+        );
+
+        this.checkEquals(
+            true,
+            prepared.isPreparedBy(
+                collection,
+                aliases
+            ),
+            "same collection and aliases"
+        );
+        this.checkEquals(
+            false,
+            prepared.isPreparedBy(
+                collection,
+                TestPluginAliasSet.parse("alias2 " + SERVICE_2_NAME)
+            ),
+            "different aliases"
+        );
+        this.checkEquals(
+            false,
+            prepared.isPreparedBy(collection),
+            "without aliases"
+        );
+    }
+
+    @Test
+    public void testPrepareWithAliasesAndMapperIsPreparedBy() {
+        final ProviderCollection<TestProvider, StringName, TestPluginInfo, TestPluginSelector, TestService> collection = this.createProvider();
+        final TestPluginAliasSet aliases = TestPluginAliasSet.parse("alias2 " + SERVICE_2_NAME);
+        final TestPluginInfoSet infos = new TestPluginInfoSet(
+            collection.infos()
+        );
+        final MergedProviderMapper<StringName, TestPluginInfo, TestPluginInfoSet, TestPluginSelector, TestPluginAlias, TestPluginAliasSet> mapper = MergedProviderMapper.with(
+            infos,
+            infos,
+            TestPluginHelper.INSTANCE
+        );
+
+        final ProviderCollectionPrepared<TestProvider, StringName, TestPluginSelector, TestService> prepared = collection.prepare(
+            new TestPluginSelector("alias2"),
+            aliases,
+            mapper
+        );
+
+        this.checkEquals(
+            SERVICE2,
+            prepared.get(CONTEXT)
+        );
+        this.checkEquals(
+            true,
+            prepared.isPreparedBy(
+                collection,
+                aliases,
+                mapper
+            ),
+            "same collection, aliases and mapper"
+        );
+        this.checkEquals(
+            false,
+            prepared.isPreparedBy(
+                collection,
+                aliases
+            ),
+            "without mapper"
+        );
+    }
+
     // infos............................................................................................................
 
     @Test
@@ -123,6 +123,13 @@ final class TestPluginAliasSet extends AbstractSet<TestPluginAlias>
         );
     }
 
+    @Override
+    public TestPluginAliasSet deleteAliasOrName(final StringName aliasOrName) {
+        return this.setElements(
+            this.pluginAliasSet.deleteAliasOrName(aliasOrName)
+        );
+    }
+
     @Override
     public TestPluginAliasSet deleteAliasOrNameAll(final Collection<StringName> aliasOrNames) {
         return this.setElements(
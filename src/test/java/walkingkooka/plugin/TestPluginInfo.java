@@ -26,6 +26,7 @@ import walkingkooka.tree.json.marshall.JsonNodeContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
+import java.io.IOException;
 import java.util.Objects;
 
 public class TestPluginInfo implements PluginInfoLike<TestPluginInfo, StringName> {
@@ -77,6 +78,11 @@ public class TestPluginInfo implements PluginInfoLike<TestPluginInfo, StringName
         return this.pluginInfo.url();
     }
 
+    @Override
+    public void writeTo(final Appendable output) throws IOException {
+        this.pluginInfo.writeTo(output);
+    }
+
     private final PluginInfo<StringName> pluginInfo;
 
     // object.......................................................................................................